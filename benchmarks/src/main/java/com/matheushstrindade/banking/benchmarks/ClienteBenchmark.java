@@ -0,0 +1,37 @@
+package com.matheushstrindade.banking.benchmarks;
+
+import com.matheushstrindade.banking.model.Cliente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construção de {@link Cliente}: validação de nome/CPF/data e reserva do CPF no {@code Registro}.
+ * Cada chamada usa um CPF novo, então o registro cresce durante a execução, como num cadastro real.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class ClienteBenchmark {
+    private static final LocalDate NASCIMENTO = LocalDate.of(1990, 1, 1);
+
+    @Benchmark
+    public Cliente construir() {
+        return new Cliente("Maria da Silva", Cpfs.novo(), NASCIMENTO);
+    }
+
+    /** Só a geração do CPF, para descontar de {@link #construir()}. */
+    @Benchmark
+    public String gerarCpf() {
+        return Cpfs.novo();
+    }
+}
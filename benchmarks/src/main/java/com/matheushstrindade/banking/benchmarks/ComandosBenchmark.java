@@ -0,0 +1,86 @@
+package com.matheushstrindade.banking.benchmarks;
+
+import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.Diario;
+import com.matheushstrindade.banking.model.ExecutorDeComandos;
+import com.matheushstrindade.banking.persistencia.DiarioEmArquivo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Conta disputada por 8 threads: trava por conta ({@link Conta#depositar(BigDecimal)}) contra o
+ * {@link ExecutorDeComandos}, sem diário e com o diário em arquivo (um {@code force} por registro).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g", "-XX:MaxDirectMemorySize=2g"})
+@Threads(8)
+@State(Scope.Benchmark)
+public class ComandosBenchmark {
+    private static final BigDecimal VALOR = new BigDecimal("10.00");
+
+    @Param({"nenhum", "arquivo"})
+    public String diario;
+
+    private Path diretorio;
+    private DiarioEmArquivo diarioEmArquivo;
+    private ExecutorDeComandos executor;
+    private Conta conta;
+
+    @Setup
+    public void preparar() throws IOException {
+        if (diario.equals("arquivo")) {
+            diretorio = Files.createTempDirectory("bench-diario");
+            diarioEmArquivo = DiarioEmArquivo.abrir(diretorio);
+            Diario.instalar(diarioEmArquivo);
+        }
+        executor = new ExecutorDeComandos(1, 4096);
+        conta = ContaBenchmark.novaConta();
+    }
+
+    @TearDown
+    public void encerrar() throws IOException {
+        executor.close();
+        if (diarioEmArquivo != null) {
+            Diario.instalar(Diario.NENHUM);
+            diarioEmArquivo.close();
+            try (Stream<Path> arquivos = Files.walk(diretorio)) {
+                for (Path arquivo : arquivos.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(arquivo);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public long travaPorConta() {
+        conta.depositar(VALOR);
+        return conta.getSaldoCentavos();
+    }
+
+    @Benchmark
+    public BigDecimal executorDeComandos() {
+        return executor.depositar(conta, VALOR).join();
+    }
+}
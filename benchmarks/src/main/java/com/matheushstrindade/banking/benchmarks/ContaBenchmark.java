@@ -0,0 +1,95 @@
+package com.matheushstrindade.banking.benchmarks;
+
+import com.matheushstrindade.banking.model.Cliente;
+import com.matheushstrindade.banking.model.Conta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Depósito e saque numa conta só, com uma thread e com várias threads disputando a mesma trava.
+ *
+ * Cada operação acrescenta uma linha ao extrato (25 bytes fora do heap) e a conta nunca sai do
+ * {@code Registro}; as iterações são curtas e a memória direta é limitada para a execução
+ * caber numa máquina comum.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g", "-XX:MaxDirectMemorySize=3g"})
+public class ContaBenchmark {
+    private static final BigDecimal VALOR = new BigDecimal("10.00");
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("100000000000.00");
+
+    /** Uma conta por thread: mede a operação sem disputa. */
+    @State(Scope.Thread)
+    public static class ContaPropria {
+        Conta conta;
+
+        @Setup
+        public void criar() {
+            conta = novaConta();
+        }
+    }
+
+    /** Uma conta para todas as threads: mede a disputa pela trava da conta. */
+    @State(Scope.Benchmark)
+    public static class ContaCompartilhada {
+        Conta conta;
+
+        @Setup
+        public void criar() {
+            conta = novaConta();
+        }
+    }
+
+    @Benchmark
+    public long depositar(ContaPropria estado) {
+        estado.conta.depositar(VALOR);
+        return estado.conta.getSaldoCentavos();
+    }
+
+    @Benchmark
+    public long sacar(ContaPropria estado) {
+        estado.conta.sacar(VALOR);
+        return estado.conta.getSaldoCentavos();
+    }
+
+    @Benchmark
+    public long depositarCentavos(ContaPropria estado) {
+        estado.conta.depositarCentavos(1000L);
+        return estado.conta.getSaldoCentavos();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long depositarDisputado(ContaCompartilhada estado) {
+        estado.conta.depositar(VALOR);
+        return estado.conta.getSaldoCentavos();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long sacarDisputado(ContaCompartilhada estado) {
+        estado.conta.sacar(VALOR);
+        return estado.conta.getSaldoCentavos();
+    }
+
+    static Conta novaConta() {
+        Cliente titular = new Cliente("Benchmark", Cpfs.novo(), LocalDate.of(1990, 1, 1));
+        return new Conta(titular, SALDO_INICIAL);
+    }
+}
@@ -0,0 +1,77 @@
+package com.matheushstrindade.banking.benchmarks;
+
+import com.matheushstrindade.banking.model.Cliente;
+import com.matheushstrindade.banking.model.Cpf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de CPF: o método antigo (regex + {@code replaceAll}), copiado aqui como referência,
+ * contra {@link Cpf#valido(CharSequence)}. Rode com {@code -prof gc} para ver a alocação por chamada.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CpfBenchmark {
+
+    @Param({"529.982.247-25", "52998224725", "111.111.111-11", "529.982.247-26"})
+    public String cpf;
+
+    @Benchmark
+    public boolean regex() {
+        return validarCpfComRegex(cpf);
+    }
+
+    @Benchmark
+    public boolean passadaUnica() {
+        return Cpf.valido(cpf);
+    }
+
+    @Benchmark
+    public boolean clienteValidarCpf() {
+        return Cliente.validarCpf(cpf);
+    }
+
+    /** Implementação anterior de {@code Cliente.validarCpf}, mantida só para comparação. */
+    static boolean validarCpfComRegex(String cpf) {
+        if (cpf == null || cpf.isBlank()) {
+            return false;
+        }
+        String digitos = cpf.replaceAll("\\D", "");
+        if (digitos.length() != 11) {
+            return false;
+        }
+        if (digitos.matches("(\\d)\\1{10}")) {
+            return false;
+        }
+        int soma = 0;
+        for (int i = 0; i < 9; i++) {
+            soma += (digitos.charAt(i) - '0') * (10 - i);
+        }
+        int primeiroDigito = (soma * 10) % 11;
+        if (primeiroDigito == 10) primeiroDigito = 0;
+        if (primeiroDigito != (digitos.charAt(9) - '0')) {
+            return false;
+        }
+        soma = 0;
+        for (int i = 0; i < 10; i++) {
+            soma += (digitos.charAt(i) - '0') * (11 - i);
+        }
+        int segundoDigito = (soma * 10) % 11;
+        if (segundoDigito == 10) segundoDigito = 0;
+        return segundoDigito == (digitos.charAt(10) - '0');
+    }
+}
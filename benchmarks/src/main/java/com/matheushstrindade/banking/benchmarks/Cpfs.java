@@ -0,0 +1,25 @@
+package com.matheushstrindade.banking.benchmarks;
+
+import com.matheushstrindade.banking.model.Cpf;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CPFs válidos e distintos para os benchmarks: o {@code Registro} recusa CPF repetido,
+ * então cada cliente criado precisa de um CPF novo.
+ */
+final class Cpfs {
+    private static final AtomicLong proximaBase = new AtomicLong(100_000_000L);
+
+    private Cpfs() {
+    }
+
+    /** Próximo CPF ainda não usado nesta JVM, formatado (ex: 100.000.000-19). */
+    static String novo() {
+        long base = proximaBase.getAndIncrement();
+        while (base % 111_111_111L == 0) { // 111.111.111-11 e afins são inválidos
+            base = proximaBase.getAndIncrement();
+        }
+        return Cpf.gerar(base);
+    }
+}
@@ -0,0 +1,75 @@
+package com.matheushstrindade.banking.benchmarks;
+
+import com.matheushstrindade.banking.model.Centavos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Somar {@code n} valores como {@link BigDecimal} (representação antiga do saldo) contra
+ * {@code long} de centavos com soma verificada ({@link Centavos}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DinheiroBenchmark {
+
+    @Param({"1000"})
+    public int n;
+
+    private BigDecimal[] decimais;
+    private long[] centavos;
+
+    @Setup
+    public void gerar() {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        decimais = new BigDecimal[n];
+        centavos = new long[n];
+        for (int i = 0; i < n; i++) {
+            centavos[i] = aleatorio.nextLong(1, 1_000_000);
+            decimais[i] = BigDecimal.valueOf(centavos[i], 2);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal somarBigDecimal() {
+        BigDecimal saldo = BigDecimal.ZERO;
+        for (BigDecimal valor : decimais) {
+            saldo = saldo.add(valor);
+        }
+        return saldo;
+    }
+
+    @Benchmark
+    public long somarCentavos() {
+        long saldo = 0;
+        for (long valor : centavos) {
+            saldo = Centavos.somar(saldo, valor);
+        }
+        return saldo;
+    }
+
+    @Benchmark
+    public long converterParaCentavos() {
+        long total = 0;
+        for (BigDecimal valor : decimais) {
+            total += Centavos.de(valor);
+        }
+        return total;
+    }
+}
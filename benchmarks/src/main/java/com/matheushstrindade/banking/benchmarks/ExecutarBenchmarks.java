@@ -0,0 +1,36 @@
+package com.matheushstrindade.banking.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do {@code benchmarks.jar}: aceita as mesmas opções da linha de comando do JMH,
+ * mas por padrão grava os resultados em JSON ({@value #ARQUIVO_PADRAO}) para comparar versões.
+ *
+ * Exemplos:
+ * <pre>
+ *   java -jar benchmarks/target/benchmarks.jar                      # tudo, JSON em jmh-resultados.json
+ *   java -jar benchmarks/target/benchmarks.jar Cpf -rff cpf.json    # só os benchmarks de CPF
+ * </pre>
+ */
+public final class ExecutarBenchmarks {
+    static final String ARQUIVO_PADRAO = "jmh-resultados.json";
+
+    private ExecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linhaDeComando = new CommandLineOptions(args);
+        ChainedOptionsBuilder opcoes = new OptionsBuilder().parent(linhaDeComando);
+        if (!linhaDeComando.getResultFormat().hasValue()) {
+            opcoes.resultFormat(ResultFormatType.JSON);
+        }
+        if (!linhaDeComando.getResult().hasValue()) {
+            opcoes.result(ARQUIVO_PADRAO);
+        }
+        new Runner(opcoes.build()).run();
+    }
+}
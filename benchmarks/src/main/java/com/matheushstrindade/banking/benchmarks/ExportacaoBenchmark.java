@@ -0,0 +1,75 @@
+package com.matheushstrindade.banking.benchmarks;
+
+import com.matheushstrindade.banking.exportacao.ExportadorExtrato;
+import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.Transacao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/** Extrato de uma conta grande em arquivo: {@code getExtrato()} + {@code toString()} por linha × exportador em bytes. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@State(Scope.Benchmark)
+public class ExportacaoBenchmark {
+
+    @Param({"100000"})
+    public int tamanho;
+
+    private Conta conta;
+    private Path arquivo;
+
+    @Setup
+    public void preencher() throws IOException {
+        conta = ContaBenchmark.novaConta();
+        for (int i = 0; i < tamanho; i++) {
+            conta.depositarCentavos(100L + i % 1000);
+        }
+        arquivo = Files.createTempFile("extrato", ".txt");
+    }
+
+    @TearDown
+    public void apagar() throws IOException {
+        Files.deleteIfExists(arquivo);
+    }
+
+    @Benchmark
+    public long toStringPorLinha() throws IOException {
+        try (BufferedWriter escritor = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            for (Transacao transacao : conta.getExtrato()) {
+                escritor.write(transacao.toString());
+                escritor.newLine();
+            }
+        }
+        return Files.size(arquivo);
+    }
+
+    @Benchmark
+    public long exportadorCsv() throws IOException {
+        return ExportadorExtrato.exportar(conta, ExportadorExtrato.Formato.CSV, arquivo).bytes();
+    }
+
+    @Benchmark
+    public long exportadorJson() throws IOException {
+        return ExportadorExtrato.exportar(conta, ExportadorExtrato.Formato.JSON, arquivo).bytes();
+    }
+}
@@ -0,0 +1,61 @@
+package com.matheushstrindade.banking.benchmarks;
+
+import com.matheushstrindade.banking.model.ConsultaExtrato;
+import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.PaginaExtrato;
+import com.matheushstrindade.banking.model.Transacao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Leitura do extrato de contas grandes: iteração completa e uma página da consulta paginada. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@State(Scope.Benchmark)
+public class ExtratoBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int tamanho;
+
+    private Conta conta;
+
+    @Setup
+    public void preencher() {
+        conta = ContaBenchmark.novaConta();
+        for (int i = 0; i < tamanho; i++) {
+            conta.depositarCentavos(100L + i % 1000);
+        }
+    }
+
+    @Benchmark
+    public long iterarExtrato() {
+        long soma = 0;
+        for (Transacao transacao : conta.getExtrato()) {
+            soma += transacao.getValorCentavos();
+        }
+        return soma;
+    }
+
+    @Benchmark
+    public int tamanhoDoExtrato() {
+        return conta.getExtrato().size();
+    }
+
+    @Benchmark
+    public PaginaExtrato primeiraPagina() {
+        return conta.consultarExtrato(ConsultaExtrato.todas().comLimite(50));
+    }
+}
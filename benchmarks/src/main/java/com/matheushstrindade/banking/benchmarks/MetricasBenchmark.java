@@ -0,0 +1,77 @@
+package com.matheushstrindade.banking.benchmarks;
+
+import com.matheushstrindade.banking.metricas.ColetorDeMetricas;
+import com.matheushstrindade.banking.model.Cliente;
+import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.Metricas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da instrumentação: as mesmas operações com as métricas desligadas ({@code Metricas.NENHUMA})
+ * e com um {@link ColetorDeMetricas} instalado. Com uma thread e com quatro, já que os contadores
+ * e o histograma são compartilhados por todas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g", "-XX:MaxDirectMemorySize=3g"})
+@State(Scope.Benchmark)
+public class MetricasBenchmark {
+    private static final String CPF_VALIDO = "529.982.247-25";
+
+    @Param({"desligadas", "ligadas"})
+    public String metricas;
+
+    @Setup(Level.Trial)
+    public void instalar() {
+        Metricas.instalar("ligadas".equals(metricas) ? new ColetorDeMetricas() : Metricas.NENHUMA);
+    }
+
+    @TearDown(Level.Trial)
+    public void desinstalar() {
+        Metricas.instalar(Metricas.NENHUMA);
+    }
+
+    @State(Scope.Thread)
+    public static class ContaPropria {
+        Conta conta;
+
+        @Setup
+        public void criar() {
+            conta = ContaBenchmark.novaConta();
+        }
+    }
+
+    @Benchmark
+    public long depositarCentavos(ContaPropria estado) {
+        estado.conta.depositarCentavos(1000L);
+        return estado.conta.getSaldoCentavos();
+    }
+
+    @Benchmark
+    public boolean validarCpf() {
+        return Cliente.validarCpf(CPF_VALIDO);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean validarCpfQuatroThreads() {
+        return Cliente.validarCpf(CPF_VALIDO);
+    }
+}
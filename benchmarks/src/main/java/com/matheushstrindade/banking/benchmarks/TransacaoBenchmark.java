@@ -0,0 +1,41 @@
+package com.matheushstrindade.banking.benchmarks;
+
+import com.matheushstrindade.banking.model.Transacao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/** Custo de criar uma {@link Transacao} (conversão do valor + leitura do relógio). */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransacaoBenchmark {
+    private final BigDecimal valor = new BigDecimal("123.45");
+
+    @Benchmark
+    public Transacao deposito() {
+        return Transacao.deposito(valor);
+    }
+
+    @Benchmark
+    public Transacao saque() {
+        return Transacao.saque(valor);
+    }
+
+    @Benchmark
+    public Transacao transferenciaEnviada() {
+        return Transacao.transferenciaEnviada(valor, 42L);
+    }
+}
@@ -1,5 +1,6 @@
 package com.matheushstrindade.banking.app;
 
+import com.matheushstrindade.banking.auditoria.Auditoria;
 import com.matheushstrindade.banking.model.Cliente;
 import com.matheushstrindade.banking.model.Conta;
 
@@ -55,9 +56,17 @@ public class App {
         matheus.getContas().forEach(conta -> {
             System.out.println("Conta ID " + conta.getId() +
                     " | Saldo: R$ " + conta.getSaldo().setScale(2, RoundingMode.HALF_EVEN) +
-                    " | Transações: " + conta.getExtrato().size());
+                    " | Transações: " + conta.getQuantidadeTransacoes());
         });
 
+        // === AUDITORIA ===
+        Auditoria auditoria = new Auditoria();
+        Auditoria.Relatorio relatorio = auditoria.auditar(matheus.getContas());
+        System.out.println("\n=== AUDITORIA ===");
+        System.out.println(relatorio.contas() + " conta(s), " + relatorio.lancamentos() + " lançamento(s): "
+                + (relatorio.aprovada() ? "saldos conferem com os extratos" : relatorio.divergencias()));
+        System.out.println("Selo da conta corrente: " + auditoria.hash(corrente.getId()).orElse("-"));
+
         System.out.println("\nSistema bancário 100% funcional com extrato auditável.");
         System.out.println("Próximos passos: Spring Boot + API REST + PostgreSQL + Docker");
     }
@@ -1,14 +1,31 @@
 package com.matheushstrindade.banking.app;
 
+import com.matheushstrindade.banking.model.ArquivoExtrato;
 import com.matheushstrindade.banking.model.Cliente;
+import com.matheushstrindade.banking.model.ConsultaExtrato;
 import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.Diario;
+import com.matheushstrindade.banking.model.PaginaExtrato;
+import com.matheushstrindade.banking.model.Registro;
+import com.matheushstrindade.banking.model.ResumoFinanceiro;
+import com.matheushstrindade.banking.persistencia.ArquivoExtratoEmDisco;
+import com.matheushstrindade.banking.persistencia.DiarioEmArquivo;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Scanner;
 
 public class BankingConsole {
     private static final Scanner sc = new Scanner(System.in);
+    private static final Path DIRETORIO_DADOS = Path.of(System.getProperty("banking.dados", "dados"));
+    private static final Duration INTERVALO_SNAPSHOT =
+            Duration.ofMinutes(Long.getLong("banking.snapshot.minutos", 5L));
+    private static final int LINHAS_EM_MEMORIA = Integer.getInteger("banking.extrato.linhasEmMemoria", 100_000);
+    private static final int TRANSACOES_POR_PAGINA = 20;
     private static Cliente clienteAtual = null;
 
     public static void main(String[] args) {
@@ -18,6 +35,10 @@ public class BankingConsole {
         System.out.println("========================================");
         System.out.println();
 
+        if (!abrirDiario()) {
+            return;
+        }
+
         while (true) {
             exibirMenu();
             int opcao = lerInteiro("Escolha uma opção");
@@ -28,6 +49,7 @@ public class BankingConsole {
                 case 3 -> selecionarContaEOperar();
                 case 4 -> listarContasDoCliente();
                 case 5 -> exibirExtratoCompleto();
+                case 6 -> selecionarClientePorCpf();
                 case 0 -> {
                     System.out.println("Obrigado por usar o Banking System!");
                     return;
@@ -38,6 +60,37 @@ public class BankingConsole {
         }
     }
 
+    private static boolean abrirDiario() {
+        DiarioEmArquivo diario;
+        try {
+            // Mesmo arquivo de extratos do servidor: o snapshot pode apontar para segmentos arquivados nele
+            ArquivoExtrato.instalar(ArquivoExtratoEmDisco.abrir(DIRETORIO_DADOS.resolve("extratos"), LINHAS_EM_MEMORIA));
+            diario = DiarioEmArquivo.abrir(DIRETORIO_DADOS);
+            Diario.instalar(diario); // reconstrói o estado gravado
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Erro ao abrir o diário em " + DIRETORIO_DADOS.toAbsolutePath() + ": " + e.getMessage());
+            return false;
+        }
+        diario.agendarSnapshots(INTERVALO_SNAPSHOT);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                diario.snapshot(); // próxima inicialização não precisa reproduzir esta sessão
+                diario.close();
+            } catch (IOException e) {
+                System.out.println("Erro ao fechar o diário: " + e.getMessage());
+            }
+        }));
+
+        List<Cliente> recuperados = diario.getClientes();
+        if (!recuperados.isEmpty()) {
+            clienteAtual = recuperados.get(recuperados.size() - 1);
+            System.out.println(recuperados.size() + " cliente(s) e " + diario.getContas().size()
+                    + " conta(s) recuperados do diário.");
+            System.out.println("Cliente atual: " + clienteAtual.getNome() + " | CPF: " + clienteAtual.getCpf());
+        }
+        return true;
+    }
+
     private static void exibirMenu() {
         System.out.println("\n" + "=".repeat(40));
         System.out.println("               MENU PRINCIPAL");
@@ -47,6 +100,7 @@ public class BankingConsole {
         System.out.println("3 → Selecionar conta e fazer operações");
         System.out.println("4 → Listar todas as contas do cliente");
         System.out.println("5 → Exibir extrato completo de uma conta");
+        System.out.println("6 → Selecionar cliente pelo CPF");
         System.out.println("0 → Sair");
         System.out.println("—".repeat(40));
     }
@@ -67,6 +121,14 @@ public class BankingConsole {
         }
     }
 
+    private static void selecionarClientePorCpf() {
+        String cpf = lerString("CPF do cliente");
+        Registro.atual().buscarClientePorCpf(cpf).ifPresentOrElse(cliente -> {
+            clienteAtual = cliente;
+            System.out.println("Cliente atual: " + cliente.getNome() + " | CPF: " + cliente.getCpf());
+        }, () -> System.out.println("Nenhum cliente com o CPF " + cpf));
+    }
+
     private static void criarConta() {
         if (clienteAtual == null) {
             System.out.println("Crie um cliente primeiro!");
@@ -130,11 +192,7 @@ public class BankingConsole {
                     System.out.println("Erro: " + e.getMessage());
                 }
             } else if (op == 3) {
-                System.out.println("\nEXTRATO DA CONTA ID " + conta.getId());
-                System.out.println("-".repeat(50));
-                conta.getExtrato().forEach(System.out::println);
-                System.out.println("-".repeat(50));
-                System.out.println("SALDO ATUAL: R$ " + conta.getSaldo());
+                exibirExtratoPaginado(conta);
             } else if (op == 0) {
                 break;
             }
@@ -151,8 +209,13 @@ public class BankingConsole {
             System.out.println("Nenhuma conta cadastrada.");
         } else {
             clienteAtual.getContas().forEach(c ->
-                    System.out.println("ID " + c.getId() + " → R$ " + c.getSaldo() + " | " + c.getExtrato().size() + " transações")
+                    System.out.println("ID " + c.getId() + " → R$ " + c.getSaldo() + " | " + c.getQuantidadeTransacoes() + " transações")
             );
+            ResumoFinanceiro resumo = clienteAtual.getResumo();
+            System.out.println("Patrimônio: R$ " + resumo.getPatrimonio()
+                    + " | Depositado: R$ " + resumo.getTotalDepositado()
+                    + " | Sacado: R$ " + resumo.getTotalSacado()
+                    + " | " + resumo.getQuantidadeTotal() + " transações");
         }
     }
 
@@ -160,6 +223,27 @@ public class BankingConsole {
         selecionarContaEOperar();
     }
 
+    private static void exibirExtratoPaginado(Conta conta) {
+        int dias = lerInteiro("Período em dias (0 = extrato completo)");
+        ConsultaExtrato consulta = (dias > 0 ? ConsultaExtrato.ultimosDias(dias) : ConsultaExtrato.todas())
+                .comLimite(TRANSACOES_POR_PAGINA);
+
+        System.out.println("\nEXTRATO DA CONTA ID " + conta.getId());
+        System.out.println("-".repeat(50));
+        PaginaExtrato pagina = conta.consultarExtrato(consulta);
+        pagina.getTransacoes().forEach(System.out::println);
+        while (pagina.temMais()) {
+            System.out.print("ENTER para mais, 0 para parar: ");
+            if (sc.nextLine().trim().equals("0")) {
+                break;
+            }
+            pagina = conta.consultarExtrato(consulta.aPartirDe(pagina.getProximoCursor()));
+            pagina.getTransacoes().forEach(System.out::println);
+        }
+        System.out.println("-".repeat(50));
+        System.out.println("SALDO ATUAL: R$ " + conta.getSaldo());
+    }
+
     // === MÉTODOS AUXILIARES ===
     private static String lerString(String prompt) {
         System.out.print(prompt + ": ");
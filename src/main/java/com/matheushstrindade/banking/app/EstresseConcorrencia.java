@@ -0,0 +1,112 @@
+package com.matheushstrindade.banking.app;
+
+import com.matheushstrindade.banking.model.Cliente;
+import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.Transacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de estresse de concorrência: várias threads depositando e sacando nas mesmas contas.
+ * Ao final confere que nenhum saldo ficou negativo, que saldo = saldo inicial + soma do extrato
+ * e que os IDs gerados em paralelo são únicos. Termina com código 1 se algo estiver errado.
+ *
+ * Uso: java ... EstresseConcorrencia [threads] [contas] [operacoesPorThread]
+ */
+public class EstresseConcorrencia {
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000.00");
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors() * 4;
+        int qtdContas = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int operacoes = args.length > 2 ? Integer.parseInt(args[2]) : 50_000;
+
+        Cliente cliente = new Cliente("Cliente Estresse", "529.982.247-25", LocalDate.of(1990, 1, 1));
+
+        // === Criação concorrente de contas (IDs devem ser únicos) ===
+        List<Conta> contas = criarContasEmParalelo(cliente, threads, qtdContas);
+        Set<Long> ids = new HashSet<>();
+        contas.forEach(c -> ids.add(c.getId()));
+
+        // === Depósitos e saques concorrentes ===
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        long inicio = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                aguardar(largada);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < operacoes; i++) {
+                    Conta conta = contas.get(random.nextInt(contas.size()));
+                    BigDecimal valor = BigDecimal.valueOf(random.nextInt(1, 50_000), 2);
+                    try {
+                        if (random.nextBoolean()) {
+                            conta.depositar(valor);
+                        } else {
+                            conta.sacar(valor);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        // saldo insuficiente é esperado sob contenção
+                    }
+                }
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        // === Verificação ===
+        boolean ok = ids.size() == contas.size();
+        if (!ok) {
+            System.out.println("FALHA: IDs duplicados → " + contas.size() + " contas, " + ids.size() + " IDs distintos");
+        }
+        for (Conta conta : contas) {
+            BigDecimal esperado = conta.getExtrato().stream()
+                    .map(Transacao::getValor)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add); // inclui o lançamento de abertura
+            if (conta.getSaldo().signum() < 0 || conta.getSaldo().compareTo(esperado) != 0) {
+                ok = false;
+                System.out.println("FALHA: " + conta + " | esperado R$ " + esperado);
+            }
+        }
+
+        long total = (long) threads * operacoes;
+        System.out.println(threads + " threads, " + contas.size() + " contas, " + total + " operações em " + duracaoMs + " ms");
+        System.out.println(ok ? "Saldos consistentes." : "Inconsistência detectada!");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static List<Conta> criarContasEmParalelo(Cliente cliente, int threads, int qtdContas)
+            throws InterruptedException {
+        List<Conta> contas = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < qtdContas; i++) {
+            executor.execute(() -> new Conta(cliente, SALDO_INICIAL));
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        contas.addAll(cliente.getContas());
+        return contas;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.matheushstrindade.banking.app;
+
+import com.matheushstrindade.banking.model.Cpf;
+import com.matheushstrindade.banking.rede.Executores;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gerador de carga para o {@link ServidorRede}: abre N conexões, cada uma com seu cliente e sua conta,
+ * e dispara depósitos, saques e extratos até o tempo acabar, medindo a latência de cada comando.
+ * Ao final imprime vazão e percentis de latência.
+ *
+ * Uso: java ... GeradorCarga [host] [porta] [conexoes] [segundos]
+ */
+public class GeradorCarga {
+
+    /** Latências (ns) e contadores de uma conexão; só a própria thread escreve. */
+    private static final class Medicao {
+        long[] latencias = new long[1 << 14];
+        int quantidade;
+        long erros;
+
+        void registrar(long nanos) {
+            if (quantidade == latencias.length) {
+                latencias = Arrays.copyOf(latencias, quantidade * 2);
+            }
+            latencias[quantidade++] = nanos;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int porta = args.length > 1 ? Integer.parseInt(args[1]) : 7070;
+        int conexoes = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int segundos = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        long baseCpf = 100_000_000L + ThreadLocalRandom.current().nextLong(800_000_000L - conexoes);
+        ExecutorService executor = Executores.umaThreadPorTarefa("carga");
+        CountDownLatch prontas = new CountDownLatch(conexoes);
+        CountDownLatch largada = new CountDownLatch(1);
+        long[] fim = new long[1];
+        List<Future<Medicao>> medicoes = new ArrayList<>();
+        for (int i = 0; i < conexoes; i++) {
+            String cpf = Cpf.gerar(baseCpf + i);
+            medicoes.add(executor.submit(() -> executar(host, porta, cpf, prontas, largada, fim)));
+        }
+
+        prontas.await();
+        long inicio = System.nanoTime();
+        fim[0] = inicio + TimeUnit.SECONDS.toNanos(segundos);
+        largada.countDown();
+
+        long erros = 0;
+        int total = 0;
+        List<Medicao> resultados = new ArrayList<>();
+        for (Future<Medicao> medicao : medicoes) {
+            Medicao m = medicao.get();
+            resultados.add(m);
+            total += m.quantidade;
+            erros += m.erros;
+        }
+        double decorrido = (System.nanoTime() - inicio) / 1e9;
+        executor.shutdown();
+
+        long[] todas = new long[total];
+        int posicao = 0;
+        for (Medicao m : resultados) {
+            System.arraycopy(m.latencias, 0, todas, posicao, m.quantidade);
+            posicao += m.quantidade;
+        }
+        Arrays.sort(todas);
+
+        System.out.printf("Conexões: %d | Duração: %.1f s | Threads %s%n", conexoes, decorrido,
+                Executores.threadsVirtuais() ? "virtuais" : "de plataforma");
+        System.out.printf("Comandos: %d (%d com ERRO) | Vazão: %.0f comandos/s%n", total, erros, total / decorrido);
+        if (total > 0) {
+            System.out.printf("Latência (µs): p50=%.0f p90=%.0f p99=%.0f p99.9=%.0f máx=%.0f%n",
+                    percentil(todas, 50), percentil(todas, 90), percentil(todas, 99),
+                    percentil(todas, 99.9), todas[total - 1] / 1e3);
+        }
+    }
+
+    private static Medicao executar(String host, int porta, String cpf, CountDownLatch prontas,
+                                    CountDownLatch largada, long[] fim) throws IOException, InterruptedException {
+        Medicao medicao = new Medicao();
+        try (Socket socket = new Socket(host, porta)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader leitor = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            BufferedWriter escritor = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+            enviar(escritor, leitor, "CLIENTE " + cpf + " 1990-01-01 Cliente Carga"); // pode já existir
+            String conta = enviar(escritor, leitor, "CONTA " + cpf + " 100000,00");
+            if (!conta.startsWith("OK ")) {
+                throw new IOException("Falha ao abrir conta: " + conta);
+            }
+            String contaId = conta.substring(3);
+
+            prontas.countDown();
+            largada.await();
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            while (System.nanoTime() < fim[0]) {
+                int sorteio = aleatorio.nextInt(100);
+                String comando;
+                if (sorteio < 60) {
+                    comando = "DEPOSITAR " + contaId + " " + aleatorio.nextInt(1, 500) + ",00";
+                } else if (sorteio < 95) {
+                    comando = "SACAR " + contaId + " " + aleatorio.nextInt(1, 500) + ",00";
+                } else {
+                    comando = "EXTRATO " + contaId + " 20";
+                }
+                long inicio = System.nanoTime();
+                String resposta = enviar(escritor, leitor, comando);
+                medicao.registrar(System.nanoTime() - inicio);
+                if (!resposta.startsWith("OK")) {
+                    medicao.erros++;
+                }
+            }
+            enviar(escritor, leitor, "SAIR");
+        } finally {
+            prontas.countDown(); // não trava a largada se esta conexão falhou antes
+        }
+        return medicao;
+    }
+
+    /** Envia um comando e lê a resposta inteira (inclusive as linhas do EXTRATO); devolve a primeira linha. */
+    private static String enviar(BufferedWriter escritor, BufferedReader leitor, String comando) throws IOException {
+        escritor.write(comando);
+        escritor.write('\n');
+        escritor.flush();
+        String primeira = leitor.readLine();
+        if (primeira == null) {
+            throw new IOException("Servidor fechou a conexão");
+        }
+        if (comando.startsWith("EXTRATO") && primeira.startsWith("OK ")) {
+            int linhas = Integer.parseInt(primeira.split(" ")[1]);
+            for (int i = 0; i < linhas; i++) {
+                leitor.readLine();
+            }
+        }
+        return primeira;
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        int indice = (int) Math.ceil(p / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(indice, ordenadas.length - 1))] / 1e3;
+    }
+}
@@ -0,0 +1,55 @@
+package com.matheushstrindade.banking.app;
+
+import com.matheushstrindade.banking.importacao.ImportadorCsv;
+import com.matheushstrindade.banking.model.ArquivoExtrato;
+import com.matheushstrindade.banking.model.Diario;
+import com.matheushstrindade.banking.persistencia.ArquivoExtratoEmDisco;
+import com.matheushstrindade.banking.persistencia.DiarioEmArquivo;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Carga em massa a partir de CSV (formatos em {@link ImportadorCsv}), gravada no mesmo diário do console.
+ * Ao final grava um snapshot, para que a próxima inicialização não precise reproduzir a carga inteira.
+ *
+ * Uso: java ... ImportarCsv clientes.csv contas.csv transacoes.csv [paralelismo] [tamanhoLote]
+ */
+public class ImportarCsv {
+    private static final Path DIRETORIO_DADOS = Path.of(System.getProperty("banking.dados", "dados"));
+    private static final int LINHAS_EM_MEMORIA = Integer.getInteger("banking.extrato.linhasEmMemoria", 100_000);
+    private static final int REJEICOES_EXIBIDAS = 20;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Uso: ImportarCsv clientes.csv contas.csv transacoes.csv [paralelismo] [tamanhoLote]");
+            return;
+        }
+        int paralelismo = args.length > 3 ? Integer.parseInt(args[3]) : 32;
+        int tamanhoLote = args.length > 4 ? Integer.parseInt(args[4]) : 8192;
+
+        // Mesmo arquivo de extratos do servidor: o snapshot pode apontar para segmentos arquivados nele
+        ArquivoExtrato.instalar(ArquivoExtratoEmDisco.abrir(DIRETORIO_DADOS.resolve("extratos"), LINHAS_EM_MEMORIA));
+        try (DiarioEmArquivo diario = DiarioEmArquivo.abrir(DIRETORIO_DADOS)) {
+            Diario.instalar(diario);
+            ImportadorCsv importador = new ImportadorCsv(paralelismo, tamanhoLote);
+            exibir(importador.importarClientes(Path.of(args[0])));
+            exibir(importador.importarContas(Path.of(args[1])));
+            exibir(importador.importarTransacoes(Path.of(args[2])));
+            diario.snapshot();
+            Diario.instalar(Diario.NENHUM);
+        }
+    }
+
+    private static void exibir(ImportadorCsv.Relatorio relatorio) {
+        System.out.printf("%s: %d linhas, %d importadas, %d rejeitadas em %.2f s (%.0f linhas/s, %.1f MB/s)%n",
+                relatorio.arquivo().getFileName(), relatorio.linhas(), relatorio.importadas(),
+                relatorio.totalRejeitadas(), relatorio.duracao().toNanos() / 1e9,
+                relatorio.linhasPorSegundo(), relatorio.megabytesPorSegundo());
+        relatorio.rejeitadas().stream().limit(REJEICOES_EXIBIDAS).forEach(rejeitada ->
+                System.out.println("  linha " + rejeitada.linha() + ": " + rejeitada.motivo()));
+        if (relatorio.totalRejeitadas() > REJEICOES_EXIBIDAS) {
+            System.out.println("  ... e mais " + (relatorio.totalRejeitadas() - REJEICOES_EXIBIDAS));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.matheushstrindade.banking.app;
+
+import com.matheushstrindade.banking.metricas.ColetorDeMetricas;
+import com.matheushstrindade.banking.model.ArquivoExtrato;
+import com.matheushstrindade.banking.model.Diario;
+import com.matheushstrindade.banking.model.Idempotencia;
+import com.matheushstrindade.banking.model.Metricas;
+import com.matheushstrindade.banking.persistencia.ArquivoExtratoEmDisco;
+import com.matheushstrindade.banking.persistencia.DiarioEmArquivo;
+import com.matheushstrindade.banking.rede.Executores;
+import com.matheushstrindade.banking.rede.ServidorBancario;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Sobe o banco como servidor de rede (ver {@code ProtocoloBancario} para os comandos).
+ * Os dados ficam no mesmo diário do console; a porta vem de {@code -Dbanking.porta} (padrão 7070).
+ * As métricas ficam ligadas (comando {@code METRICAS}) a menos que se passe {@code -Dbanking.metricas=false}.
+ * Cada conta mantém em memória os últimos {@code -Dbanking.extrato.linhasEmMemoria} lançamentos (padrão 100000);
+ * os mais antigos vão comprimidos para {@code dados/extratos} e continuam no extrato.
+ * Chaves de idempotência: até {@code -Dbanking.idempotencia.chaves} (padrão 100000), cada uma válida por
+ * {@code -Dbanking.idempotencia.horas} (padrão 24).
+ *
+ * Teste rápido: {@code nc localhost 7070} e digite {@code CLIENTE 529.982.247-25 1990-01-01 Maria}.
+ */
+public class ServidorRede {
+    private static final Path DIRETORIO_DADOS = Path.of(System.getProperty("banking.dados", "dados"));
+    private static final Duration INTERVALO_SNAPSHOT =
+            Duration.ofMinutes(Long.getLong("banking.snapshot.minutos", 5L));
+    private static final int PORTA = Integer.getInteger("banking.porta", 7070);
+    private static final int LINHAS_EM_MEMORIA = Integer.getInteger("banking.extrato.linhasEmMemoria", 100_000);
+    private static final int CHAVES_IDEMPOTENCIA =
+            Integer.getInteger("banking.idempotencia.chaves", Idempotencia.MAXIMO_CHAVES_PADRAO);
+    private static final Duration VALIDADE_IDEMPOTENCIA =
+            Duration.ofHours(Long.getLong("banking.idempotencia.horas", Idempotencia.VALIDADE_PADRAO.toHours()));
+    private static final boolean METRICAS = Boolean.parseBoolean(System.getProperty("banking.metricas", "true"));
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        // Antes do diário: o snapshot aponta para segmentos de extrato já arquivados
+        ArquivoExtrato.instalar(ArquivoExtratoEmDisco.abrir(DIRETORIO_DADOS.resolve("extratos"), LINHAS_EM_MEMORIA));
+        DiarioEmArquivo diario = DiarioEmArquivo.abrir(DIRETORIO_DADOS);
+        Diario.instalar(diario);
+        diario.agendarSnapshots(INTERVALO_SNAPSHOT);
+        Idempotencia.instalar(new Idempotencia(CHAVES_IDEMPOTENCIA, VALIDADE_IDEMPOTENCIA));
+        if (METRICAS) {
+            Metricas.instalar(new ColetorDeMetricas());
+        }
+
+        ServidorBancario servidor = ServidorBancario.iniciar(PORTA);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                servidor.close();
+                diario.snapshot();
+                diario.close();
+            } catch (IOException e) {
+                System.err.println("Erro ao encerrar: " + e.getMessage());
+            }
+        }));
+
+        System.out.println("Banking System ouvindo na porta " + servidor.getPorta()
+                + " (" + diario.getContas().size() + " conta(s) recuperadas, threads "
+                + (Executores.threadsVirtuais() ? "virtuais" : "de plataforma") + " por conexão)");
+        Thread.currentThread().join(); // até Ctrl+C
+    }
+}
@@ -0,0 +1,84 @@
+package com.matheushstrindade.banking.app;
+
+import com.matheushstrindade.banking.metricas.HistogramaLatencia;
+import com.matheushstrindade.banking.simulacao.Carga;
+import com.matheushstrindade.banking.simulacao.ReprodutorDiario;
+import com.matheushstrindade.banking.simulacao.SimuladorCarga;
+
+import java.nio.file.Path;
+
+/**
+ * Dimensionamento sem rede: carga sintética direto no modelo ({@link SimuladorCarga}) ou reprodução de um
+ * diário gravado, mais rápido que o tempo real ({@link ReprodutorDiario}). Tudo em memória: nada é gravado.
+ *
+ * Uso: java ... Simulador carga [clientes] [threads] [operacoesPorThread] [expoenteZipf] [semente]
+ *      java ... Simulador reproduzir diretorioDoDiario [velocidade|max]
+ */
+public class Simulador {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("reproduzir")) {
+            if (args.length < 2) {
+                System.out.println("Uso: Simulador reproduzir diretorioDoDiario [velocidade|max]");
+                return;
+            }
+            double velocidade = args.length < 3 || args[2].equals("max") ? Double.POSITIVE_INFINITY
+                    : Double.parseDouble(args[2]);
+            exibir(ReprodutorDiario.reproduzir(Path.of(args[1]), velocidade));
+            return;
+        }
+        Carga padrao = Carga.padrao();
+        Carga carga = new Carga(
+                args.length > 1 ? Integer.parseInt(args[1]) : padrao.clientes(),
+                padrao.contasPorCliente(),
+                args.length > 2 ? Integer.parseInt(args[2]) : padrao.threads(),
+                args.length > 3 ? Long.parseLong(args[3]) : padrao.operacoesPorThread(),
+                padrao.percentualDepositos(), padrao.percentualSaques(),
+                args.length > 4 ? Double.parseDouble(args[4]) : padrao.expoenteZipf(),
+                args.length > 5 ? Long.parseLong(args[5]) : padrao.semente());
+        exibir(SimuladorCarga.executar(carga));
+    }
+
+    private static void exibir(SimuladorCarga.Relatorio relatorio) {
+        Carga carga = relatorio.carga();
+        System.out.printf("Carga: %d contas, %d threads, %d%% depósitos / %d%% saques / %d%% extratos, Zipf %.2f "
+                        + "(1%% das contas recebe %.0f%%), semente %d%n",
+                carga.contas(), carga.threads(), carga.percentualDepositos(), carga.percentualSaques(),
+                carga.percentualExtratos(), carga.expoenteZipf(), relatorio.fracaoNasContasQuentes() * 100,
+                carga.semente());
+        System.out.printf("Operações: %d (%d recusadas) em %.2f s | Vazão: %.0f operações/s%n",
+                relatorio.operacoes(), relatorio.recusas(), relatorio.duracao().toNanos() / 1e9,
+                relatorio.operacoesPorSegundo());
+        relatorio.latencias().forEach((operacao, foto) -> exibir(operacao.name(), foto));
+        exibirJvm(relatorio.coletas(), relatorio.tempoEmColeta().toMillis(), relatorio.bytesAlocados(),
+                relatorio.bytesPorOperacao());
+        System.out.printf("Assinatura dos saldos: %016x%n", relatorio.assinatura());
+    }
+
+    private static void exibir(ReprodutorDiario.Relatorio relatorio) {
+        System.out.printf("Reproduzidos: %d clientes, %d contas, %d lançamentos (%d recusados, %d ignorados)%n",
+                relatorio.clientes(), relatorio.contas(), relatorio.lancamentos(), relatorio.recusas(),
+                relatorio.ignorados());
+        System.out.printf("Movimento gravado: %s | Reprodução: %.2f s (%.0fx) | Vazão: %.0f lançamentos/s%n",
+                relatorio.duracaoGravada(), relatorio.duracao().toNanos() / 1e9, relatorio.aceleracao(),
+                relatorio.lancamentosPorSegundo());
+        exibir("LANCAMENTO", relatorio.latencia());
+        exibirJvm(relatorio.coletas(), relatorio.tempoEmColeta().toMillis(), relatorio.bytesAlocados(),
+                relatorio.bytesAlocados() < 0 ? -1 : relatorio.bytesAlocados() / (double) Math.max(relatorio.lancamentos(), 1L));
+    }
+
+    private static void exibir(String nome, HistogramaLatencia.Foto foto) {
+        if (foto.contagem() == 0) {
+            return;
+        }
+        System.out.printf("  %-10s %9d | latência (µs): p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f máx=%.1f%n",
+                nome, foto.contagem(), foto.quantil(0.5) / 1e3, foto.quantil(0.9) / 1e3, foto.quantil(0.99) / 1e3,
+                foto.quantil(0.999) / 1e3, foto.maximo() / 1e3);
+    }
+
+    private static void exibirJvm(long coletas, long milisEmColeta, long bytesAlocados, double bytesPorOperacao) {
+        System.out.printf("GC: %d coletas, %d ms | Alocação: %s%n", coletas, milisEmColeta,
+                bytesAlocados < 0 ? "não informada pela JVM"
+                        : String.format("%.1f MB (%.0f bytes/operação)", bytesAlocados / (1024.0 * 1024.0), bytesPorOperacao));
+    }
+}
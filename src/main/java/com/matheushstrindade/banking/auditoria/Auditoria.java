@@ -0,0 +1,398 @@
+package com.matheushstrindade.banking.auditoria;
+
+import com.matheushstrindade.banking.model.Centavos;
+import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.MapaDeLong;
+import com.matheushstrindade.banking.model.Transacao;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Auditoria das contas: confere o saldo de cada uma com o extrato e sela o extrato com uma cadeia de hashes.
+ *
+ * Reconciliação: saldo antes do extrato ({@link Conta#getSaldoAntesDoExtratoCentavos()}: zero, já que o saldo
+ * inicial é o lançamento {@code ABERTURA}, também numa conta reconstruída com o extrato inteiro) mais a soma de
+ * todos os lançamentos tem de dar exatamente o saldo da conta ({@link Conta#getPosicao()}).
+ *
+ * Cadeia: {@code h0 = SHA-256(conta, saldoAntes)} e {@code hi = SHA-256(hi-1, tipo, valor, instante, contraparte)}.
+ * Ao fim de uma auditoria sem divergências, a conta fica selada com {@code (n, saldo, hn)}:
+ * <ul>
+ *   <li>{@link #auditar(Collection)} é incremental: parte do selo e só lê o que entrou depois dele;</li>
+ *   <li>{@link #auditarTudo(Collection)} refaz a cadeia desde o início e a compara com o selo no ponto em
+ *       que ele foi feito; qualquer lançamento antigo alterado (num segmento arquivado, por exemplo) aparece.</li>
+ * </ul>
+ * O selo guarda também o saldo antes do extrato: uma conta que volta de um reinício com o extrato começando
+ * em outro ponto (histórico anterior perdido) não confere com ele.
+ *
+ * Com {@link #abrir(Path)}, os selos ficam num arquivo, regravado ao fim de cada auditoria, e valem entre
+ * execuções; com os construtores, só na memória.
+ *
+ * <pre>
+ * selos = MAGICO:int VERSAO:int qtdSelos:int
+ *         { contaId:long lancamentos:int saldoAntes:long saldo:long(centavos) hash:byte[32] } crc:int
+ * </pre>
+ *
+ * As contas são divididas entre as threads de um {@link ForkJoinPool} (por padrão o comum); cada conta é
+ * lida sem travar as operações, até a posição capturada no início da sua verificação. Por lançamento não
+ * se cria nenhum objeto. Uma auditoria por vez por instância.
+ */
+public final class Auditoria {
+    private static final int CONTAS_POR_TAREFA = 8;
+    private static final int TAMANHO_HASH = 32;
+    private static final int BYTES_POR_LANCAMENTO = 1 + 8 + 8 + 8;
+    private static final int MAGICO = 0x424B5345; // "BKSE"
+    private static final int VERSAO = 1;
+
+    public enum Problema {
+        /** Saldo da conta diferente do saldo antes do extrato mais a soma dos lançamentos. */
+        SALDO_DIVERGENTE,
+        /** Lançamentos já selados foram alterados, removidos ou reordenados. */
+        CADEIA_ALTERADA,
+        /** O extrato não pôde ser lido (segmento arquivado ausente ou corrompido). */
+        EXTRATO_ILEGIVEL
+    }
+
+    public record Divergencia(long contaId, Problema problema, String descricao) {
+    }
+
+    /** Resultado de uma auditoria; {@code lancamentos} é quanto foi efetivamente lido. */
+    public record Relatorio(int contas, long lancamentos, List<Divergencia> divergencias, Duration duracao) {
+        public boolean aprovada() {
+            return divergencias.isEmpty();
+        }
+
+        public double lancamentosPorSegundo() {
+            return lancamentos / (Math.max(duracao.toNanos(), 1L) / 1e9);
+        }
+    }
+
+    /** Como a conta estava ao fim da última auditoria sem divergências. */
+    private record Selo(int lancamentos, long saldoAntesCentavos, long saldoCentavos, byte[] hash) {
+    }
+
+    private final ForkJoinPool pool;
+    private final Path arquivoSelos; // null: só em memória
+    private final MapaDeLong<Selo> selos = new MapaDeLong<>();
+
+    public Auditoria() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public Auditoria(ForkJoinPool pool) {
+        this(pool, null);
+    }
+
+    private Auditoria(ForkJoinPool pool, Path arquivoSelos) {
+        this.pool = Objects.requireNonNull(pool, "Pool não pode ser nulo");
+        this.arquivoSelos = arquivoSelos;
+    }
+
+    /**
+     * Auditoria com os selos em {@code arquivoSelos}: carrega os gravados (se o arquivo existir) e o regrava
+     * ao fim de cada auditoria. Um arquivo corrompido é erro, não um recomeço sem selos.
+     */
+    public static Auditoria abrir(Path arquivoSelos) throws IOException {
+        return abrir(arquivoSelos, ForkJoinPool.commonPool());
+    }
+
+    public static Auditoria abrir(Path arquivoSelos, ForkJoinPool pool) throws IOException {
+        Auditoria auditoria = new Auditoria(pool, Objects.requireNonNull(arquivoSelos, "Arquivo não pode ser nulo"));
+        if (Files.exists(arquivoSelos)) {
+            auditoria.carregarSelos();
+        }
+        return auditoria;
+    }
+
+    // === AUDITORIA ===
+
+    /**
+     * Verifica só o que entrou em cada conta desde o seu selo (contas sem selo, desde o início).
+     *
+     * @throws UncheckedIOException se os selos não puderem ser gravados (ver {@link #abrir(Path)})
+     */
+    public synchronized Relatorio auditar(Collection<Conta> contas) {
+        return executar(contas, false);
+    }
+
+    /** Refaz a cadeia de cada conta desde o primeiro lançamento e a confere com o selo anterior. */
+    public synchronized Relatorio auditarTudo(Collection<Conta> contas) {
+        return executar(contas, true);
+    }
+
+    /** Hash (hexadecimal) do selo da conta, para guardar fora do sistema e comparar depois. */
+    public Optional<String> hash(long contaId) {
+        Selo selo = selos.get(contaId);
+        return selo == null ? Optional.empty() : Optional.of(HexFormat.of().formatHex(selo.hash()));
+    }
+
+    /** Quantos lançamentos da conta já estão selados. */
+    public int lancamentosSelados(long contaId) {
+        Selo selo = selos.get(contaId);
+        return selo == null ? 0 : selo.lancamentos();
+    }
+
+    private Relatorio executar(Collection<Conta> contas, boolean completa) {
+        long comeco = System.nanoTime();
+        List<Conta> todas = List.copyOf(contas);
+        Parcial parcial = pool.invoke(new Tarefa(todas, 0, todas.size(), completa));
+        if (arquivoSelos != null) {
+            try {
+                gravarSelos();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao gravar os selos em " + arquivoSelos, e);
+            }
+        }
+        return new Relatorio(todas.size(), parcial.lancamentos, List.copyOf(parcial.divergencias),
+                Duration.ofNanos(System.nanoTime() - comeco));
+    }
+
+    // === ARQUIVO DE SELOS ===
+
+    /** Escreve num temporário, faz fsync e o move sobre o anterior: uma gravação interrompida não perde selos. */
+    private void gravarSelos() throws IOException {
+        Path temporario = arquivoSelos.resolveSibling(arquivoSelos.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CheckedOutputStream checado = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(canal), 1 << 16), new CRC32C());
+            DataOutputStream saida = new DataOutputStream(checado);
+            saida.writeInt(MAGICO);
+            saida.writeInt(VERSAO);
+            saida.writeInt(selos.size());
+            IOException[] falha = new IOException[1];
+            selos.forEach((contaId, selo) -> {
+                if (falha[0] != null) {
+                    return;
+                }
+                try {
+                    saida.writeLong(contaId);
+                    saida.writeInt(selo.lancamentos());
+                    saida.writeLong(selo.saldoAntesCentavos());
+                    saida.writeLong(selo.saldoCentavos());
+                    saida.write(selo.hash());
+                } catch (IOException e) {
+                    falha[0] = e;
+                }
+            });
+            if (falha[0] != null) {
+                throw falha[0];
+            }
+            saida.flush();
+            saida.writeInt((int) checado.getChecksum().getValue());
+            saida.flush();
+            canal.force(true);
+        }
+        Files.move(temporario, arquivoSelos, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void carregarSelos() throws IOException {
+        try (InputStream bruto = Files.newInputStream(arquivoSelos);
+             CheckedInputStream checado = new CheckedInputStream(new BufferedInputStream(bruto, 1 << 16), new CRC32C());
+             DataInputStream entrada = new DataInputStream(checado)) {
+            if (entrada.readInt() != MAGICO || entrada.readInt() != VERSAO) {
+                throw new IOException("Arquivo de selos em formato desconhecido: " + arquivoSelos);
+            }
+            int quantidade = entrada.readInt();
+            MapaDeLong<Selo> lidos = new MapaDeLong<>();
+            for (int i = 0; i < quantidade; i++) {
+                long contaId = entrada.readLong();
+                int lancamentos = entrada.readInt();
+                long saldoAntes = entrada.readLong();
+                long saldo = entrada.readLong();
+                byte[] hash = new byte[TAMANHO_HASH];
+                entrada.readFully(hash);
+                lidos.put(contaId, new Selo(lancamentos, saldoAntes, saldo, hash));
+            }
+            int crcCalculado = (int) checado.getChecksum().getValue();
+            if (entrada.readInt() != crcCalculado) {
+                throw new IOException("Arquivo de selos corrompido (CRC): " + arquivoSelos);
+            }
+            lidos.forEach(selos::put);
+        }
+    }
+
+    // === FORK/JOIN ===
+    private static final class Parcial {
+        long lancamentos;
+        final List<Divergencia> divergencias = new ArrayList<>();
+
+        Parcial somar(Parcial outra) {
+            lancamentos += outra.lancamentos;
+            divergencias.addAll(outra.divergencias);
+            return this;
+        }
+    }
+
+    /** Divide a lista ao meio até {@value #CONTAS_POR_TAREFA} contas; o roubo de tarefas equilibra contas grandes. */
+    private final class Tarefa extends RecursiveTask<Parcial> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Conta> contas;
+        private final int de;
+        private final int ate;
+        private final boolean completa;
+
+        Tarefa(List<Conta> contas, int de, int ate, boolean completa) {
+            this.contas = contas;
+            this.de = de;
+            this.ate = ate;
+            this.completa = completa;
+        }
+
+        @Override
+        protected Parcial compute() {
+            if (ate - de <= CONTAS_POR_TAREFA) {
+                Verificador verificador = new Verificador();
+                Parcial parcial = new Parcial();
+                for (int i = de; i < ate; i++) {
+                    verificador.verificar(contas.get(i), completa, parcial);
+                }
+                return parcial;
+            }
+            int meio = (de + ate) >>> 1;
+            Tarefa esquerda = new Tarefa(contas, de, meio, completa);
+            esquerda.fork();
+            Parcial direita = new Tarefa(contas, meio, ate, completa).compute();
+            return esquerda.join().somar(direita);
+        }
+    }
+
+    // === VERIFICAÇÃO DE UMA CONTA ===
+
+    /** Estado de trabalho de uma thread: o digest e os buffers são reaproveitados de conta em conta. */
+    private final class Verificador implements Conta.VisitanteExtrato {
+        private final MessageDigest sha256 = novoSha256();
+        private final byte[] hash = new byte[TAMANHO_HASH];
+        private final ByteBuffer lancamento = ByteBuffer.allocate(BYTES_POR_LANCAMENTO);
+        private long saldo;
+        private int indice;
+        private Selo conferir; // selo a reencontrar no meio da cadeia (auditoria completa)
+        private boolean cadeiaConfere;
+
+        void verificar(Conta conta, boolean completa, Parcial parcial) {
+            long contaId = conta.getId();
+            Conta.Posicao posicao = conta.getPosicao();
+            Selo selo = selos.get(contaId);
+            long saldoAntes = conta.getSaldoAntesDoExtratoCentavos();
+            if (selo != null && saldoAntes != selo.saldoAntesCentavos()) {
+                parcial.divergencias.add(new Divergencia(contaId, Problema.CADEIA_ALTERADA, "Extrato começa em R$ "
+                        + Centavos.formatar(saldoAntes) + "; o selado começava em R$ "
+                        + Centavos.formatar(selo.saldoAntesCentavos()) + " (histórico anterior ausente)"));
+                return;
+            }
+            if (selo != null && posicao.lancamentos() < selo.lancamentos()) {
+                parcial.divergencias.add(new Divergencia(contaId, Problema.CADEIA_ALTERADA, "Extrato tem "
+                        + posicao.lancamentos() + " lançamentos; " + selo.lancamentos() + " já estavam selados"));
+                return;
+            }
+
+            int inicio;
+            if (completa || selo == null) {
+                inicio = 0;
+                saldo = saldoAntes;
+                genese(contaId, saldo);
+                conferir = selo;
+            } else {
+                inicio = selo.lancamentos();
+                saldo = selo.saldoCentavos();
+                System.arraycopy(selo.hash(), 0, hash, 0, TAMANHO_HASH);
+                conferir = null;
+            }
+            indice = inicio;
+            cadeiaConfere = true;
+            try {
+                conferirSelo();
+                conta.percorrerExtrato(inicio, posicao.lancamentos(), this);
+            } catch (RuntimeException e) { // segmento arquivado que não pôde ser lido ou não bate com o checkpoint
+                parcial.divergencias.add(new Divergencia(contaId, Problema.EXTRATO_ILEGIVEL,
+                        "Lançamento " + indice + ": " + e.getMessage()));
+                return;
+            }
+            parcial.lancamentos += posicao.lancamentos() - inicio;
+
+            if (!cadeiaConfere) {
+                parcial.divergencias.add(new Divergencia(contaId, Problema.CADEIA_ALTERADA,
+                        "Os " + selo.lancamentos() + " primeiros lançamentos não conferem com o selo da última auditoria"));
+            }
+            if (saldo != posicao.saldoCentavos()) {
+                parcial.divergencias.add(new Divergencia(contaId, Problema.SALDO_DIVERGENTE,
+                        "Saldo R$ " + Centavos.formatar(posicao.saldoCentavos()) + ", extrato soma R$ "
+                                + Centavos.formatar(saldo)));
+            }
+            if (cadeiaConfere && saldo == posicao.saldoCentavos()) {
+                selos.put(contaId, new Selo(posicao.lancamentos(), saldoAntes, saldo, hash.clone()));
+            }
+        }
+
+        @Override
+        public void visitar(Transacao.Tipo tipo, long valorCentavos, long instanteEpochMillis, long contaContraparte) {
+            lancamento.clear();
+            lancamento.put((byte) tipo.ordinal()).putLong(valorCentavos).putLong(instanteEpochMillis).putLong(contaContraparte);
+            sha256.update(hash, 0, TAMANHO_HASH);
+            sha256.update(lancamento.array(), 0, BYTES_POR_LANCAMENTO);
+            resumir();
+            saldo += valorCentavos;
+            indice++;
+            conferirSelo();
+        }
+
+        private void conferirSelo() {
+            if (conferir != null && indice == conferir.lancamentos()) {
+                cadeiaConfere = Arrays.equals(hash, conferir.hash()) && saldo == conferir.saldoCentavos();
+                conferir = null;
+            }
+        }
+
+        private void genese(long contaId, long saldoAntes) {
+            lancamento.clear();
+            lancamento.putLong(contaId).putLong(saldoAntes);
+            sha256.update(lancamento.array(), 0, 16);
+            resumir();
+        }
+
+        private void resumir() {
+            try {
+                sha256.digest(hash, 0, TAMANHO_HASH); // escreve no próprio vetor, sem alocar
+            } catch (DigestException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static MessageDigest novoSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
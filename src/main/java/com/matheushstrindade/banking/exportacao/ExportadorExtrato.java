@@ -0,0 +1,199 @@
+package com.matheushstrindade.banking.exportacao;
+
+import com.matheushstrindade.banking.model.Cliente;
+import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.Transacao;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exporta extratos para CSV ou JSON em fluxo, sem montar listas nem {@link Transacao}s.
+ *
+ * Os lançamentos vêm de {@link Conta#percorrerExtrato(Conta.VisitanteExtrato)} como primitivos e são
+ * formatados direto em bytes num buffer reaproveitado (ver {@link SaidaDeBytes}), que vai para o
+ * arquivo por um {@link FileChannel} a cada {@value #TAMANHO_BUFFER} bytes. O extrato exportado é o
+ * da hora da chamada: lançamentos feitos durante a exportação ficam para a próxima.
+ *
+ * <pre>
+ * CSV:  conta;dataHora;tipo;valor;contraparte
+ *       7;2025-01-31T14:05:09.123-03:00;TRANSFERENCIA;-150,00;8
+ * JSON: {"conta":7,"titular":"Maria","cpf":"529.982.247-25","transacoes":[
+ *       {"dataHora":"2025-01-31T14:05:09.123-03:00","tipo":"TRANSFERENCIA","valor":-150.00,"contraparte":8}
+ *       ],"quantidade":1}
+ * </pre>
+ *
+ * {@link #exportarTodas(List, Formato, Path, int)} grava um arquivo por conta, com várias contas ao
+ * mesmo tempo; cada thread tem o seu buffer e o reaproveita de conta em conta.
+ */
+public final class ExportadorExtrato {
+    private static final int TAMANHO_BUFFER = 1 << 16;
+
+    public enum Formato {
+        CSV("csv"),
+        JSON("json");
+
+        private final String extensao;
+
+        Formato(String extensao) {
+            this.extensao = extensao;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+    }
+
+    /** Resultado de uma exportação; {@code bytes} é o total gravado em disco. */
+    public record Relatorio(int arquivos, long transacoes, long bytes, Duration duracao) {
+        public double transacoesPorSegundo() {
+            return transacoes / segundos();
+        }
+
+        public double megabytesPorSegundo() {
+            return bytes / (1024.0 * 1024.0) / segundos();
+        }
+
+        private double segundos() {
+            return Math.max(duracao.toNanos(), 1L) / 1e9;
+        }
+    }
+
+    private ExportadorExtrato() {
+    }
+
+    // === EXPORTAÇÃO ===
+
+    /** Grava o extrato de {@code conta} em {@code destino} (substitui o arquivo se existir). */
+    public static Relatorio exportar(Conta conta, Formato formato, Path destino) throws IOException {
+        Objects.requireNonNull(conta, "Conta não pode ser nula");
+        Objects.requireNonNull(formato, "Formato não pode ser nulo");
+        long comeco = System.nanoTime();
+        SaidaDeBytes saida = new SaidaDeBytes(TAMANHO_BUFFER);
+        long[] totais = exportar(conta, formato, destino, saida);
+        return new Relatorio(1, totais[0], totais[1], Duration.ofNanos(System.nanoTime() - comeco));
+    }
+
+    /**
+     * Grava um arquivo por conta em {@code diretorio} ({@code extrato-<id>.csv} ou {@code .json}),
+     * com até {@code paralelismo} contas sendo exportadas ao mesmo tempo.
+     */
+    public static Relatorio exportarTodas(List<Conta> contas, Formato formato, Path diretorio, int paralelismo)
+            throws IOException {
+        Objects.requireNonNull(formato, "Formato não pode ser nulo");
+        if (paralelismo <= 0) {
+            throw new IllegalArgumentException("Paralelismo deve ser maior que zero: " + paralelismo);
+        }
+        long comeco = System.nanoTime();
+        Files.createDirectories(diretorio);
+        List<Conta> todas = List.copyOf(contas);
+        AtomicInteger proxima = new AtomicInteger();
+
+        int threads = Math.min(paralelismo, Math.max(1, todas.size()));
+        AtomicInteger contador = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, tarefa -> {
+            Thread thread = new Thread(tarefa, "exportacao-" + contador.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<long[]>> trabalhadores = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                trabalhadores.add(executor.submit(() -> { // cada uma pega a próxima conta livre
+                    SaidaDeBytes saida = new SaidaDeBytes(TAMANHO_BUFFER);
+                    long[] soma = new long[2];
+                    for (int i = proxima.getAndIncrement(); i < todas.size(); i = proxima.getAndIncrement()) {
+                        Conta conta = todas.get(i);
+                        Path destino = diretorio.resolve("extrato-" + conta.getId() + "." + formato.getExtensao());
+                        long[] totais = exportar(conta, formato, destino, saida);
+                        soma[0] += totais[0];
+                        soma[1] += totais[1];
+                    }
+                    return soma;
+                }));
+            }
+            long transacoes = 0;
+            long bytes = 0;
+            for (Future<long[]> trabalhador : trabalhadores) {
+                long[] soma = trabalhador.get();
+                transacoes += soma[0];
+                bytes += soma[1];
+            }
+            return new Relatorio(todas.size(), transacoes, bytes, Duration.ofNanos(System.nanoTime() - comeco));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Exportação interrompida", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof IOException io) {
+                throw io;
+            }
+            throw causa instanceof RuntimeException r ? r : new IllegalStateException(causa);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // === FORMATOS ===
+
+    /** Devolve {transações, bytes}. */
+    private static long[] exportar(Conta conta, Formato formato, Path destino, SaidaDeBytes saida) throws IOException {
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            saida.direcionar(canal);
+            int quantidade = formato == Formato.CSV ? csv(conta, saida) : json(conta, saida);
+            saida.esvaziar();
+            return new long[]{quantidade, saida.escritos()};
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static int csv(Conta conta, SaidaDeBytes saida) {
+        long id = conta.getId();
+        saida.ascii("conta;dataHora;tipo;valor;contraparte\n");
+        return conta.percorrerExtrato((tipo, valorCentavos, instante, contraparte) -> {
+            saida.numero(id).ascii(';').dataHora(instante).ascii(';').ascii(tipo.name()).ascii(';')
+                    .centavos(valorCentavos, ',').ascii(';');
+            if (contraparte != 0) {
+                saida.numero(contraparte);
+            }
+            saida.ascii('\n');
+        });
+    }
+
+    private static int json(Conta conta, SaidaDeBytes saida) {
+        Cliente titular = conta.getTitular();
+        saida.ascii("{\"conta\":").numero(conta.getId())
+                .ascii(",\"titular\":").json(titular.getNome())
+                .ascii(",\"cpf\":").json(titular.getCpf())
+                .ascii(",\"transacoes\":[");
+        boolean[] primeira = {true};
+        int quantidade = conta.percorrerExtrato((tipo, valorCentavos, instante, contraparte) -> {
+            saida.ascii(primeira[0] ? "\n" : ",\n");
+            primeira[0] = false;
+            saida.ascii("{\"dataHora\":\"").dataHora(instante)
+                    .ascii("\",\"tipo\":\"").ascii(tipo.name())
+                    .ascii("\",\"valor\":").centavos(valorCentavos, '.');
+            if (contraparte != 0) {
+                saida.ascii(",\"contraparte\":").numero(contraparte);
+            }
+            saida.ascii('}');
+        });
+        saida.ascii("\n],\"quantidade\":").numero(quantidade).ascii("}\n");
+        return quantidade;
+    }
+}
@@ -0,0 +1,190 @@
+package com.matheushstrindade.banking.exportacao;
+
+import com.matheushstrindade.banking.model.Relogio;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Escrita formatada direto num {@link ByteBuffer} reaproveitado, esvaziado num {@link FileChannel}
+ * quando enche. Números, valores e datas viram bytes sem passar por {@code String}, {@code String.format}
+ * nem {@code DateTimeFormatter}: nenhum objeto é criado por linha escrita.
+ *
+ * Uma instância por thread: troque o canal com {@link #direcionar(FileChannel)} entre arquivos.
+ * Os métodos de escrita lançam {@link UncheckedIOException}, para poderem ser chamados de dentro de
+ * um {@code Conta.VisitanteExtrato}.
+ */
+final class SaidaDeBytes {
+    private static final byte[] DIGITOS_LONG_MIN = Long.toString(Long.MIN_VALUE).getBytes();
+    private static final char[] HEXA = "0123456789abcdef".toCharArray();
+
+    private final ByteBuffer buffer;
+    private final byte[] digitos = new byte[20];
+    private final ZoneRules regras = Relogio.FUSO.getRules();
+    private FileChannel canal;
+    private long escritos;
+    // Deslocamento do fuso em vigor no intervalo [validoDe, validoAte) (epoch millis)
+    private long validoDe = 1;
+    private long validoAte = 0;
+    private int deslocamentoSegundos;
+
+    SaidaDeBytes(int capacidade) {
+        this.buffer = ByteBuffer.allocateDirect(capacidade);
+    }
+
+    void direcionar(FileChannel canal) {
+        this.canal = canal;
+        this.escritos = 0;
+        buffer.clear();
+    }
+
+    /** Bytes já entregues ao canal ou ainda no buffer desde {@link #direcionar(FileChannel)}. */
+    long escritos() {
+        return escritos + buffer.position();
+    }
+
+    /** Entrega ao canal o que estiver no buffer. */
+    void esvaziar() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                escritos += canal.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    // === TEXTO ===
+    SaidaDeBytes ascii(char c) {
+        garantir(1);
+        buffer.put((byte) c);
+        return this;
+    }
+
+    /** Constantes ASCII (cabeçalhos, nomes de campo, nomes de enum). */
+    SaidaDeBytes ascii(String texto) {
+        for (int i = 0, n = texto.length(); i < n; i++) {
+            ascii(texto.charAt(i));
+        }
+        return this;
+    }
+
+    /** Texto qualquer como string JSON entre aspas, em UTF-8 e com os escapes exigidos. */
+    SaidaDeBytes json(CharSequence texto) {
+        ascii('"');
+        for (int i = 0, n = texto.length(); i < n; i++) {
+            char c = texto.charAt(i);
+            if (c == '"' || c == '\\') {
+                ascii('\\').ascii(c);
+            } else if (c < 0x20) {
+                ascii("\\u00").ascii(HEXA[c >> 4]).ascii(HEXA[c & 0xF]);
+            } else if (c < 0x80) {
+                ascii(c);
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                int ponto = Character.toCodePoint(c, texto.charAt(++i));
+                garantir(4);
+                buffer.put((byte) (0xF0 | ponto >> 18)).put((byte) (0x80 | (ponto >> 12 & 0x3F)))
+                        .put((byte) (0x80 | (ponto >> 6 & 0x3F))).put((byte) (0x80 | (ponto & 0x3F)));
+            } else if (c < 0x800) {
+                garantir(2);
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | (c & 0x3F)));
+            } else {
+                garantir(3);
+                buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | (c >> 6 & 0x3F))).put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return ascii('"');
+    }
+
+    // === NÚMEROS ===
+    SaidaDeBytes numero(long valor) {
+        if (valor == Long.MIN_VALUE) {
+            garantir(DIGITOS_LONG_MIN.length);
+            buffer.put(DIGITOS_LONG_MIN);
+            return this;
+        }
+        if (valor < 0) {
+            ascii('-');
+            valor = -valor;
+        }
+        int i = digitos.length;
+        do {
+            digitos[--i] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        } while (valor != 0);
+        garantir(digitos.length - i);
+        buffer.put(digitos, i, digitos.length - i);
+        return this;
+    }
+
+    /** Centavos com duas casas e o separador decimal pedido: 1234 → "12,34", -5 → "-0,05". */
+    SaidaDeBytes centavos(long centavos, char separadorDecimal) {
+        long reais = centavos / 100;
+        int resto = (int) Math.abs(centavos % 100);
+        if (centavos < 0 && reais == 0) {
+            ascii('-');
+        }
+        numero(reais).ascii(separadorDecimal);
+        return ascii((char) ('0' + resto / 10)).ascii((char) ('0' + resto % 10));
+    }
+
+    /** Data e hora ISO-8601 no fuso {@link Relogio#FUSO}, com deslocamento: 2025-01-31T14:05:09.123-03:00. */
+    SaidaDeBytes dataHora(long epochMillis) {
+        if (epochMillis < validoDe || epochMillis >= validoAte) {
+            atualizarFuso(epochMillis);
+        }
+        long local = epochMillis + deslocamentoSegundos * 1000L;
+        long dias = Math.floorDiv(local, 86_400_000L);
+        int milisDoDia = (int) Math.floorMod(local, 86_400_000L);
+
+        // Dia civil a partir de dias desde 1970-01-01 (algoritmo "civil_from_days" de H. Hinnant)
+        long z = dias + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long doe = z - era * 146_097;
+        long yoe = (doe - doe / 1460 + doe / 36_524 - doe / 146_096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int dia = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int mes = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long ano = yoe + era * 400 + (mes <= 2 ? 1 : 0);
+
+        doisDigitos((int) (ano / 100)).doisDigitos((int) (ano % 100)).ascii('-')
+                .doisDigitos(mes).ascii('-').doisDigitos(dia).ascii('T')
+                .doisDigitos(milisDoDia / 3_600_000).ascii(':')
+                .doisDigitos(milisDoDia / 60_000 % 60).ascii(':')
+                .doisDigitos(milisDoDia / 1000 % 60).ascii('.');
+        int milis = milisDoDia % 1000;
+        ascii((char) ('0' + milis / 100)).doisDigitos(milis % 100);
+        int deslocamentoMinutos = Math.abs(deslocamentoSegundos) / 60;
+        return ascii(deslocamentoSegundos < 0 ? '-' : '+')
+                .doisDigitos(deslocamentoMinutos / 60).ascii(':').doisDigitos(deslocamentoMinutos % 60);
+    }
+
+    // === MÉTODOS AUXILIARES ===
+    private SaidaDeBytes doisDigitos(int valor) {
+        return ascii((char) ('0' + valor / 10)).ascii((char) ('0' + valor % 10));
+    }
+
+    private void garantir(int bytes) {
+        if (buffer.remaining() < bytes) {
+            esvaziar();
+        }
+    }
+
+    /** Só quando o instante sai do intervalo já conhecido (troca de horário de verão, outra conta). */
+    private void atualizarFuso(long epochMillis) {
+        Instant instante = Instant.ofEpochMilli(epochMillis);
+        deslocamentoSegundos = regras.getOffset(instante).getTotalSeconds();
+        ZoneOffsetTransition proxima = regras.nextTransition(instante);
+        validoDe = epochMillis;
+        validoAte = proxima == null ? Long.MAX_VALUE : proxima.toEpochSecond() * 1000;
+    }
+}
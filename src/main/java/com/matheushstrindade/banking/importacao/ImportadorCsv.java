@@ -0,0 +1,397 @@
+package com.matheushstrindade.banking.importacao;
+
+import com.matheushstrindade.banking.model.BlocoDeLinhas;
+import com.matheushstrindade.banking.model.Centavos;
+import com.matheushstrindade.banking.model.Cliente;
+import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.Cpf;
+import com.matheushstrindade.banking.model.ExecutorDeComandos;
+import com.matheushstrindade.banking.model.MapaDeLong;
+import com.matheushstrindade.banking.model.Registro;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Importação em massa de clientes, contas e transações a partir de arquivos CSV ({@code ;} como
+ * separador, UTF-8, cabeçalho opcional na primeira linha):
+ *
+ * <pre>
+ * clientes:   cpf;nome;nascimento(AAAA-MM-DD)      529.982.247-25;Maria Silva;1990-01-31
+ * contas:     referencia;cpf;saldoInicial           1001;529.982.247-25;1500,00
+ * transacoes: referencia;tipo(D|S);valor            1001;D;250,00
+ * </pre>
+ *
+ * {@code referencia} é o número da conta no banco de origem; as transações a usam para achar a
+ * conta aberta por {@link #importarContas(Path)} nesta mesma importação.
+ *
+ * Os arquivos são mapeados em memória e lidos em blocos alinhados por linha ({@link BlocoDeLinhas}),
+ * como em {@link Cpf#validarArquivo(Path)}. Clientes e contas são independentes entre si, então os
+ * blocos são validados e aplicados em paralelo; {@code paralelismo} pode passar do número de núcleos, já que
+ * com o diário em arquivo cada criação espera o fsync (e quanto mais criações simultâneas, mais o
+ * group commit as agrupa). As transações são lidas em ordem e aplicadas por um
+ * {@link ExecutorDeComandos}, que preserva a ordem de cada conta e grava cada lote no diário de uma vez;
+ * no máximo {@code tamanhoLote} ficam em voo, então a memória não cresce com o tamanho do arquivo.
+ *
+ * Tudo passa pela API normal do modelo (e pelo {@code Diario} instalado): as mesmas validações e
+ * mensagens de erro, que viram os motivos das linhas rejeitadas no {@link Relatorio}.
+ */
+public final class ImportadorCsv {
+    private static final int MAXIMO_REJEICOES_RELATADAS = 1000;
+
+    /** Linha recusada; {@code linha} começa em 1 e conta cabeçalho e linhas em branco. */
+    public record Rejeitada(long linha, String motivo) {
+    }
+
+    /**
+     * Resultado de um arquivo. {@code rejeitadas} traz no máximo {@value #MAXIMO_REJEICOES_RELATADAS}
+     * linhas (as primeiras do arquivo); {@code totalRejeitadas} conta todas.
+     */
+    public record Relatorio(Path arquivo, long linhas, long importadas, long totalRejeitadas,
+                            List<Rejeitada> rejeitadas, long bytes, Duration duracao) {
+        public double linhasPorSegundo() {
+            return linhas / segundos();
+        }
+
+        public double megabytesPorSegundo() {
+            return bytes / (1024.0 * 1024.0) / segundos();
+        }
+
+        private double segundos() {
+            return Math.max(duracao.toNanos(), 1L) / 1e9;
+        }
+    }
+
+    /** Conta aberta por esta importação; {@code conta} é nula só enquanto a abertura está em andamento. */
+    private static final class ContaImportada {
+        volatile Conta conta;
+    }
+
+    /** Trata uma linha de dados; {@code numero} é relativo ao início do bloco. */
+    private interface Processador {
+        void processar(LinhaCsv linha, long numero, Bloco bloco);
+    }
+
+    private final int paralelismo;
+    private final int tamanhoLote;
+    private final MapaDeLong<ContaImportada> contasPorReferencia = new MapaDeLong<>();
+
+    /**
+     * @param paralelismo threads que validam e aplicam clientes e contas
+     * @param tamanhoLote transações em voo (lidas e ainda não aplicadas)
+     */
+    public ImportadorCsv(int paralelismo, int tamanhoLote) {
+        if (paralelismo <= 0 || tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Paralelismo e tamanho do lote devem ser maiores que zero: "
+                    + paralelismo + ", " + tamanhoLote);
+        }
+        this.paralelismo = paralelismo;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    // === IMPORTAÇÃO ===
+
+    public Relatorio importarClientes(Path arquivo) throws IOException {
+        return emParalelo(arquivo, 3, (linha, numero, bloco) -> {
+            if (!exigirCampos(linha, 3, "cpf;nome;nascimento", numero, bloco)) {
+                return;
+            }
+            if (!Cpf.valido(linha.campo(0))) {
+                bloco.rejeitar(numero, "CPF inválido: " + linha.campo(0));
+                return;
+            }
+            LocalDate nascimento = data(linha.campo(2));
+            if (nascimento == null) {
+                bloco.rejeitar(numero, "Data de nascimento inválida: " + linha.campo(2));
+                return;
+            }
+            try {
+                new Cliente(linha.texto(1), linha.texto(0), nascimento);
+                bloco.importadas++;
+            } catch (IllegalArgumentException e) { // CPF já cadastrado, nome vazio, data no futuro
+                bloco.rejeitar(numero, e.getMessage());
+            }
+        });
+    }
+
+    /** Abre as contas; os titulares já devem existir (ex: importados antes por {@link #importarClientes(Path)}). */
+    public Relatorio importarContas(Path arquivo) throws IOException {
+        return emParalelo(arquivo, 3, (linha, numero, bloco) -> {
+            if (!exigirCampos(linha, 3, "referencia;cpf;saldoInicial", numero, bloco)) {
+                return;
+            }
+            long referencia = linha.numero(0);
+            if (referencia < 0) {
+                bloco.rejeitar(numero, "Referência de conta inválida: " + linha.campo(0));
+                return;
+            }
+            Optional<Cliente> titular = Registro.atual().buscarClientePorCpf(linha.campo(1));
+            if (titular.isEmpty()) {
+                bloco.rejeitar(numero, "Cliente não encontrado: " + linha.campo(1));
+                return;
+            }
+            ContaImportada importada = new ContaImportada();
+            if (contasPorReferencia.putIfAbsent(referencia, importada) != null) {
+                bloco.rejeitar(numero, "Referência de conta repetida: " + referencia);
+                return;
+            }
+            try {
+                importada.conta = new Conta(titular.get(), Centavos.paraBigDecimal(Centavos.ler(linha.campo(2))));
+                bloco.importadas++;
+            } catch (IllegalArgumentException e) { // valor inválido ou negativo
+                contasPorReferencia.remove(referencia);
+                bloco.rejeitar(numero, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Aplica depósitos (D) e saques (S) na ordem do arquivo. Saque sem saldo é rejeitado, como em
+     * {@link Conta#sacar(BigDecimal)}, e não interrompe a importação.
+     */
+    public Relatorio importarTransacoes(Path arquivo) throws IOException {
+        long comeco = System.nanoTime();
+        Bloco total = new Bloco(); // só esta thread mexe em linhas; rejeições chegam de outras threads
+        AtomicInteger aplicadas = new AtomicInteger();
+        AtomicReference<RuntimeException> falha = new AtomicReference<>();
+        Semaphore emVoo = new Semaphore(tamanhoLote);
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+             ExecutorDeComandos executor = new ExecutorDeComandos(
+                     Runtime.getRuntime().availableProcessors(), tamanhoLote)) {
+            long tamanho = canal.size();
+            Processador processador = (linha, numero, bloco) -> {
+                long numeroArquivo = total.linhas + numero;
+                if (!exigirCampos(linha, 3, "referencia;tipo;valor", numeroArquivo, total)) {
+                    return;
+                }
+                ContaImportada importada = linha.numero(0) < 0 ? null : contasPorReferencia.get(linha.numero(0));
+                if (importada == null || importada.conta == null) {
+                    total.rejeitar(numeroArquivo, "Conta não encontrada: " + linha.campo(0));
+                    return;
+                }
+                CharSequence tipo = linha.campo(1);
+                boolean deposito = tipo.length() == 1 && (tipo.charAt(0) == 'D' || tipo.charAt(0) == 'd');
+                boolean saque = tipo.length() == 1 && (tipo.charAt(0) == 'S' || tipo.charAt(0) == 's');
+                if (!deposito && !saque) {
+                    total.rejeitar(numeroArquivo, "Tipo de transação inválido (use D ou S): " + tipo);
+                    return;
+                }
+                long centavos;
+                try {
+                    centavos = Centavos.ler(linha.campo(2));
+                } catch (IllegalArgumentException e) {
+                    total.rejeitar(numeroArquivo, e.getMessage());
+                    return;
+                }
+                emVoo.acquireUninterruptibly();
+                CompletableFuture<BigDecimal> resultado = deposito
+                        ? executor.depositarCentavos(importada.conta, centavos)
+                        : executor.sacarCentavos(importada.conta, centavos);
+                resultado.whenComplete((saldo, erro) -> {
+                    if (erro == null) {
+                        aplicadas.incrementAndGet();
+                    } else {
+                        Throwable causa = erro instanceof CompletionException ? erro.getCause() : erro;
+                        if (causa instanceof IllegalArgumentException) { // saldo insuficiente, valor inválido
+                            total.rejeitar(numeroArquivo, causa.getMessage());
+                        } else {
+                            falha.compareAndSet(null, causa instanceof RuntimeException r ? r : new CompletionException(causa));
+                        }
+                    }
+                    emVoo.release();
+                });
+            };
+
+            // Em ordem: um bloco de cada vez, na mesma thread
+            long porBloco = BlocoDeLinhas.BYTES_POR_BLOCO_MAXIMO;
+            for (long inicio = 0; inicio < tamanho && falha.get() == null; inicio += porBloco) {
+                Bloco bloco = percorrer(canal, tamanho, inicio, Math.min(tamanho, inicio + porBloco), 3, processador);
+                total.incorporarRejeicoes(bloco, total.linhas); // linhas longas demais
+                total.linhas += bloco.linhas;
+            }
+            emVoo.acquireUninterruptibly(tamanhoLote); // espera as que ainda estão no executor
+            if (falha.get() != null) {
+                throw falha.get();
+            }
+            total.importadas = aplicadas.get();
+            return relatorio(arquivo, List.of(total), tamanho, comeco);
+        }
+    }
+
+    /** Conta aberta por {@link #importarContas(Path)} com esta referência de origem. */
+    public Optional<Conta> contaPorReferencia(long referencia) {
+        ContaImportada importada = contasPorReferencia.get(referencia);
+        return Optional.ofNullable(importada == null ? null : importada.conta);
+    }
+
+    // === BLOCOS ===
+
+    /** Contagens de um bloco; as rejeições guardadas levam o número de linha relativo ao bloco. */
+    private static final class Bloco {
+        long linhas;
+        long importadas;
+        long rejeitadas;
+        final List<Rejeitada> rejeicoes = new ArrayList<>();
+
+        synchronized void rejeitar(long linha, String motivo) {
+            rejeitadas++;
+            if (rejeicoes.size() < MAXIMO_REJEICOES_RELATADAS) {
+                rejeicoes.add(new Rejeitada(linha, motivo));
+            }
+        }
+
+        synchronized void incorporarRejeicoes(Bloco outro, long linhasAntes) {
+            for (Rejeitada rejeitada : outro.rejeicoes) {
+                rejeitar(linhasAntes + rejeitada.linha(), rejeitada.motivo());
+            }
+            rejeitadas += outro.rejeitadas - outro.rejeicoes.size();
+        }
+    }
+
+    private Relatorio emParalelo(Path arquivo, int campos, Processador processador) throws IOException {
+        long comeco = System.nanoTime();
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            long porBloco = BlocoDeLinhas.bytesPorBloco(tamanho, paralelismo);
+            int blocos = (int) ((tamanho + porBloco - 1) / porBloco);
+
+            AtomicInteger contador = new AtomicInteger();
+            ExecutorService threads = Executors.newFixedThreadPool(paralelismo, tarefa -> {
+                Thread thread = new Thread(tarefa, "importacao-" + contador.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<Bloco>> pendentes = new ArrayList<>(blocos);
+                for (int b = 0; b < blocos; b++) {
+                    long inicio = b * porBloco;
+                    long fim = Math.min(tamanho, inicio + porBloco);
+                    pendentes.add(threads.submit(() -> percorrer(canal, tamanho, inicio, fim, campos, processador)));
+                }
+                List<Bloco> resultados = new ArrayList<>(blocos);
+                for (Future<Bloco> pendente : pendentes) {
+                    resultados.add(pendente.get());
+                }
+                return relatorio(arquivo, resultados, tamanho, comeco);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Importação interrompida: " + arquivo, e);
+            } catch (ExecutionException e) {
+                Throwable causa = e.getCause();
+                if (causa instanceof IOException io) {
+                    throw io;
+                }
+                if (causa instanceof UncheckedIOException io) {
+                    throw io.getCause();
+                }
+                throw causa instanceof RuntimeException r ? r : new IllegalStateException(causa);
+            } finally {
+                threads.shutdownNow();
+            }
+        }
+    }
+
+    /** Percorre as linhas que começam em {@code [inicio, fim)}; a última pode terminar depois de {@code fim}. */
+    private static Bloco percorrer(FileChannel canal, long tamanhoArquivo, long inicio, long fim, int campos,
+                                   Processador processador) throws IOException {
+        BlocoDeLinhas linhas = BlocoDeLinhas.mapear(canal, tamanhoArquivo, inicio, fim);
+        LinhaCsv linha = new LinhaCsv(linhas.mapa(), campos);
+        Bloco bloco = new Bloco();
+        while (linhas.proxima()) {
+            bloco.linhas = linhas.numero();
+            linha.posicionar(linhas.inicioLinha(), linhas.fimLinha());
+            boolean cabecalho = inicio == 0 && bloco.linhas == 1 && !linha.comecaComDigito();
+            if (!cabecalho && !linha.emBranco()) {
+                if (linhas.truncada()) {
+                    bloco.rejeitar(bloco.linhas, "Linha longa demais (mais de " + BlocoDeLinhas.MARGEM_LINHA + " bytes)");
+                } else {
+                    processador.processar(linha, bloco.linhas, bloco);
+                }
+            }
+        }
+        return bloco;
+    }
+
+    /** Junta os blocos em ordem, convertendo números de linha locais em números do arquivo. */
+    private static Relatorio relatorio(Path arquivo, List<Bloco> blocos, long bytes, long comeco) {
+        long linhas = 0;
+        long importadas = 0;
+        long rejeitadas = 0;
+        List<Rejeitada> amostra = new ArrayList<>();
+        for (Bloco bloco : blocos) {
+            for (Rejeitada rejeitada : bloco.rejeicoes) {
+                amostra.add(new Rejeitada(linhas + rejeitada.linha(), rejeitada.motivo()));
+            }
+            linhas += bloco.linhas;
+            importadas += bloco.importadas;
+            rejeitadas += bloco.rejeitadas;
+        }
+        amostra.sort(Comparator.comparingLong(Rejeitada::linha));
+        if (amostra.size() > MAXIMO_REJEICOES_RELATADAS) {
+            amostra = amostra.subList(0, MAXIMO_REJEICOES_RELATADAS);
+        }
+        return new Relatorio(arquivo, linhas, importadas, rejeitadas, List.copyOf(amostra), bytes,
+                Duration.ofNanos(System.nanoTime() - comeco));
+    }
+
+    // === MÉTODOS AUXILIARES ===
+    private static boolean exigirCampos(LinhaCsv linha, int quantidade, String formato, long numero, Bloco bloco) {
+        if (linha.quantidade() == quantidade) {
+            return true;
+        }
+        bloco.rejeitar(numero, "Esperados " + quantidade + " campos (" + formato + "), encontrados "
+                + (linha.quantidade() > quantidade ? "mais" : linha.quantidade()));
+        return false;
+    }
+
+    /** AAAA-MM-DD sem {@code DateTimeFormatter}; {@code null} se não for uma data válida. */
+    private static LocalDate data(CharSequence texto) {
+        if (texto.length() != 10 || texto.charAt(4) != '-' || texto.charAt(7) != '-') {
+            return null;
+        }
+        int ano = digitos(texto, 0, 4);
+        int mes = digitos(texto, 5, 7);
+        int dia = digitos(texto, 8, 10);
+        if (ano < 0 || mes < 0 || dia < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(ano, mes, dia);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int digitos(CharSequence texto, int de, int ate) {
+        int numero = 0;
+        for (int i = de; i < ate; i++) {
+            int d = texto.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            numero = numero * 10 + d;
+        }
+        return numero;
+    }
+}
@@ -0,0 +1,154 @@
+package com.matheushstrindade.banking.importacao;
+
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Uma linha do arquivo mapeado, dividida em campos separados por {@code ;}, sem copiar bytes.
+ * É reposicionada a cada linha; {@link #campo(int)} devolve uma visão reutilizável do campo
+ * como {@link CharSequence} (ASCII), pronta para {@code Cpf.valido} e {@code Centavos.ler}.
+ * Só {@link #texto(int)} cria uma {@code String} (UTF-8), para o que vai ficar guardado no modelo.
+ */
+final class LinhaCsv {
+    static final char SEPARADOR = ';';
+
+    private final MappedByteBuffer mapa;
+    private final int[] inicios;
+    private final int[] fins;
+    private final Campo[] campos;
+    private int inicio;
+    private int fim;
+    private int quantidade;
+
+    LinhaCsv(MappedByteBuffer mapa, int maximoCampos) {
+        this.mapa = mapa;
+        this.inicios = new int[maximoCampos];
+        this.fins = new int[maximoCampos];
+        this.campos = new Campo[maximoCampos];
+        for (int i = 0; i < maximoCampos; i++) {
+            campos[i] = new Campo(i);
+        }
+    }
+
+    /** Aponta para os bytes {@code [inicio, fim)}, já sem o fim de linha, e separa os campos. */
+    void posicionar(int inicio, int fim) {
+        this.inicio = inicio;
+        this.fim = fim;
+        quantidade = 0;
+        int comeco = inicio;
+        for (int i = inicio; i <= fim; i++) {
+            if (i == fim || mapa.get(i) == SEPARADOR) {
+                if (quantidade == inicios.length) { // campos demais: conta, mas não guarda
+                    quantidade++;
+                    return;
+                }
+                inicios[quantidade] = aparar(comeco, i, true);
+                fins[quantidade] = aparar(inicios[quantidade], i, false);
+                quantidade++;
+                comeco = i + 1;
+            }
+        }
+    }
+
+    /** Quantidade de campos; passa de {@code maximoCampos} se a linha tiver campos demais. */
+    int quantidade() {
+        return quantidade;
+    }
+
+    boolean emBranco() {
+        for (int i = inicio; i < fim; i++) {
+            if (mapa.get(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Primeiro byte não branco é dígito (linhas de dados; o cabeçalho começa por letra). */
+    boolean comecaComDigito() {
+        for (int i = inicio; i < fim; i++) {
+            byte b = mapa.get(i);
+            if (b > ' ') {
+                return b >= '0' && b <= '9';
+            }
+        }
+        return false;
+    }
+
+    CharSequence campo(int indice) {
+        return campos[indice];
+    }
+
+    String texto(int indice) {
+        byte[] bytes = new byte[fins[indice] - inicios[indice]];
+        mapa.get(inicios[indice], bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Inteiro não negativo; {@code -1} se o campo não for só dígitos. */
+    long numero(int indice) {
+        int de = inicios[indice];
+        int ate = fins[indice];
+        if (de == ate || ate - de > 18) {
+            return -1;
+        }
+        long numero = 0;
+        for (int i = de; i < ate; i++) {
+            int d = mapa.get(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            numero = numero * 10 + d;
+        }
+        return numero;
+    }
+
+    /** A linha inteira, para relatar rejeições. */
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[fim - inicio];
+        mapa.get(inicio, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int aparar(int de, int ate, boolean esquerda) {
+        if (esquerda) {
+            while (de < ate && mapa.get(de) <= ' ') {
+                de++;
+            }
+            return de;
+        }
+        while (ate > de && mapa.get(ate - 1) <= ' ') {
+            ate--;
+        }
+        return ate;
+    }
+
+    private final class Campo implements CharSequence {
+        private final int indice;
+
+        Campo(int indice) {
+            this.indice = indice;
+        }
+
+        @Override
+        public int length() {
+            return fins[indice] - inicios[indice];
+        }
+
+        @Override
+        public char charAt(int posicao) {
+            return (char) (mapa.get(inicios[indice] + posicao) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int de, int ate) {
+            return toString().substring(de, ate);
+        }
+
+        @Override
+        public String toString() {
+            return texto(indice);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.matheushstrindade.banking.metricas;
+
+import com.matheushstrindade.banking.model.Metricas;
+import com.matheushstrindade.banking.model.OperacaoRecusadaException;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Metricas} que contam e medem de verdade: operações por resultado, recusas por motivo e
+ * latência por operação (sucessos, recusas e falhas) num {@link HistogramaLatencia}.
+ *
+ * Registrar é só incrementar contadores ({@link LongAdder}, sem disputa entre threads) e uma faixa do
+ * histograma; nada é alocado. A leitura é por demanda: {@link #foto()} para uso no código e
+ * {@link #textoExposicao()} no formato de texto do Prometheus, para o coletor local:
+ *
+ * <pre>
+ * banking_operacoes_total{operacao="saque",resultado="sucesso"} 1520
+ * banking_recusas_total{operacao="saque",motivo="saldo_insuficiente"} 12
+ * banking_latencia_segundos{operacao="saque",quantile="0.99"} 4.1e-05
+ * banking_latencia_segundos_sum{operacao="saque"} 0.0213
+ * banking_latencia_segundos_count{operacao="saque"} 1537
+ * </pre>
+ *
+ * Os contadores só crescem desde a criação do coletor (quem coleta calcula as taxas).
+ */
+public final class ColetorDeMetricas implements Metricas {
+    private static final double[] QUANTIS = {0.5, 0.9, 0.99, 0.999};
+    private static final Operacao[] OPERACOES = Operacao.values();
+    private static final OperacaoRecusadaException.Motivo[] MOTIVOS = OperacaoRecusadaException.Motivo.values();
+
+    private final LongAdder[] sucessos = contadores(OPERACOES.length);
+    private final LongAdder[] falhas = contadores(OPERACOES.length);
+    private final LongAdder[] recusas = contadores(OPERACOES.length * MOTIVOS.length); // [operacao][motivo]
+    private final HistogramaLatencia[] latencias = new HistogramaLatencia[OPERACOES.length];
+
+    public ColetorDeMetricas() {
+        for (int i = 0; i < latencias.length; i++) {
+            latencias[i] = new HistogramaLatencia();
+        }
+    }
+
+    // === REGISTRO ===
+    @Override
+    public long iniciar() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void sucesso(Operacao operacao, long inicio) {
+        sucessos[operacao.ordinal()].increment();
+        medir(operacao, inicio);
+    }
+
+    @Override
+    public void recusa(Operacao operacao, OperacaoRecusadaException.Motivo motivo, long inicio) {
+        recusas[operacao.ordinal() * MOTIVOS.length + motivo.ordinal()].increment();
+        medir(operacao, inicio);
+    }
+
+    @Override
+    public void falha(Operacao operacao, long inicio) {
+        falhas[operacao.ordinal()].increment();
+        medir(operacao, inicio);
+    }
+
+    private void medir(Operacao operacao, long inicio) {
+        latencias[operacao.ordinal()].registrar(System.nanoTime() - inicio);
+    }
+
+    // === CONSULTA ===
+
+    /** Números de uma operação; {@code recusas} só traz os motivos que já aconteceram. */
+    public record PorOperacao(long sucessos, long falhas, Map<OperacaoRecusadaException.Motivo, Long> recusas,
+                              HistogramaLatencia.Foto latencia) {
+        public long totalRecusas() {
+            return recusas.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public long total() {
+            return sucessos + falhas + totalRecusas();
+        }
+    }
+
+    /** Estado de todos os contadores em {@code instante}. */
+    public record Foto(Instant instante, Map<Operacao, PorOperacao> operacoes) {
+        public PorOperacao de(Operacao operacao) {
+            return operacoes.get(operacao);
+        }
+    }
+
+    public Foto foto() {
+        Map<Operacao, PorOperacao> operacoes = new EnumMap<>(Operacao.class);
+        for (Operacao operacao : OPERACOES) {
+            int i = operacao.ordinal();
+            Map<OperacaoRecusadaException.Motivo, Long> porMotivo = new EnumMap<>(OperacaoRecusadaException.Motivo.class);
+            for (OperacaoRecusadaException.Motivo motivo : MOTIVOS) {
+                long quantidade = recusas[i * MOTIVOS.length + motivo.ordinal()].sum();
+                if (quantidade > 0) {
+                    porMotivo.put(motivo, quantidade);
+                }
+            }
+            operacoes.put(operacao, new PorOperacao(sucessos[i].sum(), falhas[i].sum(),
+                    Collections.unmodifiableMap(porMotivo), latencias[i].foto()));
+        }
+        return new Foto(Instant.now(), Collections.unmodifiableMap(operacoes));
+    }
+
+    /** A foto atual no formato de exposição em texto do Prometheus (versão 0.0.4). */
+    public String textoExposicao() {
+        return textoExposicao(foto());
+    }
+
+    public static String textoExposicao(Foto foto) {
+        StringBuilder texto = new StringBuilder(4096);
+        cabecalho(texto, "banking_operacoes_total", "counter", "Operações concluídas, por resultado.");
+        foto.operacoes().forEach((operacao, numeros) -> {
+            linha(texto, "banking_operacoes_total", operacao, "resultado", "sucesso").append(numeros.sucessos()).append('\n');
+            linha(texto, "banking_operacoes_total", operacao, "resultado", "recusa").append(numeros.totalRecusas()).append('\n');
+            linha(texto, "banking_operacoes_total", operacao, "resultado", "falha").append(numeros.falhas()).append('\n');
+        });
+
+        cabecalho(texto, "banking_recusas_total", "counter", "Operações recusadas por regra de negócio, por motivo.");
+        foto.operacoes().forEach((operacao, numeros) -> {
+            for (OperacaoRecusadaException.Motivo motivo : MOTIVOS) {
+                linha(texto, "banking_recusas_total", operacao, "motivo", nome(motivo))
+                        .append(numeros.recusas().getOrDefault(motivo, 0L)).append('\n');
+            }
+        });
+
+        cabecalho(texto, "banking_latencia_segundos", "summary", "Duração das operações, em segundos.");
+        foto.operacoes().forEach((operacao, numeros) -> {
+            HistogramaLatencia.Foto latencia = numeros.latencia();
+            for (double quantil : QUANTIS) {
+                linha(texto, "banking_latencia_segundos", operacao, "quantile", Double.toString(quantil))
+                        .append(segundos(latencia.quantil(quantil))).append('\n');
+            }
+            linha(texto, "banking_latencia_segundos_sum", operacao).append(segundos(latencia.soma())).append('\n');
+            linha(texto, "banking_latencia_segundos_count", operacao).append(latencia.contagem()).append('\n');
+        });
+
+        cabecalho(texto, "banking_latencia_maxima_segundos", "gauge", "Maior duração observada, em segundos.");
+        foto.operacoes().forEach((operacao, numeros) ->
+                linha(texto, "banking_latencia_maxima_segundos", operacao)
+                        .append(segundos(numeros.latencia().maximo())).append('\n'));
+        return texto.toString();
+    }
+
+    // === MÉTODOS AUXILIARES ===
+    private static LongAdder[] contadores(int quantidade) {
+        LongAdder[] contadores = new LongAdder[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            contadores[i] = new LongAdder();
+        }
+        return contadores;
+    }
+
+    private static void cabecalho(StringBuilder texto, String nome, String tipo, String ajuda) {
+        texto.append("# HELP ").append(nome).append(' ').append(ajuda).append('\n')
+                .append("# TYPE ").append(nome).append(' ').append(tipo).append('\n');
+    }
+
+    private static StringBuilder linha(StringBuilder texto, String nome, Operacao operacao) {
+        return texto.append(nome).append("{operacao=\"").append(nome(operacao)).append("\"} ");
+    }
+
+    private static StringBuilder linha(StringBuilder texto, String nome, Operacao operacao, String rotulo, String valor) {
+        return texto.append(nome).append("{operacao=\"").append(nome(operacao)).append("\",")
+                .append(rotulo).append("=\"").append(valor).append("\"} ");
+    }
+
+    private static String nome(Enum<?> valor) {
+        return valor.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String segundos(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+}
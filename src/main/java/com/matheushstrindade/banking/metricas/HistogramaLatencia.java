@@ -0,0 +1,115 @@
+package com.matheushstrindade.banking.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências em nanossegundos, no estilo HDR: faixas log-lineares com erro relativo
+ * limitado (menos de 1/{@value #SUB_FAIXAS_POR_METADE}, ~1,6%) de 0 até {@link Long#MAX_VALUE}, em memória fixa.
+ *
+ * Valores abaixo de {@value #SUB_FAIXAS} são exatos; acima, cada potência de 2 é dividida em
+ * {@value #SUB_FAIXAS_POR_METADE} faixas iguais. {@link #registrar(long)} é um incremento atômico numa
+ * posição do vetor, sem travas nem alocação; {@link #foto()} copia as contagens para consulta.
+ */
+public final class HistogramaLatencia {
+    private static final int BITS_SUB_FAIXA = 7;
+    static final int SUB_FAIXAS = 1 << BITS_SUB_FAIXA;         // 128
+    static final int SUB_FAIXAS_POR_METADE = SUB_FAIXAS >> 1;  // 64
+    // Maior expoente de um long positivo é 62: deslocamento máximo 62 - 6 = 56
+    private static final int QUANTIDADE_FAIXAS = (62 - (BITS_SUB_FAIXA - 1) + 1) * SUB_FAIXAS_POR_METADE + SUB_FAIXAS_POR_METADE;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(QUANTIDADE_FAIXAS);
+    private final LongAdder soma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0L);
+
+    /** Registra uma medição; valores negativos (relógio fora de ordem) contam como zero. */
+    public void registrar(long nanos) {
+        long valor = Math.max(nanos, 0L);
+        contagens.incrementAndGet(indice(valor));
+        soma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    /** Cópia das contagens neste momento; medições concorrentes podem ou não entrar. */
+    public Foto foto() {
+        long[] copia = new long[QUANTIDADE_FAIXAS];
+        long total = 0;
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = contagens.get(i);
+            total += copia[i];
+        }
+        return new Foto(copia, total, soma.sum(), maximo.get());
+    }
+
+    // === FAIXAS ===
+    static int indice(long valor) {
+        int expoente = 63 - Long.numberOfLeadingZeros(valor | 1);
+        int deslocamento = Math.max(expoente - (BITS_SUB_FAIXA - 1), 0);
+        return deslocamento * SUB_FAIXAS_POR_METADE + (int) (valor >>> deslocamento);
+    }
+
+    /** Maior valor que cai na faixa {@code indice}. */
+    static long maiorValor(int indice) {
+        if (indice < SUB_FAIXAS) {
+            return indice;
+        }
+        int deslocamento = indice / SUB_FAIXAS_POR_METADE - 1;
+        long subFaixa = indice - (long) deslocamento * SUB_FAIXAS_POR_METADE;
+        return ((subFaixa + 1) << deslocamento) - 1;
+    }
+
+    /** Contagens congeladas de um {@link HistogramaLatencia}. */
+    public static final class Foto {
+        private final long[] contagens;
+        private final long contagem;
+        private final long soma;
+        private final long maximo;
+
+        private Foto(long[] contagens, long contagem, long soma, long maximo) {
+            this.contagens = contagens;
+            this.contagem = contagem;
+            this.soma = soma;
+            this.maximo = maximo;
+        }
+
+        public long contagem() {
+            return contagem;
+        }
+
+        /** Soma das medições, em nanossegundos. */
+        public long soma() {
+            return soma;
+        }
+
+        public long maximo() {
+            return maximo;
+        }
+
+        public double media() {
+            return contagem == 0 ? 0.0 : (double) soma / contagem;
+        }
+
+        /**
+         * Latência (ns) abaixo da qual ficam {@code quantil} das medições (0,99 → p99), com o erro da faixa.
+         * Devolve 0 se não houver medições.
+         */
+        public long quantil(double quantil) {
+            if (quantil < 0.0 || quantil > 1.0 || Double.isNaN(quantil)) {
+                throw new IllegalArgumentException("Quantil deve estar entre 0 e 1: " + quantil);
+            }
+            if (contagem == 0) {
+                return 0L;
+            }
+            long posicao = Math.max(1L, (long) Math.ceil(quantil * contagem));
+            long acumulado = 0;
+            for (int i = 0; i < contagens.length; i++) {
+                acumulado += contagens[i];
+                if (acumulado >= posicao) {
+                    return Math.min(maiorValor(i), maximo);
+                }
+            }
+            return maximo;
+        }
+    }
+}
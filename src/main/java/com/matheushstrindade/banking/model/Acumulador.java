@@ -0,0 +1,77 @@
+package com.matheushstrindade.banking.model;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Totais correntes atualizados a cada lançamento aplicado (ver {@link Conta#aplicar(Transacao)}).
+ *
+ * A escrita é exclusiva e não aloca nada; a leitura tenta primeiro sem trava (leitura otimista do
+ * {@link StampedLock}) e só espera se um lançamento estiver sendo somado naquele instante. Assim o
+ * {@link ResumoFinanceiro} sempre reflete um conjunto inteiro de lançamentos, nunca metade de um.
+ */
+final class Acumulador {
+    private static final int TIPOS = Transacao.Tipo.values().length;
+
+    private final StampedLock trava = new StampedLock();
+    private final long[] entradas = new long[TIPOS];
+    private final long[] saidas = new long[TIPOS];
+    private final long[] quantidades = new long[TIPOS];
+    private long patrimonio;
+
+    /** Soma um lançamento; {@code valorCentavos} sinalizado, como em {@link Transacao#getValorCentavos()}. */
+    void registrar(Transacao.Tipo tipo, long valorCentavos) {
+        int i = tipo.ordinal();
+        long stamp = trava.writeLock();
+        try {
+            if (valorCentavos >= 0) {
+                entradas[i] += valorCentavos;
+            } else {
+                saidas[i] -= valorCentavos;
+            }
+            quantidades[i]++;
+            patrimonio += valorCentavos;
+        } finally {
+            trava.unlockWrite(stamp);
+        }
+    }
+
+    /** Soma os totais de {@code resumo} (conta incorporada ao cliente, ou restaurada de snapshot). */
+    void incorporar(ResumoFinanceiro resumo) {
+        long stamp = trava.writeLock();
+        try {
+            for (Transacao.Tipo tipo : Transacao.Tipo.values()) {
+                int i = tipo.ordinal();
+                entradas[i] += resumo.getEntradasCentavos(tipo);
+                saidas[i] += resumo.getSaidasCentavos(tipo);
+                quantidades[i] += resumo.getQuantidade(tipo);
+            }
+            patrimonio += resumo.getPatrimonioCentavos();
+        } finally {
+            trava.unlockWrite(stamp);
+        }
+    }
+
+    ResumoFinanceiro resumo() {
+        long[] e = new long[TIPOS];
+        long[] s = new long[TIPOS];
+        long[] q = new long[TIPOS];
+        long stamp = trava.tryOptimisticRead();
+        long p = copiar(e, s, q);
+        if (!trava.validate(stamp)) { // um lançamento entrou no meio da cópia
+            stamp = trava.readLock();
+            try {
+                p = copiar(e, s, q);
+            } finally {
+                trava.unlockRead(stamp);
+            }
+        }
+        return new ResumoFinanceiro(e, s, q, p);
+    }
+
+    private long copiar(long[] e, long[] s, long[] q) {
+        System.arraycopy(entradas, 0, e, 0, TIPOS);
+        System.arraycopy(saidas, 0, s, 0, TIPOS);
+        System.arraycopy(quantidades, 0, q, 0, TIPOS);
+        return patrimonio;
+    }
+}
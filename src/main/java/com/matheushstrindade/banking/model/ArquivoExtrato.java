@@ -0,0 +1,76 @@
+package com.matheushstrindade.banking.model;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Armazenamento frio do extrato: para onde vão os lançamentos antigos quando a conta só mantém
+ * em memória os mais recentes.
+ *
+ * Quando o extrato passa de {@link #linhasQuentes()} lançamentos além de um segmento cheio, uma thread
+ * de fundo entrega o segmento a {@link #gravar} e, depois de gravado, o libera da memória. Extrato,
+ * consulta e exportação continuam vendo o histórico inteiro: segmentos arquivados voltam por
+ * {@link #ler} quando alguém os percorre. Cada segmento leva o saldo antes e depois dele
+ * (checkpoint), para que o saldo da conta seja conferido sem ler o arquivo (ver {@link Conta#saldoConfere()}).
+ *
+ * O conteúdo entregue é opaco: {@link #ler} deve devolver exatamente os mesmos bytes.
+ * Por padrão nada é arquivado ({@link #NENHUM}).
+ */
+public interface ArquivoExtrato {
+
+    /**
+     * Sem armazenamento frio: o extrato inteiro fica em memória. Como {@link #linhasQuentes()} é
+     * {@link Integer#MAX_VALUE}, nenhum segmento chega a ser agendado para {@link #gravar}; não há nada para
+     * {@link #ler}, e as duas chamadas são {@link IllegalStateException}.
+     */
+    ArquivoExtrato NENHUM = new ArquivoExtrato() {
+        @Override
+        public int linhasQuentes() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void gravar(long contaId, long primeiraLinha, int quantidade, long saldoInicial, long saldoFinal,
+                           ByteBuffer colunas) {
+            throw new IllegalStateException("Nenhum arquivo de extrato instalado: o segmento da conta " + contaId
+                    + " a partir da linha " + primeiraLinha + " fica em memória");
+        }
+
+        @Override
+        public ByteBuffer ler(long contaId, long primeiraLinha) {
+            throw new IllegalStateException("Nenhum arquivo de extrato instalado: o segmento da conta " + contaId
+                    + " a partir da linha " + primeiraLinha + " nunca foi arquivado nele");
+        }
+    };
+
+    /** Quantos lançamentos recentes, no mínimo, cada extrato mantém em memória. */
+    int linhasQuentes();
+
+    /**
+     * Grava {@code quantidade} lançamentos a partir de {@code primeiraLinha}; {@code colunas} vai da
+     * posição ao limite. {@code saldoInicial}/{@code saldoFinal}: saldo da conta antes e depois deles.
+     * Falhas são lançadas como exceções não verificadas; o segmento então continua em memória, a falha
+     * conta em {@link Metricas.Operacao#ARQUIVAMENTO_EXTRATO} e a gravação é tentada de novo quando a conta
+     * abrir o próximo segmento.
+     */
+    void gravar(long contaId, long primeiraLinha, int quantidade, long saldoInicial, long saldoFinal, ByteBuffer colunas);
+
+    /** Os bytes entregues a {@link #gravar} para o segmento que começa em {@code primeiraLinha}. */
+    ByteBuffer ler(long contaId, long primeiraLinha);
+
+    // === ARQUIVO ATIVO ===
+    static void instalar(ArquivoExtrato arquivo) {
+        ArquivoExtratoAtivo.atual = Objects.requireNonNull(arquivo, "Arquivo de extrato não pode ser nulo");
+    }
+
+    static ArquivoExtrato atual() {
+        return ArquivoExtratoAtivo.atual;
+    }
+}
+
+final class ArquivoExtratoAtivo {
+    static volatile ArquivoExtrato atual = ArquivoExtrato.NENHUM;
+
+    private ArquivoExtratoAtivo() {
+    }
+}
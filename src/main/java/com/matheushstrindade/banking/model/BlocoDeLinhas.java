@@ -0,0 +1,113 @@
+package com.matheushstrindade.banking.model;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Linhas de um bloco de um arquivo de texto mapeado em memória, para processar arquivos grandes em
+ * blocos independentes (em paralelo) sem criar {@code String} por linha.
+ *
+ * O bloco {@code [inicio, fim)} fica com as linhas que começam nele: a linha que começou no bloco
+ * anterior é pulada, e a última pode terminar até {@value #MARGEM_LINHA} bytes depois de {@code fim}.
+ * Linha que passe disso sai marcada como {@link #truncada()}; cada chamador decide o que fazer com
+ * ela. Usado por {@link Cpf#validarArquivo(java.nio.file.Path)} e pela importação de CSV.
+ *
+ * <pre>
+ * BlocoDeLinhas linhas = BlocoDeLinhas.mapear(canal, tamanho, inicio, fim);
+ * while (linhas.proxima()) {
+ *     ... linhas.mapa() entre linhas.inicioLinha() e linhas.fimLinha()
+ * }
+ * </pre>
+ */
+public final class BlocoDeLinhas {
+    /** Maior bloco; também o tamanho usado por quem lê um bloco de cada vez. */
+    public static final long BYTES_POR_BLOCO_MAXIMO = 64L << 20;
+    /** Quanto a última linha de um bloco pode passar do fim dele. */
+    public static final int MARGEM_LINHA = 4096;
+
+    private static final long BYTES_POR_BLOCO_MINIMO = 1L << 20;
+
+    private final MappedByteBuffer mapa;
+    private final long inicioMapa;
+    private final long tamanhoArquivo;
+    private final int limite;
+    private int pos;
+
+    private int inicioLinha;
+    private int fimLinha;
+    private long numero;
+    private boolean truncada;
+
+    private BlocoDeLinhas(MappedByteBuffer mapa, long inicioMapa, long tamanhoArquivo, int limite, int pos) {
+        this.mapa = mapa;
+        this.inicioMapa = inicioMapa;
+        this.tamanhoArquivo = tamanhoArquivo;
+        this.limite = limite;
+        this.pos = pos;
+    }
+
+    /** Tamanho de bloco para dividir {@code tamanhoArquivo} bytes entre {@code paralelismo} threads. */
+    public static long bytesPorBloco(long tamanhoArquivo, int paralelismo) {
+        return Math.min(BYTES_POR_BLOCO_MAXIMO,
+                Math.max(BYTES_POR_BLOCO_MINIMO, tamanhoArquivo / (paralelismo * 4L) + 1));
+    }
+
+    /** Mapeia o bloco {@code [inicio, fim)} (com a margem) e se posiciona antes da primeira linha dele. */
+    public static BlocoDeLinhas mapear(FileChannel canal, long tamanhoArquivo, long inicio, long fim) throws IOException {
+        long inicioMapa = Math.max(0, inicio - 1); // um byte antes, para saber se 'inicio' abre uma linha
+        long fimMapa = Math.min(tamanhoArquivo, fim + MARGEM_LINHA);
+        MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, inicioMapa, fimMapa - inicioMapa);
+
+        int limite = (int) (fim - inicioMapa);
+        int pos = (int) (inicio - inicioMapa);
+        if (inicio > 0 && mapa.get(pos - 1) != '\n') { // linha começou no bloco anterior
+            while (pos < limite && mapa.get(pos) != '\n') {
+                pos++;
+            }
+            pos++;
+        }
+        return new BlocoDeLinhas(mapa, inicioMapa, tamanhoArquivo, limite, pos);
+    }
+
+    /** Avança para a próxima linha do bloco; {@code false} quando acabaram. */
+    public boolean proxima() {
+        if (pos >= limite) {
+            return false;
+        }
+        int fim = pos;
+        while (fim < mapa.limit() && mapa.get(fim) != '\n') {
+            fim++;
+        }
+        numero++;
+        inicioLinha = pos;
+        fimLinha = fim > pos && mapa.get(fim - 1) == '\r' ? fim - 1 : fim;
+        truncada = fim == mapa.limit() && inicioMapa + fim < tamanhoArquivo;
+        pos = fim + 1;
+        return true;
+    }
+
+    public MappedByteBuffer mapa() {
+        return mapa;
+    }
+
+    /** Primeiro byte da linha atual no {@link #mapa()}. */
+    public int inicioLinha() {
+        return inicioLinha;
+    }
+
+    /** Fim (exclusivo) do conteúdo da linha atual, sem o {@code \n} nem um {@code \r} antes dele. */
+    public int fimLinha() {
+        return fimLinha;
+    }
+
+    /** Número da linha atual dentro do bloco, a partir de 1 (linhas em branco contam). */
+    public long numero() {
+        return numero;
+    }
+
+    /** A linha atual passou da margem e foi cortada: o conteúdo está incompleto. */
+    public boolean truncada() {
+        return truncada;
+    }
+}
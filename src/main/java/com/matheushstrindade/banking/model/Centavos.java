@@ -0,0 +1,152 @@
+package com.matheushstrindade.banking.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valores monetários como {@code long} de centavos (R$ 12,34 → 1234).
+ *
+ * É a representação interna de {@link Conta} e {@link Transacao}: somar, comparar e guardar
+ * um valor não aloca nada. {@link BigDecimal} aparece apenas na fronteira da API
+ * ({@link #de(BigDecimal)} na entrada, {@link #paraBigDecimal(long)} na saída).
+ * Toda aritmética é verificada: estouro lança {@link ArithmeticException} em vez de dar a volta.
+ */
+public final class Centavos {
+    /** Dígitos antes da vírgula que ainda podem caber: {@link Long#MAX_VALUE} tem 19, dois deles de centavos. */
+    private static final int DIGITOS_INTEIROS = 17;
+    /** Casas decimais aceitas antes de arredondar; mais que isso não é um valor em dinheiro. */
+    private static final int ESCALA_MAXIMA = 32;
+
+    private Centavos() {
+    }
+
+    // === CONVERSÃO ===
+
+    /**
+     * Converte para centavos com arredondamento bancário (HALF_EVEN), como o restante do sistema.
+     * O tamanho é conferido antes de qualquer conta: um expoente enorme ("1e50000000") é recusado
+     * sem expandir o número.
+     *
+     * @throws OperacaoRecusadaException se o valor não couber em um {@code long} de centavos ou tiver
+     *                                   mais de {@value #ESCALA_MAXIMA} casas decimais
+     */
+    public static long de(BigDecimal valor) {
+        if (valor.signum() == 0) {
+            return 0L;
+        }
+        if (valor.precision() - valor.scale() > DIGITOS_INTEIROS) {
+            throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.VALOR_INVALIDO,
+                    "Valor fora do intervalo suportado: R$ " + valor);
+        }
+        if (valor.scale() > ESCALA_MAXIMA) {
+            throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.VALOR_INVALIDO,
+                    "Valor com casas decimais demais: R$ " + valor);
+        }
+        BigDecimal escalado = valor.scale() == 2 ? valor : valor.setScale(2, RoundingMode.HALF_EVEN);
+        try {
+            return escalado.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.VALOR_INVALIDO,
+                    "Valor fora do intervalo suportado: R$ " + escalado.toPlainString());
+        }
+    }
+
+    /**
+     * Lê um valor em texto sem passar por {@link BigDecimal}: "1234,56", "1234.5", "-10" → centavos.
+     * Aceita vírgula ou ponto e no máximo duas casas decimais; não aloca nada quando o valor é válido.
+     *
+     * @throws OperacaoRecusadaException se o texto não for um valor nesse formato ou não couber em um {@code long}
+     */
+    public static long ler(CharSequence texto) {
+        int n = texto.length();
+        int i = 0;
+        boolean negativo = n > 0 && texto.charAt(0) == '-';
+        if (negativo) {
+            i++;
+        }
+        long reais = 0;
+        int digitos = 0;
+        for (; i < n; i++) {
+            int d = texto.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                break;
+            }
+            if (reais > (Long.MAX_VALUE / 100 - 1 - d) / 10) { // reais * 100 + 99 precisa caber em um long
+                throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.VALOR_INVALIDO,
+                        "Valor fora do intervalo suportado: R$ " + texto);
+            }
+            reais = reais * 10 + d;
+            digitos++;
+        }
+        long fracao = 0;
+        int casas = 0;
+        if (i < n && (texto.charAt(i) == ',' || texto.charAt(i) == '.')) {
+            for (i++; i < n && casas < 3; i++, casas++) {
+                int d = texto.charAt(i) - '0';
+                if (d < 0 || d > 9) {
+                    break;
+                }
+                fracao = fracao * 10 + d;
+            }
+            if (casas == 0 || casas > 2) {
+                throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.VALOR_INVALIDO,
+                        "Valor inválido: " + texto);
+            }
+        }
+        if (digitos == 0 || i != n) {
+            throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.VALOR_INVALIDO,
+                    "Valor inválido: " + texto);
+        }
+        long centavos = reais * 100 + (casas == 1 ? fracao * 10 : fracao);
+        return negativo ? -centavos : centavos;
+    }
+
+    public static BigDecimal paraBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    // === ARITMÉTICA VERIFICADA ===
+    public static long somar(long a, long b) {
+        long resultado = a + b;
+        if (((a ^ resultado) & (b ^ resultado)) < 0) {
+            throw new ArithmeticException("Estouro ao somar valores monetários: " + a + " + " + b + " centavos");
+        }
+        return resultado;
+    }
+
+    public static long subtrair(long a, long b) {
+        long resultado = a - b;
+        if (((a ^ b) & (a ^ resultado)) < 0) {
+            throw new ArithmeticException("Estouro ao subtrair valores monetários: " + a + " - " + b + " centavos");
+        }
+        return resultado;
+    }
+
+    public static long negar(long centavos) {
+        if (centavos == Long.MIN_VALUE) {
+            throw new ArithmeticException("Estouro ao negar valor monetário: " + centavos + " centavos");
+        }
+        return -centavos;
+    }
+
+    // === FORMATAÇÃO ===
+
+    /** Formato brasileiro sem separador de milhar e sem "R$": 1234 → "12,34", -5 → "-0,05". */
+    public static String formatar(long centavos) {
+        return anexar(new StringBuilder(24), centavos).toString();
+    }
+
+    /** Igual a {@link #formatar(long)}, escrevendo direto em {@code destino}. */
+    public static StringBuilder anexar(StringBuilder destino, long centavos) {
+        long reais = centavos / 100;
+        int resto = (int) Math.abs(centavos % 100);
+        if (centavos < 0 && reais == 0) {
+            destino.append('-');
+        }
+        destino.append(reais).append(',');
+        if (resto < 10) {
+            destino.append('0');
+        }
+        return destino.append(resto);
+    }
+}
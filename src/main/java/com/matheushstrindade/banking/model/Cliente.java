@@ -10,9 +10,31 @@ public class Cliente {
     private String nome;
     private String cpf;
     private LocalDate dataNascimento;
-    private List<Conta> contas = new ArrayList<>();
+    private final List<Conta> contas = new ArrayList<>(); // protegido por this
+    private final Acumulador acumulador = new Acumulador(); // soma das contas, atualizada por Conta.aplicar
 
     public Cliente(String nome, String cpf, LocalDate dataNascimento) {
+        this(nome, cpf, dataNascimento, true);
+    }
+
+    /**
+     * {@code registrar = false} apenas na reconstrução (ver {@link Restauracao}).
+     *
+     * @throws IllegalArgumentException se já existir cliente com o mesmo CPF (ver {@link Registro})
+     */
+    Cliente(String nome, String cpf, LocalDate dataNascimento, boolean registrar) {
+        Metricas metricas = registrar ? Metricas.atual() : Metricas.NENHUMA; // reconstrução não conta
+        long inicio = metricas.iniciar();
+        try {
+            inicializar(nome, cpf, dataNascimento, registrar);
+        } catch (RuntimeException e) {
+            metricas.erro(Metricas.Operacao.CRIACAO_CLIENTE, e, inicio);
+            throw e;
+        }
+        metricas.sucesso(Metricas.Operacao.CRIACAO_CLIENTE, inicio);
+    }
+
+    private void inicializar(String nome, String cpf, LocalDate dataNascimento, boolean registrar) {
         Objects.requireNonNull(nome, "Nome não pode ser nulo");
         Objects.requireNonNull(cpf, "CPF não pode ser nulo");
         Objects.requireNonNull(dataNascimento, "Data de nascimento não pode ser nula");
@@ -20,18 +42,30 @@ public class Cliente {
         this.nome = nome.trim();
 
         if (this.nome.isEmpty()) {
-            throw new IllegalArgumentException("Nome não pode ser vazio");
+            throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.DADOS_INVALIDOS, "Nome não pode ser vazio");
         }
-        String cpfLimpo = cpf.replaceAll("\\D", "");
-        if (!validarCpf(cpfLimpo)) {
-            throw new IllegalArgumentException("CPF inválido: " + cpf);
+        if (!Cpf.valido(cpf)) {
+            throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.CPF_INVALIDO, "CPF inválido: " + cpf);
         }
-        if (dataNascimento.isAfter(LocalDate.now())) {
-            throw new IllegalArgumentException("Data de nascimento não pode ser no futuro");
+        if (dataNascimento.isAfter(Relogio.atual().hoje())) {
+            throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.DADOS_INVALIDOS,
+                    "Data de nascimento não pode ser no futuro");
         }
 
         this.cpf = cpf; // mantém formatado para exibição (ex: 529.982.247-25)
         this.dataNascimento = dataNascimento;
+        if (!registrar) {
+            Registro.atual().substituirCliente(this);
+            return;
+        }
+        Registro registro = Registro.atual();
+        registro.registrarCliente(this); // CPF único: falha antes de chegar ao diário
+        try {
+            Diario.atual().clienteCriado(this);
+        } catch (RuntimeException | Error e) {
+            registro.cancelarCliente(this);
+            throw e;
+        }
     }
 
     // === GETTERS ===
@@ -41,14 +75,26 @@ public class Cliente {
 
     public LocalDate getDataNascimento() { return dataNascimento; }
 
-    public List<Conta> getContas() { return Collections.unmodifiableList(contas); }
+    public synchronized List<Conta> getContas() { return Collections.unmodifiableList(new ArrayList<>(contas)); }
+
+    /**
+     * Totais somados de todas as contas (patrimônio, depositado, sacado, quantidade por tipo)
+     * em tempo constante, sem percorrer contas nem extratos.
+     * Cada lançamento entra inteiro; as duas pernas de uma transferência entre contas do
+     * mesmo cliente entram uma de cada vez.
+     */
+    public ResumoFinanceiro getResumo() {
+        return acumulador.resumo();
+    }
+
+    Acumulador getAcumulador() { return acumulador; }
 
     // === OPERAÇÕES ===
-    public void adicionarConta(Conta conta) {
+    public synchronized void adicionarConta(Conta conta) {
         if (conta == null) {
             throw new IllegalArgumentException("Conta não pode ser nula.");
         }
-        if (this.contas.contains(conta)) {
+        if (conta.getTitular() == this) { // o titular só é definido aqui, então equivale a contas.contains(conta)
             throw new IllegalArgumentException("Esta conta já pertence ao cliente.");
         }
         if (conta.getTitular() != null && conta.getTitular() != this) {
@@ -58,6 +104,7 @@ public class Cliente {
         }
 
         this.contas.add(conta);
+        acumulador.incorporar(conta.getResumo()); // saldo inicial (ou restaurado) da conta
         conta.setTitular(this);
     }
 
@@ -69,51 +116,18 @@ public class Cliente {
      *
      * @param cpf CPF a ser validado (ex: "123.456.789-00" ou "12345678900")
      * @return true se o CPF for válido, false caso contrário
+     * @see Cpf#valido(CharSequence)
      */
-    public static boolean validarCpf(String cpf) {
-        if (cpf == null || cpf.isBlank()) {
-            return false;
-        }
-
-        // Remove tudo que não for dígito
-        String digitos = cpf.replaceAll("\\D", "");
-
-        // Verifica se tem 11 dígitos
-        if (digitos.length() != 11) {
-            return false;
-        }
-
-        // Bloqueia CPFs com todos os dígitos iguais (ex: 111.111.111-11)
-        if (digitos.matches("(\\d)\\1{10}")) {
-            return false;
-        }
-
-        try {
-            // Cálculo do 1º dígito verificador
-            int soma = 0;
-            for (int i = 0; i < 9; i++) {
-                soma += (digitos.charAt(i) - '0') * (10 - i);
-            }
-            int primeiroDigito = (soma * 10) % 11;
-            if (primeiroDigito == 10 || primeiroDigito == 11) primeiroDigito = 0;
-
-            if (primeiroDigito != (digitos.charAt(9) - '0')) {
-                return false;
-            }
-
-            // Cálculo do 2º dígito verificador
-            soma = 0;
-            for (int i = 0; i < 10; i++) {
-                soma += (digitos.charAt(i) - '0') * (11 - i);
-            }
-            int segundoDigito = (soma * 10) % 11;
-            if (segundoDigito == 10 || segundoDigito == 11) segundoDigito = 0;
-
-            return segundoDigito == (digitos.charAt(10) - '0');
-
-        } catch (Exception e) {
-            return false; // Qualquer erro inesperado → CPF inválido
+    public static boolean validarCpf(CharSequence cpf) {
+        Metricas metricas = Metricas.atual();
+        long inicio = metricas.iniciar();
+        boolean valido = Cpf.valido(cpf);
+        if (valido) {
+            metricas.sucesso(Metricas.Operacao.VALIDACAO_CPF, inicio);
+        } else {
+            metricas.recusa(Metricas.Operacao.VALIDACAO_CPF, OperacaoRecusadaException.Motivo.CPF_INVALIDO, inicio);
         }
+        return valido;
     }
 
     @Override
@@ -0,0 +1,100 @@
+package com.matheushstrindade.banking.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+/**
+ * Filtro de extrato: período, tipos de transação e paginação por cursor.
+ * Imutável; cada método {@code com...}/{@code aPartirDe} devolve uma nova consulta.
+ *
+ * <pre>
+ * ConsultaExtrato consulta = ConsultaExtrato.ultimosDias(30).comLimite(20);
+ * PaginaExtrato pagina = conta.consultarExtrato(consulta);
+ * while (pagina.temMais()) {
+ *     pagina = conta.consultarExtrato(consulta.aPartirDe(pagina.getProximoCursor()));
+ * }
+ * </pre>
+ */
+public final class ConsultaExtrato {
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 1000;
+    private static final int TODOS_OS_TIPOS = 0;
+
+    private final LocalDateTime desde; // inclusivo; null = desde o início
+    private final LocalDateTime ate;   // exclusivo; null = sem fim
+    private final int tipos;           // bit por Transacao.Tipo.ordinal(); 0 = todos
+    private final int limite;
+    private final long cursor;
+
+    private ConsultaExtrato(LocalDateTime desde, LocalDateTime ate, int tipos, int limite, long cursor) {
+        if (desde != null && ate != null && !desde.isBefore(ate)) {
+            throw new IllegalArgumentException("Período inválido: " + desde + " não é anterior a " + ate);
+        }
+        if (limite <= 0 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO + ": " + limite);
+        }
+        if (cursor < 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        this.desde = desde;
+        this.ate = ate;
+        this.tipos = tipos;
+        this.limite = limite;
+        this.cursor = cursor;
+    }
+
+    // === MÉTODOS FÁBRICA ===
+    public static ConsultaExtrato todas() {
+        return new ConsultaExtrato(null, null, TODOS_OS_TIPOS, LIMITE_PADRAO, 0L);
+    }
+
+    /** Transações com {@code desde <= dataHora < ate}; qualquer extremo pode ser {@code null}. */
+    public static ConsultaExtrato periodo(LocalDateTime desde, LocalDateTime ate) {
+        return new ConsultaExtrato(desde, ate, TODOS_OS_TIPOS, LIMITE_PADRAO, 0L);
+    }
+
+    public static ConsultaExtrato ultimosDias(int dias) {
+        if (dias <= 0) {
+            throw new IllegalArgumentException("Quantidade de dias deve ser maior que zero: " + dias);
+        }
+        return periodo(Relogio.atual().agora().minus(dias, ChronoUnit.DAYS), null);
+    }
+
+    // === REFINAMENTOS ===
+    public ConsultaExtrato somente(Transacao.Tipo... tiposAceitos) {
+        int mascara = 0;
+        for (Transacao.Tipo tipo : tiposAceitos) {
+            mascara |= 1 << Objects.requireNonNull(tipo, "Tipo não pode ser nulo").ordinal();
+        }
+        return new ConsultaExtrato(desde, ate, mascara, limite, cursor);
+    }
+
+    public ConsultaExtrato comLimite(int novoLimite) {
+        return new ConsultaExtrato(desde, ate, tipos, novoLimite, cursor);
+    }
+
+    /** Continua de onde a página anterior parou (ver {@link PaginaExtrato#getProximoCursor()}). */
+    public ConsultaExtrato aPartirDe(Long proximoCursor) {
+        Objects.requireNonNull(proximoCursor, "Cursor não pode ser nulo (não há próxima página)");
+        return new ConsultaExtrato(desde, ate, tipos, limite, proximoCursor);
+    }
+
+    // === GETTERS ===
+    public LocalDateTime getDesde() { return desde; }
+
+    public LocalDateTime getAte() { return ate; }
+
+    public int getLimite() { return limite; }
+
+    public long getCursor() { return cursor; }
+
+    boolean aceita(Transacao.Tipo tipo) {
+        return tipos == TODOS_OS_TIPOS || (tipos & (1 << tipo.ordinal())) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ConsultaExtrato{desde=" + desde + ", ate=" + ate + ", limite=" + limite + ", cursor=" + cursor + "}";
+    }
+}
@@ -2,17 +2,43 @@ package com.matheushstrindade.banking.model;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Conta bancária segura para uso concorrente.
+ * Cada conta tem sua própria trava: operações em contas diferentes não competem entre si,
+ * e a leitura do saldo não precisa de trava (campo volátil).
+ * Internamente o saldo é um {@code long} de centavos (ver {@link Centavos}).
+ * Saques e transferências enviadas passam pelas {@link RegrasConta} da conta (cheque especial, limites).
+ */
 public class Conta {
-    private static long proximoId = 1L;
+    /**
+     * Recebe cada lançamento de {@link Conta#percorrerExtrato(VisitanteExtrato)} como valores primitivos.
+     * {@code valorCentavos} é sinalizado como em {@link Transacao#getValorCentavos()};
+     * {@code contaContraparte} é {@code 0} quando não há (depósitos e saques).
+     */
+    @FunctionalInterface
+    public interface VisitanteExtrato {
+        void visitar(Transacao.Tipo tipo, long valorCentavos, long instanteEpochMillis, long contaContraparte);
+    }
+
+    /** Quantidade de lançamentos no extrato e saldo logo depois do último deles, lidos juntos. */
+    public record Posicao(int lancamentos, long saldoCentavos) {
+    }
+
+    private static final AtomicLong proximoId = new AtomicLong(1L);
     private final Long id;
-    private BigDecimal saldo;
-    private Cliente titular;
-    private final List<Transacao> extrato = new ArrayList<>();
+    private final ReentrantLock trava = new ReentrantLock();
+    private volatile long saldo; // centavos
+    private volatile Cliente titular;
+    private final LivroRazao extrato; // escrita sob trava, leitura livre
+    private final Acumulador acumulador = new Acumulador(); // totais correntes, escrita sob trava
+    private volatile RegrasConta regras = RegrasConta.PADRAO; // escrita sob trava
+    private JanelaDeDebitos janela; // só com limite diário; sob trava
 
     public Conta(Cliente titular, BigDecimal saldoInicial) {
         Objects.requireNonNull(titular, "Titular não pode ser nulo");
@@ -24,18 +50,167 @@ public class Conta {
             );
         }
 
-        this.id = proximoId++;
-        this.saldo = saldoInicial.setScale(2, RoundingMode.HALF_EVEN);
+        this.id = proximoId.getAndIncrement();
+        this.saldo = Centavos.de(saldoInicial);
+        // O saldo inicial é o primeiro lançamento do extrato: saldo = soma do extrato desde a abertura
+        Transacao abertura = Transacao.deCentavos(Transacao.Tipo.ABERTURA, this.saldo, null);
+        this.extrato = new LivroRazao(this.id, 0L);
+        this.extrato.adicionar(abertura);
+        this.acumulador.registrar(Transacao.Tipo.ABERTURA, this.saldo);
+        Diario.atual().contaAberta(this, titular);
+        titular.adicionarConta(this);
+        Registro.atual().registrarConta(this);
+    }
+
+    /**
+     * Reconstrução (ver {@link Restauracao}): mantém o ID original e não registra no diário.
+     * O saldo é o patrimônio de {@code resumo}; o extrato começa vazio, a partir desse saldo.
+     */
+    Conta(Long id, Cliente titular, ResumoFinanceiro resumo) {
+        this(id, titular, resumo, new LivroRazao(id, resumo.getPatrimonioCentavos()));
+    }
+
+    /** Reconstrução com o extrato já remontado (ver {@link Restauracao.ExtratoGravado}); ele deve terminar no saldo. */
+    Conta(Long id, Cliente titular, ResumoFinanceiro resumo, LivroRazao extrato) {
+        this.id = Objects.requireNonNull(id, "ID não pode ser nulo");
+        if (extrato.contaId() != id || extrato.saldo() != resumo.getPatrimonioCentavos()) {
+            throw new IllegalArgumentException("Extrato da conta " + extrato.contaId() + " termina em R$ "
+                    + Centavos.formatar(extrato.saldo()) + "; a conta " + id + " tem R$ "
+                    + Centavos.formatar(resumo.getPatrimonioCentavos()));
+        }
+        avancarProximoId(id + 1);
+        this.saldo = resumo.getPatrimonioCentavos();
+        this.extrato = extrato;
+        this.acumulador.incorporar(resumo);
         titular.adicionarConta(this);
+        Registro.atual().substituirConta(this);
     }
 
     // === GETTERS ===
     public Long getId() { return id; }
-    public BigDecimal getSaldo() { return saldo; }
+    public BigDecimal getSaldo() { return Centavos.paraBigDecimal(saldo); }
+    public long getSaldoCentavos() { return saldo; }
     public Cliente getTitular() { return titular; }
 
+    /**
+     * Retorna o extrato como estava no momento da chamada, sem copiar nada:
+     * cada {@link Transacao} só é criada quando o item é lido.
+     * A lista é imutável e não reflete operações posteriores.
+     */
     public List<Transacao> getExtrato() {
-        return Collections.unmodifiableList(extrato); // Imutável externamente
+        return extrato.visao();
+    }
+
+    /**
+     * Percorre o extrato como estava no momento da chamada, em ordem, sem criar nenhuma {@link Transacao}
+     * (ver {@link VisitanteExtrato}); devolve quantos lançamentos foram visitados.
+     */
+    public int percorrerExtrato(VisitanteExtrato visitante) {
+        Objects.requireNonNull(visitante, "Visitante não pode ser nulo");
+        int quantidade = extrato.tamanho();
+        extrato.percorrer(0, quantidade, visitante);
+        return quantidade;
+    }
+
+    /** Como {@link #percorrerExtrato(VisitanteExtrato)}, só os lançamentos de índice {@code [de, ate)}. */
+    public void percorrerExtrato(int de, int ate, VisitanteExtrato visitante) {
+        Objects.requireNonNull(visitante, "Visitante não pode ser nulo");
+        int quantidade = extrato.tamanho();
+        if (de < 0 || de > ate || ate > quantidade) {
+            throw new IndexOutOfBoundsException("Trecho [" + de + ", " + ate + ") fora do extrato de tamanho " + quantidade);
+        }
+        extrato.percorrer(de, ate, visitante);
+    }
+
+    /** Lançamentos e saldo lidos sob a trava: o saldo é exatamente o resultado desses lançamentos. */
+    public Posicao getPosicao() {
+        trava.lock();
+        try {
+            return new Posicao(extrato.tamanho(), saldo);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Saldo antes do primeiro lançamento do extrato: zero numa conta aberta nesta execução (o saldo inicial
+     * é o lançamento {@code ABERTURA}); numa conta reconstruída de snapshot, o saldo que estava nele.
+     */
+    public long getSaldoAntesDoExtratoCentavos() {
+        return extrato.saldoAbertura();
+    }
+
+    /** Quantidade de transações no extrato, em tempo constante. */
+    public int getQuantidadeTransacoes() {
+        return extrato.tamanho();
+    }
+
+    /** Quantas dessas transações estão só no {@link ArquivoExtrato}, fora da memória. */
+    public int getQuantidadeTransacoesArquivadas() {
+        return extrato.linhasArquivadas();
+    }
+
+    /**
+     * Confere o saldo com o extrato sem ler o arquivo: saldo do último segmento arquivado (checkpoint)
+     * mais os lançamentos ainda em memória. Custa proporcional só à parte em memória.
+     */
+    public boolean saldoConfere() {
+        trava.lock();
+        try {
+            return extrato.confere(saldo);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Totais desta conta (depositado, sacado, quantidade por tipo, saldo) em tempo constante,
+     * mantidos a cada lançamento em vez de percorrer o extrato.
+     */
+    public ResumoFinanceiro getResumo() {
+        return acumulador.resumo();
+    }
+
+    /**
+     * Consulta paginada do extrato por período e tipo; o custo acompanha o tamanho do resultado,
+     * não o histórico da conta.
+     */
+    public PaginaExtrato consultarExtrato(ConsultaExtrato consulta) {
+        return extrato.consultar(Objects.requireNonNull(consulta, "Consulta não pode ser nula"));
+    }
+
+    public RegrasConta getRegras() {
+        return regras;
+    }
+
+    /**
+     * Troca as regras de débito da conta (registradas no diário). Ao ligar o limite diário, os débitos das
+     * últimas horas já no extrato entram na conta do limite: a troca não zera o que já foi sacado hoje.
+     */
+    public void definirRegras(RegrasConta novasRegras) {
+        Objects.requireNonNull(novasRegras, "Regras não podem ser nulas");
+        trava.lock();
+        try {
+            Diario.atual().regrasDefinidas(this, novasRegras);
+            aplicarRegras(novasRegras);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Avalia um débito de {@code centavos} sem executá-lo e sem lançar exceção: o motivo da recusa, ou vazio se
+     * as regras e o saldo de agora o permitem. Sem alocação quando permitido.
+     */
+    public Optional<OperacaoRecusadaException.Motivo> avaliarDebito(long centavos) {
+        validarCentavosPositivo(centavos, "débito");
+        trava.lock();
+        try {
+            RegrasConta atuais = regras;
+            return Optional.ofNullable(atuais.avaliar(centavos, saldo, debitadoNaJanela(atuais, 0L)));
+        } finally {
+            trava.unlock();
+        }
     }
 
     void setTitular(Cliente titular) {
@@ -43,37 +218,248 @@ public class Conta {
     }
 
     // === OPERAÇÕES PÚBLICAS (ÚNICAS formas de mexer no saldo) ===
-    public void depositar(BigDecimal valor) {
-        validarValorPositivo(valor, "depósito");
-        Transacao transacao = Transacao.deposito(valor);
-        this.saldo = this.saldo.add(transacao.getValor());
-        this.extrato.add(transacao);
+    // Cada uma passa pelas métricas instaladas (ver Metricas): sucesso, recusa por motivo ou falha
+    /**
+     * @return saldo em centavos logo após este depósito, lido sob a trava (outras operações na conta
+     *         podem já tê-lo mudado quando o método retorna)
+     */
+    public long depositar(BigDecimal valor) {
+        Metricas metricas = Metricas.atual();
+        long inicio = metricas.iniciar();
+        long saldoApos;
+        try {
+            validarValorPositivo(valor, "depósito");
+            saldoApos = executarDeposito(Centavos.de(valor));
+        } catch (RuntimeException e) {
+            metricas.erro(Metricas.Operacao.DEPOSITO, e, inicio);
+            throw e;
+        }
+        metricas.sucesso(Metricas.Operacao.DEPOSITO, inicio);
+        return saldoApos;
     }
 
-    public void sacar(BigDecimal valor) {
-        validarValorPositivo(valor, "saque");
-        if (valor.compareTo(this.saldo) > 0) {
-            throw new IllegalArgumentException(
-                    "Saldo insuficiente. Saldo atual: R$ " + formatarMoeda(this.saldo) +
-                            " | Tentativa de saque: R$ " + formatarMoeda(valor)
-            );
+    /** @return saldo em centavos logo após este saque, lido sob a trava */
+    public long sacar(BigDecimal valor) {
+        Metricas metricas = Metricas.atual();
+        long inicio = metricas.iniciar();
+        long saldoApos;
+        try {
+            validarValorPositivo(valor, "saque");
+            saldoApos = executarSaque(Centavos.de(valor));
+        } catch (RuntimeException e) {
+            metricas.erro(Metricas.Operacao.SAQUE, e, inicio);
+            throw e;
+        }
+        metricas.sucesso(Metricas.Operacao.SAQUE, inicio);
+        return saldoApos;
+    }
+
+    /** Depósito sem {@link BigDecimal}: {@code centavos} já em centavos (R$ 12,34 → 1234); devolve o saldo logo após. */
+    public long depositarCentavos(long centavos) {
+        Metricas metricas = Metricas.atual();
+        long inicio = metricas.iniciar();
+        long saldoApos;
+        try {
+            saldoApos = executarDeposito(centavos);
+        } catch (RuntimeException e) {
+            metricas.erro(Metricas.Operacao.DEPOSITO, e, inicio);
+            throw e;
         }
-        Transacao transacao = Transacao.saque(valor);
-        this.saldo = this.saldo.add(transacao.getValor()); // valor já é negativo!
-        this.extrato.add(transacao);
+        metricas.sucesso(Metricas.Operacao.DEPOSITO, inicio);
+        return saldoApos;
+    }
+
+    /** Saque sem {@link BigDecimal}: {@code centavos} já em centavos (R$ 12,34 → 1234); devolve o saldo logo após. */
+    public long sacarCentavos(long centavos) {
+        Metricas metricas = Metricas.atual();
+        long inicio = metricas.iniciar();
+        long saldoApos;
+        try {
+            saldoApos = executarSaque(centavos);
+        } catch (RuntimeException e) {
+            metricas.erro(Metricas.Operacao.SAQUE, e, inicio);
+            throw e;
+        }
+        metricas.sucesso(Metricas.Operacao.SAQUE, inicio);
+        return saldoApos;
+    }
+
+    /**
+     * Depósito com chave de idempotência: repetir a mesma {@code chave} (ex: o cliente não recebeu a resposta
+     * e tentou de novo) não deposita outra vez e devolve o resultado original (ver {@link Idempotencia}).
+     *
+     * @return saldo em centavos logo após o depósito original
+     */
+    public long depositar(String chave, BigDecimal valor) {
+        Metricas metricas = Metricas.atual();
+        long inicio = metricas.iniciar();
+        long saldoApos;
+        try {
+            validarValorPositivo(valor, "depósito");
+            long centavos = Centavos.de(valor);
+            saldoApos = Idempotencia.atual().executar(chave, id, Metricas.Operacao.DEPOSITO, centavos,
+                    () -> executarDeposito(centavos));
+        } catch (RuntimeException e) {
+            metricas.erro(Metricas.Operacao.DEPOSITO, e, inicio);
+            throw e;
+        }
+        metricas.sucesso(Metricas.Operacao.DEPOSITO, inicio);
+        return saldoApos;
+    }
+
+    /**
+     * Saque com chave de idempotência: repetir a mesma {@code chave} não saca outra vez e devolve o resultado
+     * original, inclusive a mesma recusa por saldo insuficiente (ver {@link Idempotencia}).
+     *
+     * @return saldo em centavos logo após o saque original
+     */
+    public long sacar(String chave, BigDecimal valor) {
+        Metricas metricas = Metricas.atual();
+        long inicio = metricas.iniciar();
+        long saldoApos;
+        try {
+            validarValorPositivo(valor, "saque");
+            long centavos = Centavos.de(valor);
+            saldoApos = Idempotencia.atual().executar(chave, id, Metricas.Operacao.SAQUE, centavos,
+                    () -> executarSaque(centavos));
+        } catch (RuntimeException e) {
+            metricas.erro(Metricas.Operacao.SAQUE, e, inicio);
+            throw e;
+        }
+        metricas.sucesso(Metricas.Operacao.SAQUE, inicio);
+        return saldoApos;
+    }
+
+    /** Devolve o saldo logo após o depósito. */
+    private long executarDeposito(long centavos) {
+        validarCentavosPositivo(centavos, "depósito");
+        trava.lock();
+        try {
+            Centavos.somar(this.saldo, centavos); // rejeita estouro antes de registrar no diário
+            Transacao transacao = Transacao.deCentavos(Transacao.Tipo.DEPOSITO, centavos, null);
+            Diario.atual().registrar(this, transacao);
+            aplicar(transacao);
+            return this.saldo;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /** Devolve o saldo logo após o saque. */
+    private long executarSaque(long centavos) {
+        validarCentavosPositivo(centavos, "saque");
+        trava.lock();
+        try {
+            // Verificação e débito sob a mesma trava: dois saques concorrentes nunca passam do que as regras permitem
+            validarDebito(centavos, this.saldo, 0L);
+            Transacao transacao = Transacao.deCentavos(Transacao.Tipo.SAQUE, -centavos, null); // valor negativo!
+            Diario.atual().registrar(this, transacao);
+            aplicar(transacao);
+            return this.saldo;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Transfere {@code valor} desta conta para {@code destino} de forma atômica.
+     *
+     * @see Transferencias#transferir(Conta, Conta, BigDecimal)
+     */
+    public void transferir(Conta destino, BigDecimal valor) {
+        Transferencias.transferir(this, destino, valor);
+    }
+
+    // === USO INTERNO DO PACOTE (chamador deve segurar a trava) ===
+    ReentrantLock getTrava() { return trava; }
+
+    static long getProximoId() { return proximoId.get(); }
+
+    static void avancarProximoId(long minimo) { proximoId.accumulateAndGet(minimo, Math::max); }
+
+    void aplicar(Transacao transacao) {
+        this.saldo = Centavos.somar(this.saldo, transacao.getValorCentavos());
+        if (janela != null && transacao.getValorCentavos() < 0) {
+            janela.registrar(transacao.getInstanteEpochMillis(), -transacao.getValorCentavos());
+        }
+        this.extrato.adicionar(transacao);
+        this.acumulador.registrar(transacao.getTipo(), transacao.getValorCentavos());
+        this.titular.getAcumulador().registrar(transacao.getTipo(), transacao.getValorCentavos());
+    }
+
+    /**
+     * Aplica as regras a um débito de {@code centavos} sobre {@code saldoProjetado}; {@code debitadoNoLote} são
+     * débitos desta conta no mesmo lote, ainda não aplicados. Só compara {@code long}s; a exceção (e a mensagem)
+     * só é montada na recusa.
+     */
+    void validarDebito(long centavos, long saldoProjetado, long debitadoNoLote) {
+        RegrasConta atuais = regras;
+        long debitado = debitadoNaJanela(atuais, debitadoNoLote);
+        OperacaoRecusadaException.Motivo motivo = atuais.avaliar(centavos, saldoProjetado, debitado);
+        if (motivo != null) {
+            throw atuais.recusa(motivo, centavos, saldoProjetado, debitado);
+        }
+    }
+
+    /** Extrato como está agora, para o snapshot; sob trava. */
+    LivroRazao.Captura capturarExtrato() {
+        return extrato.capturar();
+    }
+
+    /** Estado da janela do limite diário, para o snapshot ({@code null} se nunca houve limite diário); sob trava. */
+    long[] estadoDaJanela() {
+        return janela == null ? null : janela.exportar();
+    }
+
+    /** Reconstrução: regras e, se gravada, a janela; sem ela, a janela é recontada pelo extrato. Sob trava. */
+    void restaurarRegras(RegrasConta gravadas, long[] estadoDaJanela) {
+        if (estadoDaJanela != null) {
+            janela = JanelaDeDebitos.importar(estadoDaJanela);
+        }
+        aplicarRegras(gravadas);
+    }
+
+    /** Regras sem registrar no diário (definição e reconstrução); chamador segura a trava. */
+    void aplicarRegras(RegrasConta novasRegras) {
+        if (novasRegras.temLimiteDiario() && janela == null) {
+            JanelaDeDebitos nova = new JanelaDeDebitos();
+            int total = extrato.tamanho();
+            int de = extrato.primeiraLinhaEmOuApos(Relogio.atual().agoraEpochMillis() - JanelaDeDebitos.DURACAO_MILLIS);
+            extrato.percorrer(de, total, (tipo, valorCentavos, instante, contraparte) -> {
+                if (valorCentavos < 0) {
+                    nova.registrar(instante, -valorCentavos);
+                }
+            });
+            janela = nova;
+        }
+        regras = novasRegras;
+    }
+
+    private long debitadoNaJanela(RegrasConta atuais, long debitadoNoLote) {
+        return atuais.temLimiteDiario() ? janela.total(Relogio.atual().agoraEpochMillis()) + debitadoNoLote : 0L;
     }
 
     // === MÉTODOS AUXILIARES ===
-    private void validarValorPositivo(BigDecimal valor, String operacao) {
-        Objects.requireNonNull(valor, "Valor do " + operacao + " não pode ser nulo");
-        if (valor.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException(
+    static void validarValorPositivo(BigDecimal valor, String operacao) {
+        if (valor == null) { // sem Objects.requireNonNull: a mensagem seria montada a cada chamada
+            throw new NullPointerException("Valor do " + operacao + " não pode ser nulo");
+        }
+        if (valor.signum() <= 0) {
+            throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.VALOR_INVALIDO,
                     "Valor do " + operacao + " deve ser maior que zero: R$ " + formatarMoeda(valor)
             );
         }
     }
 
-    private String formatarMoeda(BigDecimal valor) {
+    static void validarCentavosPositivo(long centavos, String operacao) {
+        if (centavos <= 0) {
+            throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.VALOR_INVALIDO,
+                    "Valor do " + operacao + " deve ser maior que zero: R$ " + Centavos.formatar(centavos)
+            );
+        }
+    }
+
+    private static String formatarMoeda(BigDecimal valor) { // só em mensagens de erro
         return valor.setScale(2, RoundingMode.HALF_EVEN)
                 .toPlainString()
                 .replace('.', ',');
@@ -82,6 +468,6 @@ public class Conta {
     @Override
     public String toString() {
         return String.format("Conta{id=%d, saldo=R$ %s, transações=%d}",
-                id, formatarMoeda(saldo), extrato.size());
+                id, Centavos.formatar(saldo), extrato.tamanho());
     }
 }
\ No newline at end of file
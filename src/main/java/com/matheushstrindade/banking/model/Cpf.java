@@ -0,0 +1,270 @@
+package com.matheushstrindade.banking.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Validação de CPF sem expressões regulares e sem alocação.
+ *
+ * {@link #valido(CharSequence)} percorre o texto uma única vez: ignora o que não for dígito
+ * (pontos, traços, espaços), acumula as duas somas dos dígitos verificadores e confere tudo
+ * no final, sem criar a string "limpa". Os modos em lote validam listas ou arquivos inteiros
+ * (um CPF por linha) em paralelo e devolvem só os inválidos.
+ */
+public final class Cpf {
+    /** Resultado de {@link #digitos(CharSequence)} quando não há exatamente 11 dígitos. */
+    public static final long SEM_DIGITOS = -1L;
+
+    /** CPF rejeitado no lote; {@code linha} começa em 1 (posição na lista ou linha do arquivo). */
+    public record Invalido(long linha, String valor) {
+    }
+
+    public record Relatorio(long total, List<Invalido> invalidos) {
+        public long validos() {
+            return total - invalidos.size();
+        }
+    }
+
+    private Cpf() {
+    }
+
+    // === VALIDAÇÃO ===
+
+    /**
+     * Valida um CPF seguindo o algoritmo oficial da Receita Federal, com ou sem formatação.
+     *
+     * @param cpf CPF a ser validado (ex: "529.982.247-25" ou "52998224725")
+     * @return true se o CPF for válido, false caso contrário (inclusive {@code null})
+     */
+    public static boolean valido(CharSequence cpf) {
+        if (cpf == null) {
+            return false;
+        }
+        int quantidade = 0;
+        int soma1 = 0;
+        int soma2 = 0;
+        int primeiro = -1;
+        boolean todosIguais = true;
+        int dv1 = 0;
+        int dv2 = 0;
+        for (int i = 0, n = cpf.length(); i < n; i++) {
+            int d = cpf.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                continue;
+            }
+            if (quantidade < 9) {
+                soma1 += d * (10 - quantidade);
+                soma2 += d * (11 - quantidade);
+            } else if (quantidade == 9) {
+                dv1 = d;
+                soma2 += d * 2;
+            } else if (quantidade == 10) {
+                dv2 = d;
+            } else {
+                return false; // mais de 11 dígitos
+            }
+            if (primeiro < 0) {
+                primeiro = d;
+            } else if (d != primeiro) {
+                todosIguais = false;
+            }
+            quantidade++;
+        }
+        // Bloqueia CPFs com todos os dígitos iguais (ex: 111.111.111-11)
+        if (quantidade != 11 || todosIguais) {
+            return false;
+        }
+        return digitoVerificador(soma1) == dv1 && digitoVerificador(soma2) == dv2;
+    }
+
+    /** Os 11 dígitos como número (ignora pontuação), ou {@link #SEM_DIGITOS}. Não confere os verificadores. */
+    public static long digitos(CharSequence cpf) {
+        if (cpf == null) {
+            return SEM_DIGITOS;
+        }
+        long numero = 0;
+        int quantidade = 0;
+        for (int i = 0, n = cpf.length(); i < n; i++) {
+            int d = cpf.charAt(i) - '0';
+            if (d >= 0 && d <= 9) {
+                if (++quantidade > 11) {
+                    return SEM_DIGITOS;
+                }
+                numero = numero * 10 + d;
+            }
+        }
+        return quantidade == 11 ? numero : SEM_DIGITOS;
+    }
+
+    // === GERAÇÃO ===
+
+    /**
+     * CPF válido e formatado (ex: 529.982.247-25) cujos 9 primeiros dígitos são {@code base}
+     * (de 0 a 999.999.999); gera massa de teste e carga distintas sem colisão.
+     *
+     * @throws IllegalArgumentException se {@code base} estiver fora do intervalo ou tiver todos os dígitos iguais
+     */
+    public static String gerar(long base) {
+        if (base < 0 || base > 999_999_999L || base % 111_111_111L == 0) {
+            throw new IllegalArgumentException("Base de CPF inválida: " + base);
+        }
+        char[] cpf = {'0', '0', '0', '.', '0', '0', '0', '.', '0', '0', '0', '-', '0', '0'};
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int k = 8, pos = 10; k >= 0; k--, pos--) {
+            if (pos == 3 || pos == 7) {
+                pos--;
+            }
+            int d = (int) (base % 10);
+            base /= 10;
+            cpf[pos] = (char) ('0' + d);
+            soma1 += d * (10 - k);
+            soma2 += d * (11 - k);
+        }
+        int dv1 = digitoVerificador(soma1);
+        int dv2 = digitoVerificador(soma2 + dv1 * 2);
+        cpf[12] = (char) ('0' + dv1);
+        cpf[13] = (char) ('0' + dv2);
+        return new String(cpf);
+    }
+
+    // === VALIDAÇÃO EM LOTE ===
+
+    /** Valida todos os CPFs da lista em paralelo; os inválidos vêm na ordem da lista. */
+    public static Relatorio validarTodos(List<? extends CharSequence> cpfs) {
+        List<Invalido> invalidos = IntStream.range(0, cpfs.size())
+                .parallel()
+                .filter(i -> !valido(cpfs.get(i)))
+                .mapToObj(i -> new Invalido(i + 1L, String.valueOf(cpfs.get(i))))
+                .toList();
+        return new Relatorio(cpfs.size(), invalidos);
+    }
+
+    /**
+     * Valida um arquivo com um CPF por linha (ASCII/UTF-8, linhas em branco ignoradas).
+     * O arquivo é mapeado em memória e dividido em blocos ({@link BlocoDeLinhas}) validados em
+     * paralelo; nenhuma {@code String} é criada para as linhas válidas. Linha longa demais para a
+     * margem do bloco conta como inválida.
+     */
+    public static Relatorio validarArquivo(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            int paralelismo = Runtime.getRuntime().availableProcessors();
+            long porBloco = BlocoDeLinhas.bytesPorBloco(tamanho, paralelismo);
+            int blocos = (int) ((tamanho + porBloco - 1) / porBloco);
+
+            Bloco[] resultados = new Bloco[blocos];
+            try {
+                IntStream.range(0, blocos).parallel().forEach(b -> {
+                    try {
+                        resultados[b] = validarBloco(canal, tamanho, b * porBloco, Math.min(tamanho, (b + 1) * porBloco));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            // Números de linha locais → globais
+            long total = 0;
+            long linhasAntes = 0;
+            List<Invalido> invalidos = new ArrayList<>();
+            for (Bloco bloco : resultados) {
+                for (Invalido invalido : bloco.invalidos) {
+                    invalidos.add(new Invalido(linhasAntes + invalido.linha(), invalido.valor()));
+                }
+                total += bloco.cpfs;
+                linhasAntes += bloco.linhas;
+            }
+            invalidos.sort(Comparator.comparingLong(Invalido::linha));
+            return new Relatorio(total, invalidos);
+        }
+    }
+
+    // === MÉTODOS AUXILIARES ===
+    private static int digitoVerificador(int soma) {
+        int resto = (soma * 10) % 11;
+        return resto == 10 ? 0 : resto;
+    }
+
+    private static final class Bloco {
+        long linhas;
+        long cpfs;
+        final List<Invalido> invalidos = new ArrayList<>();
+    }
+
+    /** Processa as linhas que começam em {@code [inicio, fim)}; a última pode terminar depois de {@code fim}. */
+    private static Bloco validarBloco(FileChannel canal, long tamanhoArquivo, long inicio, long fim) throws IOException {
+        BlocoDeLinhas linhas = BlocoDeLinhas.mapear(canal, tamanhoArquivo, inicio, fim);
+        TrechoAscii trecho = new TrechoAscii(linhas.mapa());
+        Bloco bloco = new Bloco();
+        while (linhas.proxima()) {
+            bloco.linhas = linhas.numero();
+            trecho.posicionar(linhas.inicioLinha(), linhas.fimLinha());
+            if (!trecho.emBranco()) {
+                bloco.cpfs++;
+                if (linhas.truncada() || !valido(trecho)) {
+                    bloco.invalidos.add(new Invalido(bloco.linhas, trecho.toString()));
+                }
+            }
+        }
+        return bloco;
+    }
+
+    /** Visão reutilizável de um trecho ASCII do arquivo mapeado como {@link CharSequence}. */
+    private static final class TrechoAscii implements CharSequence {
+        private final MappedByteBuffer mapa;
+        private int inicio;
+        private int fim;
+
+        TrechoAscii(MappedByteBuffer mapa) {
+            this.mapa = mapa;
+        }
+
+        void posicionar(int inicio, int fim) {
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        boolean emBranco() {
+            for (int i = inicio; i < fim; i++) {
+                if (mapa.get(i) > ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int length() {
+            return fim - inicio;
+        }
+
+        @Override
+        public char charAt(int indice) {
+            return (char) (mapa.get(inicio + indice) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int de, int ate) {
+            return toString().substring(de, ate);
+        }
+
+        @Override
+        public String toString() {
+            byte[] bytes = new byte[fim - inicio];
+            mapa.get(inicio, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.matheushstrindade.banking.model;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Diário (write-ahead log) por onde passa toda mudança de estado do modelo.
+ *
+ * {@link Cliente} e {@link Conta} chamam o diário instalado ANTES de alterar qualquer saldo;
+ * quando o método retorna, o registro já está durável. Se o diário falhar, a operação é abortada
+ * e o saldo não muda. Por padrão nada é registrado ({@link #NENHUM}).
+ */
+public interface Diario {
+
+    /** Uma transação aplicada a uma conta. */
+    record Lancamento(Conta conta, Transacao transacao) {
+    }
+
+    Diario NENHUM = new Diario() {
+        @Override
+        public void clienteCriado(Cliente cliente) {
+        }
+
+        @Override
+        public void contaAberta(Conta conta, Cliente titular) {
+        }
+
+        @Override
+        public void registrar(List<Lancamento> lancamentos) {
+        }
+
+        @Override
+        public void regrasDefinidas(Conta conta, RegrasConta regras) {
+        }
+    };
+
+    void clienteCriado(Cliente cliente);
+
+    /** Chamado com o saldo inicial já definido e antes de a conta ser ligada ao titular. */
+    void contaAberta(Conta conta, Cliente titular);
+
+    /** Registra os lançamentos de forma atômica: na recuperação, ou todos voltam, ou nenhum. */
+    void registrar(List<Lancamento> lancamentos);
+
+    default void registrar(Conta conta, Transacao transacao) {
+        registrar(List.of(new Lancamento(conta, transacao)));
+    }
+
+    /** Chamado sob a trava da conta, antes de as novas regras valerem. */
+    void regrasDefinidas(Conta conta, RegrasConta regras);
+
+    /**
+     * Chamado por {@link #instalar(Diario)} antes de o diário passar a valer, com a {@link Restauracao}
+     * que recria clientes e contas sem passar por aqui; o diário pode guardá-la. Uma falha (ex:
+     * {@link java.io.UncheckedIOException}) impede a instalação. Pode ser chamado de novo se o mesmo
+     * diário for reinstalado. O padrão não recupera nada.
+     */
+    default void recuperar(Restauracao restauracao) {
+    }
+
+    // === DIÁRIO ATIVO ===
+    static void instalar(Diario diario) {
+        Objects.requireNonNull(diario, "Diário não pode ser nulo");
+        diario.recuperar(new Restauracao());
+        DiarioAtivo.atual = diario;
+    }
+
+    static Diario atual() {
+        return DiarioAtivo.atual;
+    }
+}
+
+final class DiarioAtivo {
+    static volatile Diario atual = Diario.NENHUM;
+
+    private DiarioAtivo() {
+    }
+}
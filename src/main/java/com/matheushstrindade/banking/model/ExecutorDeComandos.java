@@ -0,0 +1,354 @@
+package com.matheushstrindade.banking.model;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa depósitos, saques e aberturas de conta como comandos, em fatias com um único escritor cada.
+ *
+ * Cada conta pertence a uma fatia (pelo ID). A fatia tem uma fila limitada e uma thread que a
+ * esvazia em lotes de até {@value #MAXIMO_POR_LOTE} comandos. Cada lote trava cada conta envolvida
+ * uma vez só, em ordem de ID como em {@link Transferencias}; numa conta disputada isso troca N
+ * disputas de trava por uma. O lote inteiro vira um único registro no {@link Diario}, ou seja, um
+ * único {@code force} com o diário em arquivo, em vez de um por operação.
+ *
+ * A trava de cada conta continua sendo usada, e sem disputa dentro da fatia, para que chamadas
+ * diretas a {@link Conta#depositar(BigDecimal)}, transferências e snapshots continuem corretos em
+ * paralelo. Os resultados chegam por {@link CompletableFuture}; as falhas trazem as mesmas exceções
+ * e mensagens de {@link Conta#depositar(BigDecimal)} e {@link Conta#sacar(BigDecimal)}. Callbacks
+ * não assíncronos encadeados no futuro rodam na thread da fatia: mantenha-os curtos. Depósitos e saques
+ * contam nas {@link Metricas} como as chamadas diretas, com o tempo desde o pedido (fila incluída).
+ */
+public final class ExecutorDeComandos implements AutoCloseable {
+    static final int MAXIMO_POR_LOTE = 256;
+
+    private enum Operacao {
+        DEPOSITO(Metricas.Operacao.DEPOSITO),
+        SAQUE(Metricas.Operacao.SAQUE),
+        ABERTURA(null);
+
+        /** Como a operação aparece nas {@link Metricas}; {@code null} = não medida. */
+        final Metricas.Operacao medida;
+
+        Operacao(Metricas.Operacao medida) {
+            this.medida = medida;
+        }
+    }
+
+    /**
+     * Um comando na fila; {@code centavos} já validado na chamada. {@code metricas} e {@code inicio} são os
+     * de quando o comando foi pedido, então o tempo medido inclui a espera na fila.
+     */
+    private record Comando(Operacao operacao, Conta conta, long centavos, Cliente titular, BigDecimal saldoInicial,
+                           CompletableFuture<Object> resultado, Metricas metricas, long inicio) {
+
+        void concluir(Object valor) {
+            resultado.complete(valor);
+            if (operacao.medida != null) {
+                metricas.sucesso(operacao.medida, inicio);
+            }
+        }
+
+        void falhar(Throwable erro) {
+            resultado.completeExceptionally(erro);
+            if (operacao.medida != null) {
+                metricas.erro(operacao.medida, erro, inicio);
+            }
+        }
+    }
+
+    private final Fatia[] fatias;
+    private final AtomicInteger proximaFatiaDeAbertura = new AtomicInteger();
+    private volatile boolean aberto = true;
+
+    /**
+     * @param quantidadeFatias threads escritoras (ex: número de núcleos)
+     * @param capacidadeFila   comandos pendentes por fatia; quem chama espera se a fila encher
+     */
+    public ExecutorDeComandos(int quantidadeFatias, int capacidadeFila) {
+        if (quantidadeFatias <= 0 || capacidadeFila <= 0) {
+            throw new IllegalArgumentException("Fatias e capacidade da fila devem ser maiores que zero: "
+                    + quantidadeFatias + ", " + capacidadeFila);
+        }
+        this.fatias = new Fatia[quantidadeFatias];
+        for (int i = 0; i < quantidadeFatias; i++) {
+            fatias[i] = new Fatia(i, capacidadeFila);
+            fatias[i].thread.start();
+        }
+    }
+
+    // === COMANDOS ===
+
+    /** Deposita e devolve o saldo logo após este depósito. */
+    public CompletableFuture<BigDecimal> depositar(Conta conta, BigDecimal valor) {
+        return movimentar(Operacao.DEPOSITO, conta, valor, "depósito");
+    }
+
+    /** Saca e devolve o saldo logo após este saque. */
+    public CompletableFuture<BigDecimal> sacar(Conta conta, BigDecimal valor) {
+        return movimentar(Operacao.SAQUE, conta, valor, "saque");
+    }
+
+    /** Como {@link #depositar(Conta, BigDecimal)}, com o valor já em centavos (ver {@link Conta#depositarCentavos(long)}). */
+    public CompletableFuture<BigDecimal> depositarCentavos(Conta conta, long centavos) {
+        return movimentar(Operacao.DEPOSITO, conta, centavos, "depósito");
+    }
+
+    /** Como {@link #sacar(Conta, BigDecimal)}, com o valor já em centavos (ver {@link Conta#sacarCentavos(long)}). */
+    public CompletableFuture<BigDecimal> sacarCentavos(Conta conta, long centavos) {
+        return movimentar(Operacao.SAQUE, conta, centavos, "saque");
+    }
+
+    public CompletableFuture<BigDecimal> depositar(long contaId, BigDecimal valor) {
+        return comConta(contaId).thenCompose(conta -> depositar(conta, valor));
+    }
+
+    public CompletableFuture<BigDecimal> sacar(long contaId, BigDecimal valor) {
+        return comConta(contaId).thenCompose(conta -> sacar(conta, valor));
+    }
+
+    /**
+     * Abre a conta na próxima fatia, em rodízio. A abertura não tem afinidade de fatia: o ID só é
+     * sorteado quando a conta é criada, e a criação não depende de nenhuma outra conta. Depois de
+     * aberta, os movimentos da conta vão para a fatia do seu ID, como os de qualquer outra.
+     */
+    public CompletableFuture<Conta> abrirConta(Cliente titular, BigDecimal saldoInicial) {
+        CompletableFuture<Object> resultado = new CompletableFuture<>();
+        Fatia fatia = fatias[Math.floorMod(proximaFatiaDeAbertura.getAndIncrement(), fatias.length)];
+        enfileirar(fatia, new Comando(Operacao.ABERTURA, null, 0L, titular, saldoInicial, resultado, Metricas.NENHUMA, 0L));
+        return resultado.thenApply(Conta.class::cast);
+    }
+
+    /** Para de aceitar comandos; os que ainda estiverem na fila falham com {@link IllegalStateException}. */
+    @Override
+    public void close() {
+        aberto = false;
+        for (Fatia fatia : fatias) {
+            fatia.thread.interrupt();
+        }
+        boolean interrompido = false;
+        for (Fatia fatia : fatias) {
+            while (fatia.thread.isAlive()) {
+                try {
+                    fatia.thread.join();
+                } catch (InterruptedException e) {
+                    interrompido = true;
+                }
+            }
+            fatia.rejeitarPendentes();
+        }
+        if (interrompido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // === ENFILEIRAMENTO ===
+    private CompletableFuture<BigDecimal> movimentar(Operacao operacao, Conta conta, BigDecimal valor, String nome) {
+        Metricas metricas = Metricas.atual();
+        long inicio = metricas.iniciar();
+        long centavos;
+        try {
+            Conta.validarValorPositivo(valor, nome);
+            centavos = Centavos.de(valor);
+        } catch (RuntimeException e) {
+            metricas.erro(operacao.medida, e, inicio);
+            return CompletableFuture.failedFuture(e);
+        }
+        return movimentar(operacao, conta, centavos, nome, metricas, inicio);
+    }
+
+    private CompletableFuture<BigDecimal> movimentar(Operacao operacao, Conta conta, long centavos, String nome) {
+        Metricas metricas = Metricas.atual();
+        return movimentar(operacao, conta, centavos, nome, metricas, metricas.iniciar());
+    }
+
+    private CompletableFuture<BigDecimal> movimentar(Operacao operacao, Conta conta, long centavos, String nome,
+                                                     Metricas metricas, long inicio) {
+        Comando comando = new Comando(operacao, conta, centavos, null, null, new CompletableFuture<>(), metricas, inicio);
+        try {
+            Objects.requireNonNull(conta, "Conta não pode ser nula");
+            Conta.validarCentavosPositivo(centavos, nome);
+        } catch (RuntimeException e) {
+            comando.falhar(e);
+            return comando.resultado().thenApply(BigDecimal.class::cast);
+        }
+        Fatia fatia = fatias[(int) Math.floorMod(conta.getId(), (long) fatias.length)];
+        enfileirar(fatia, comando);
+        return comando.resultado().thenApply(BigDecimal.class::cast);
+    }
+
+    private void enfileirar(Fatia fatia, Comando comando) {
+        if (!aberto) {
+            comando.falhar(encerrado());
+            return;
+        }
+        try {
+            fatia.fila.put(comando);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            comando.falhar(e);
+            return;
+        }
+        if (!aberto && fatia.fila.remove(comando)) { // fechou enquanto enfileirava
+            comando.falhar(encerrado());
+        }
+    }
+
+    private static CompletableFuture<Conta> comConta(long contaId) {
+        return Registro.atual().buscarConta(contaId)
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> CompletableFuture.failedFuture(
+                        new IllegalArgumentException("Conta não encontrada: " + contaId)));
+    }
+
+    private static IllegalStateException encerrado() {
+        return new IllegalStateException("Executor de comandos encerrado");
+    }
+
+    // === FATIA (um escritor) ===
+    private final class Fatia {
+        final BlockingQueue<Comando> fila;
+        final Thread thread;
+        private final List<Comando> lote = new ArrayList<>(MAXIMO_POR_LOTE);
+
+        Fatia(int indice, int capacidade) {
+            this.fila = new ArrayBlockingQueue<>(capacidade);
+            this.thread = new Thread(this::executar, "comandos-" + indice);
+            this.thread.setDaemon(true);
+        }
+
+        private void executar() {
+            while (aberto) {
+                try {
+                    lote.add(fila.take());
+                } catch (InterruptedException e) {
+                    break;
+                }
+                fila.drainTo(lote, MAXIMO_POR_LOTE - 1);
+                try {
+                    processar(lote);
+                } catch (RuntimeException | Error e) { // não deixa a fatia morrer com o lote pendurado
+                    for (Comando comando : lote) {
+                        if (!comando.resultado().isDone()) {
+                            comando.falhar(e);
+                        }
+                    }
+                }
+                lote.clear();
+            }
+        }
+
+        void rejeitarPendentes() {
+            Comando comando;
+            while ((comando = fila.poll()) != null) {
+                comando.falhar(encerrado());
+            }
+        }
+    }
+
+    // === PROCESSAMENTO DE UM LOTE ===
+    private static void processar(List<Comando> lote) {
+        List<Comando> movimentos = new ArrayList<>(lote.size());
+        for (Comando comando : lote) {
+            if (comando.operacao() == Operacao.ABERTURA) {
+                abrir(comando);
+            } else {
+                movimentos.add(comando);
+            }
+        }
+        if (movimentos.isEmpty()) {
+            return;
+        }
+
+        int quantidade = movimentos.size();
+        long[] saldoApos = new long[quantidade];
+        RuntimeException[] falhas = new RuntimeException[quantidade];
+        List<Conta> contas = contasEmOrdemGlobal(movimentos);
+        int travadas = 0;
+        try {
+            for (Conta conta : contas) {
+                conta.getTrava().lock();
+                travadas++;
+            }
+            // Avalia em ordem de chegada sobre {saldo projetado, débitos do lote} de cada conta
+            Map<Conta, long[]> projetado = new IdentityHashMap<>();
+            List<Diario.Lancamento> lancamentos = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                Comando comando = movimentos.get(i);
+                long[] saldo = projetado.computeIfAbsent(comando.conta(), c -> new long[]{c.getSaldoCentavos(), 0L});
+                try {
+                    Transacao transacao;
+                    if (comando.operacao() == Operacao.DEPOSITO) {
+                        saldoApos[i] = Centavos.somar(saldo[0], comando.centavos());
+                        transacao = Transacao.deCentavos(Transacao.Tipo.DEPOSITO, comando.centavos(), null);
+                    } else {
+                        comando.conta().validarDebito(comando.centavos(), saldo[0], saldo[1]);
+                        saldoApos[i] = saldo[0] - comando.centavos();
+                        saldo[1] += comando.centavos();
+                        transacao = Transacao.deCentavos(Transacao.Tipo.SAQUE, -comando.centavos(), null);
+                    }
+                    lancamentos.add(new Diario.Lancamento(comando.conta(), transacao));
+                    saldo[0] = saldoApos[i];
+                } catch (RuntimeException e) {
+                    falhas[i] = e;
+                }
+            }
+
+            if (!lancamentos.isEmpty()) {
+                try {
+                    Diario.atual().registrar(lancamentos); // um registro durável para o lote inteiro
+                } catch (RuntimeException e) {
+                    for (int i = 0; i < quantidade; i++) {
+                        if (falhas[i] == null) {
+                            falhas[i] = e;
+                        }
+                    }
+                    lancamentos.clear();
+                }
+                for (Diario.Lancamento lancamento : lancamentos) {
+                    lancamento.conta().aplicar(lancamento.transacao());
+                }
+            }
+        } finally {
+            for (int i = travadas - 1; i >= 0; i--) {
+                contas.get(i).getTrava().unlock();
+            }
+        }
+
+        // Fora das travas: callbacks dos futuros não seguram nenhuma conta
+        // e cada comando conta nas métricas como as chamadas diretas a Conta
+        for (int i = 0; i < quantidade; i++) {
+            Comando comando = movimentos.get(i);
+            if (falhas[i] != null) {
+                comando.falhar(falhas[i]);
+            } else {
+                comando.concluir(Centavos.paraBigDecimal(saldoApos[i]));
+            }
+        }
+    }
+
+    private static void abrir(Comando comando) {
+        try {
+            comando.concluir(new Conta(comando.titular(), comando.saldoInicial()));
+        } catch (RuntimeException e) {
+            comando.falhar(e);
+        }
+    }
+
+    private static List<Conta> contasEmOrdemGlobal(List<Comando> movimentos) {
+        Map<Long, Conta> distintas = new TreeMap<>(); // ordenado por ID
+        for (Comando comando : movimentos) {
+            distintas.putIfAbsent(comando.conta().getId(), comando.conta());
+        }
+        return new ArrayList<>(distintas.values());
+    }
+}
@@ -0,0 +1,296 @@
+package com.matheushstrindade.banking.model;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Memória das chaves de idempotência de {@link Conta#depositar(String, java.math.BigDecimal)} e
+ * {@link Conta#sacar(String, java.math.BigDecimal)}: um cliente que repete o pedido (timeout, reconexão) manda a
+ * mesma chave, e a operação não é aplicada de novo — a repetição recebe o resultado original, o mesmo
+ * saldo ou a mesma recusa.
+ *
+ * Limites:
+ * <ul>
+ *   <li>no máximo {@code maximoChaves} chaves guardadas; passando disso, saem as usadas há mais tempo (LRU);</li>
+ *   <li>cada chave vale por {@code validade} a partir da primeira execução; depois é esquecida;</li>
+ *   <li>chaves têm até {@value #TAMANHO_MAXIMO_CHAVE} caracteres ASCII visíveis (um UUID tem 36), o que
+ *       limita também a memória por entrada.</li>
+ * </ul>
+ *
+ * As chaves são divididas em faixas, cada uma com sua trava: pedidos com chaves diferentes quase nunca
+ * competem, e a consulta é um acesso a um {@link LinkedHashMap} pequeno. Dois pedidos simultâneos com a
+ * mesma chave não executam juntos: o segundo espera o primeiro terminar e recebe o mesmo resultado.
+ * Só as recusas por regra de negócio ({@link OperacaoRecusadaException}) são guardadas; outras falhas
+ * (diário indisponível, estouro) liberam a chave para uma nova tentativa.
+ *
+ * A memória é só do processo: depois de reiniciar, as chaves anteriores não são mais reconhecidas.
+ */
+public final class Idempotencia {
+    public static final int TAMANHO_MAXIMO_CHAVE = 64;
+    public static final int MAXIMO_CHAVES_PADRAO = 100_000;
+    public static final Duration VALIDADE_PADRAO = Duration.ofHours(24);
+
+    private final Faixa[] faixas;
+    private final int mascara;
+    private final int maximoChaves;
+    private final long validadeMillis;
+    private final LongAdder repeticoes = new LongAdder();
+    private final LongAdder descartes = new LongAdder();
+
+    public Idempotencia(int maximoChaves, Duration validade) {
+        if (maximoChaves <= 0) {
+            throw new IllegalArgumentException("Máximo de chaves deve ser maior que zero: " + maximoChaves);
+        }
+        Objects.requireNonNull(validade, "Validade não pode ser nula");
+        if (validade.isNegative() || validade.isZero()) {
+            throw new IllegalArgumentException("Validade deve ser positiva: " + validade);
+        }
+        // Faixas: potência de 2, ~4 por processador, sem passar do total de chaves (cada uma guarda ao menos 1)
+        int desejadas = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) << 1;
+        int quantidade = Math.min(desejadas, Integer.highestOneBit(maximoChaves));
+        this.faixas = new Faixa[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            faixas[i] = new Faixa(maximoChaves / quantidade);
+        }
+        this.mascara = quantidade - 1;
+        this.maximoChaves = maximoChaves / quantidade * quantidade;
+        this.validadeMillis = validade.toMillis();
+    }
+
+    // === INSTALAÇÃO ===
+
+    /** Troca a memória de chaves usada pelas contas (ex: outro limite); as chaves da anterior são esquecidas. */
+    public static void instalar(Idempotencia idempotencia) {
+        IdempotenciaAtiva.atual = Objects.requireNonNull(idempotencia, "Idempotência não pode ser nula");
+    }
+
+    public static Idempotencia atual() {
+        return IdempotenciaAtiva.atual;
+    }
+
+    // === CONSULTA ===
+
+    /** Chaves guardadas agora (inclui as já vencidas que ainda não foram removidas). */
+    public int getQuantidade() {
+        int quantidade = 0;
+        for (Faixa faixa : faixas) {
+            quantidade += faixa.tamanho();
+        }
+        return quantidade;
+    }
+
+    public int getMaximoChaves() {
+        return maximoChaves;
+    }
+
+    public Duration getValidade() {
+        return Duration.ofMillis(validadeMillis);
+    }
+
+    /** Pedidos repetidos respondidos com o resultado original, sem executar. */
+    public long getRepeticoes() {
+        return repeticoes.sum();
+    }
+
+    /** Chaves removidas antes de vencer por falta de espaço. */
+    public long getDescartes() {
+        return descartes.sum();
+    }
+
+    // === EXECUÇÃO (usada por Conta) ===
+
+    /**
+     * Executa {@code acao} uma única vez por {@code chave}; devolve o saldo que ela devolveu (ou relança a
+     * recusa que ela lançou), também nas repetições.
+     *
+     * @throws OperacaoRecusadaException chave inválida, ou já usada com outra conta, operação ou valor
+     */
+    long executar(String chave, long contaId, Metricas.Operacao operacao, long centavos, LongSupplier acao) {
+        validarChave(chave);
+        Faixa faixa = faixas[espalhar(chave.hashCode()) & mascara];
+        while (true) {
+            Entrada nova = new Entrada(contaId, operacao, centavos, Relogio.atual().agoraEpochMillis());
+            Entrada entrada = faixa.reservar(chave, nova, validadeMillis, descartes);
+            if (entrada == nova) {
+                return executarPrimeira(faixa, chave, nova, acao);
+            }
+            if (entrada.contaId != contaId || entrada.operacao != operacao || entrada.centavos != centavos) {
+                throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.CHAVE_REUTILIZADA,
+                        "Chave de idempotência já usada em outra operação: " + chave);
+            }
+            if (entrada.aguardar()) { // senão a primeira falhou e liberou a chave: tenta de novo
+                repeticoes.increment();
+                if (entrada.recusa != null) {
+                    throw entrada.recusa;
+                }
+                return entrada.saldoCentavos;
+            }
+        }
+    }
+
+    private static long executarPrimeira(Faixa faixa, String chave, Entrada entrada, LongSupplier acao) {
+        long saldo;
+        try {
+            saldo = acao.getAsLong();
+        } catch (OperacaoRecusadaException e) {
+            entrada.concluir(0L, e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            faixa.liberar(chave, entrada);
+            entrada.abandonar();
+            throw e;
+        }
+        entrada.concluir(saldo, null);
+        return saldo;
+    }
+
+    static void validarChave(String chave) {
+        if (chave == null) {
+            throw new NullPointerException("Chave de idempotência não pode ser nula");
+        }
+        boolean valida = !chave.isEmpty() && chave.length() <= TAMANHO_MAXIMO_CHAVE;
+        for (int i = 0; valida && i < chave.length(); i++) {
+            char c = chave.charAt(i);
+            valida = c > ' ' && c < 0x7F;
+        }
+        if (!valida) {
+            throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.DADOS_INVALIDOS,
+                    "Chave de idempotência inválida (1 a " + TAMANHO_MAXIMO_CHAVE
+                            + " caracteres ASCII visíveis): " + chave);
+        }
+    }
+
+    private static int espalhar(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    // === ESTRUTURAS INTERNAS ===
+
+    /** Pedaço das chaves com trava própria; a ordem do mapa é a do último acesso (a cabeça é a menos usada). */
+    private static final class Faixa {
+        private final int capacidade;
+        private final LinkedHashMap<String, Entrada> mapa;
+
+        Faixa(int capacidade) {
+            this.capacidade = capacidade;
+            this.mapa = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        /** Devolve a entrada viva da chave, ou guarda e devolve {@code nova} se não houver. */
+        synchronized Entrada reservar(String chave, Entrada nova, long validadeMillis, LongAdder descartes) {
+            Entrada existente = mapa.get(chave);
+            if (existente != null && !existente.vencida(nova.criadaEm, validadeMillis)) {
+                return existente;
+            }
+            mapa.put(chave, nova);
+            limpar(nova.criadaEm, validadeMillis, descartes);
+            return nova;
+        }
+
+        /** Retira {@code entrada}, se ainda for a da chave (falha na execução). */
+        synchronized void liberar(String chave, Entrada entrada) {
+            mapa.remove(chave, entrada);
+        }
+
+        synchronized int tamanho() {
+            return mapa.size();
+        }
+
+        /**
+         * A partir da cabeça: tira as vencidas e, se ainda passar da capacidade, as menos usadas.
+         * Entradas em execução ficam (podem passar da capacidade pelo número de pedidos em andamento).
+         */
+        private void limpar(long agora, long validadeMillis, LongAdder descartes) {
+            Iterator<Entrada> entradas = mapa.values().iterator();
+            while (entradas.hasNext()) {
+                Entrada entrada = entradas.next();
+                if (entrada.emAndamento()) {
+                    continue;
+                }
+                boolean vencida = entrada.vencida(agora, validadeMillis);
+                if (!vencida && mapa.size() <= capacidade) {
+                    break;
+                }
+                entradas.remove();
+                if (!vencida) {
+                    descartes.increment();
+                }
+            }
+        }
+    }
+
+    /** Uma chave: o pedido que a usou primeiro e, quando ele terminar, o seu resultado. */
+    private static final class Entrada {
+        private static final int EM_ANDAMENTO = 0;
+        private static final int CONCLUIDA = 1;
+        private static final int ABANDONADA = 2;
+
+        final long contaId;
+        final Metricas.Operacao operacao;
+        final long centavos;
+        final long criadaEm;
+        private volatile int estado = EM_ANDAMENTO;
+        // escritos antes de 'estado' (volátil) e lidos depois dele
+        long saldoCentavos;
+        OperacaoRecusadaException recusa;
+
+        Entrada(long contaId, Metricas.Operacao operacao, long centavos, long criadaEm) {
+            this.contaId = contaId;
+            this.operacao = operacao;
+            this.centavos = centavos;
+            this.criadaEm = criadaEm;
+        }
+
+        boolean emAndamento() {
+            return estado == EM_ANDAMENTO;
+        }
+
+        /** Só vence depois de concluída: uma execução em andamento nunca perde a chave. */
+        boolean vencida(long agora, long validadeMillis) {
+            return estado != EM_ANDAMENTO && agora - criadaEm >= validadeMillis;
+        }
+
+        synchronized void concluir(long saldoCentavos, OperacaoRecusadaException recusa) {
+            this.saldoCentavos = saldoCentavos;
+            this.recusa = recusa;
+            estado = CONCLUIDA;
+            notifyAll();
+        }
+
+        synchronized void abandonar() {
+            estado = ABANDONADA;
+            notifyAll();
+        }
+
+        /** Espera a execução terminar; {@code false} se ela falhou e a chave foi liberada. */
+        boolean aguardar() {
+            if (estado == EM_ANDAMENTO) {
+                synchronized (this) {
+                    boolean interrompida = false;
+                    while (estado == EM_ANDAMENTO) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            interrompida = true; // a operação é curta: espera e devolve a interrupção
+                        }
+                    }
+                    if (interrompida) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+            return estado == CONCLUIDA;
+        }
+    }
+}
+
+final class IdempotenciaAtiva {
+    static volatile Idempotencia atual = new Idempotencia(Idempotencia.MAXIMO_CHAVES_PADRAO, Idempotencia.VALIDADE_PADRAO);
+
+    private IdempotenciaAtiva() {
+    }
+}
@@ -0,0 +1,79 @@
+package com.matheushstrindade.banking.model;
+
+import java.util.Arrays;
+
+/**
+ * Soma corrente dos débitos de uma conta nas últimas 24 h, para o limite diário de {@link RegrasConta}
+ * sem percorrer o extrato: um anel de {@value #FAIXAS} faixas de uma hora e o total delas.
+ *
+ * Cada débito entra na faixa da hora do seu instante; quando o relógio muda de hora, as faixas que saíram
+ * da janela são subtraídas do total. A faixa corrente e as 24 anteriores ficam na conta, então um débito
+ * pesa no limite por pelo menos 24 h (e no máximo 25): a janela nunca deixa passar mais que o limite.
+ *
+ * Sem travas nem alocação; o chamador segura a trava da conta. {@link #exportar()} e {@link #importar(long[])}
+ * levam o estado para o snapshot e de volta.
+ */
+final class JanelaDeDebitos {
+    static final int FAIXAS = 25;
+    static final long MILLIS_POR_FAIXA = 3_600_000L;
+    static final long DURACAO_MILLIS = FAIXAS * MILLIS_POR_FAIXA;
+
+    private final long[] somas = new long[FAIXAS]; // centavos, por hora (epochMillis / MILLIS_POR_FAIXA) % FAIXAS
+    private long faixaAtual = Long.MIN_VALUE;
+    private long total;
+
+    /** Débitos na janela que termina em {@code agoraEpochMillis}. */
+    long total(long agoraEpochMillis) {
+        avancar(Math.floorDiv(agoraEpochMillis, MILLIS_POR_FAIXA));
+        return total;
+    }
+
+    /** Conta um débito (valor positivo); instantes anteriores à janela atual são ignorados. */
+    void registrar(long instanteEpochMillis, long centavos) {
+        long faixa = Math.floorDiv(instanteEpochMillis, MILLIS_POR_FAIXA);
+        avancar(faixa);
+        if (faixaAtual - faixa >= FAIXAS) {
+            return;
+        }
+        somas[(int) Math.floorMod(faixa, (long) FAIXAS)] += centavos;
+        total += centavos;
+    }
+
+    /** {faixa atual, soma de cada faixa}. */
+    long[] exportar() {
+        long[] estado = new long[FAIXAS + 1];
+        estado[0] = faixaAtual;
+        System.arraycopy(somas, 0, estado, 1, FAIXAS);
+        return estado;
+    }
+
+    static JanelaDeDebitos importar(long[] estado) {
+        if (estado.length != FAIXAS + 1) {
+            throw new IllegalArgumentException("Janela de débitos deve ter " + FAIXAS + " faixas: " + (estado.length - 1));
+        }
+        JanelaDeDebitos janela = new JanelaDeDebitos();
+        janela.faixaAtual = estado[0];
+        for (int i = 0; i < FAIXAS; i++) {
+            janela.somas[i] = estado[i + 1];
+            janela.total += estado[i + 1];
+        }
+        return janela;
+    }
+
+    private void avancar(long faixa) {
+        if (faixa <= faixaAtual) {
+            return;
+        }
+        if (faixaAtual == Long.MIN_VALUE || faixa - faixaAtual >= FAIXAS) {
+            Arrays.fill(somas, 0L);
+            total = 0;
+        } else {
+            for (long f = faixaAtual + 1; f <= faixa; f++) {
+                int indice = (int) Math.floorMod(f, (long) FAIXAS);
+                total -= somas[indice];
+                somas[indice] = 0;
+            }
+        }
+        faixaAtual = faixa;
+    }
+}
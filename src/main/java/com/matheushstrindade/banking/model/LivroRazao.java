@@ -0,0 +1,577 @@
+package com.matheushstrindade.banking.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Livro-razão colunar de uma conta, com os segmentos grandes fora do heap.
+ *
+ * Em vez de um {@code ArrayList<Transacao>} (um objeto com BigDecimal/LocalDateTime por lançamento),
+ * cada lançamento vira uma linha em colunas primitivas guardadas em {@link ByteBuffer}s:
+ * tipo (byte), valor (long de centavos), instante (epoch millis) e conta contraparte (long, 0 = nenhuma).
+ * Os segmentos começam pequenos e dobram até {@value #MAIOR_SEGMENTO} linhas, então contas com
+ * poucos lançamentos custam pouco e contas enormes não precisam de realocação/cópia. Até
+ * {@value #MAIOR_SEGMENTO_NO_HEAP} linhas o segmento é um array comum no heap: um buffer direto custa
+ * uma reserva de memória nativa e um {@code Cleaner}, o que não compensa para as poucas centenas de bytes
+ * do começo de cada conta. Só os segmentos maiores, de contas que de fato crescem, são diretos.
+ *
+ * Um único escritor por vez (a conta escreve sob a sua trava); leitores não precisam de trava:
+ * linhas são imutáveis depois de escritas e o tamanho é publicado por um campo volátil.
+ *
+ * A coluna de instantes é não-decrescente: se o relógio voltar (ajuste de NTP, por exemplo), o
+ * lançamento recebe o instante do anterior. Assim a própria coluna serve de índice temporal e
+ * uma consulta por período acha o início por busca binária, sem varrer o histórico.
+ *
+ * Retenção: segmentos cheios que ficaram mais de {@link ArquivoExtrato#linhasQuentes()} linhas para trás
+ * são gravados no {@link ArquivoExtrato} instalado por uma thread de fundo e saem da memória. Ficam só
+ * o primeiro instante e o saldo antes/depois de cada um (checkpoints); as leituras trazem o segmento de
+ * volta quando precisam dele, conferindo a soma dos valores com o checkpoint. O snapshot grava o livro
+ * segmento a segmento ({@link #capturar()}); os arquivados entram só pelo checkpoint e voltam na
+ * reconstrução por {@link #adicionarArquivado}.
+ */
+final class LivroRazao {
+    private static final int PRIMEIRO_SEGMENTO = 8;
+    private static final int MAIOR_SEGMENTO = 1 << 16;
+    private static final int MAIOR_SEGMENTO_NO_HEAP = 512;
+    private static final int SEGMENTOS_CRESCENTES = Integer.numberOfTrailingZeros(MAIOR_SEGMENTO / PRIMEIRO_SEGMENTO) + 1;
+    /** Linhas cobertas pelos segmentos crescentes (8 + 16 + ... + MAIOR_SEGMENTO). */
+    private static final int LIMITE_CRESCENTE = PRIMEIRO_SEGMENTO * ((1 << SEGMENTOS_CRESCENTES) - 1);
+    private static final int BYTES_POR_LINHA = 1 + 8 + 8 + 8;
+    private static final long SEM_CONTRAPARTE = 0L;
+    private static final Transacao.Tipo[] TIPOS = Transacao.Tipo.values();
+    private static final int[] SEM_FALHAS = new int[0];
+
+    /** Segmento que saiu da memória: onde está e o que se sabe dele sem lê-lo. */
+    private record Arquivado(ArquivoExtrato arquivo, long primeiroInstante, long saldoInicial, long saldoFinal) {
+    }
+
+    private final long contaId;
+    private final long saldoAbertura;
+    // Trocados por cópia sob 'this' (o escritor acrescenta, o arquivamento anula); leitores não travam
+    private volatile ByteBuffer[] segmentos = new ByteBuffer[0]; // null = arquivado
+    private volatile Arquivado[] arquivados = new Arquivado[0];  // publicado antes de o segmento virar null
+    private volatile long[] saldosIniciais = new long[0];        // saldo antes da primeira linha de cada segmento
+    private volatile int tamanho;
+    private long ultimoInstante = Long.MIN_VALUE; // apenas o escritor
+    private long saldo;                           // apenas o escritor: saldo depois da última linha
+    private int proximoAArquivar;                 // apenas o escritor
+    private volatile int[] falhados = SEM_FALHAS; // trocado sob 'this': segmentos cuja gravação falhou
+
+    LivroRazao(long contaId, long saldoAbertura) {
+        this.contaId = contaId;
+        this.saldoAbertura = saldoAbertura;
+        this.saldo = saldoAbertura;
+    }
+
+    // === ESCRITA (um escritor por vez) ===
+    void adicionar(Transacao transacao) {
+        Long contraparte = transacao.getContaContraparte();
+        adicionar(transacao.getTipo(), transacao.getValorCentavos(), transacao.getInstanteEpochMillis(),
+                contraparte == null ? SEM_CONTRAPARTE : contraparte);
+    }
+
+    /** {@code contaContraparte} {@code 0} quando não há, como em {@link Conta.VisitanteExtrato}. */
+    void adicionar(Transacao.Tipo tipo, long valorCentavos, long instanteEpochMillis, long contaContraparte) {
+        int linha = tamanho;
+        int segmento = segmentoDe(linha);
+        ByteBuffer[] atuais = segmentos;
+        if (segmento == atuais.length) {
+            atuais = abrirSegmento(segmento);
+        }
+        ByteBuffer buffer = atuais[segmento];
+        int capacidade = capacidadeDe(segmento);
+        int deslocamento = deslocamentoDe(linha, segmento);
+
+        buffer.put(deslocamento, (byte) tipo.ordinal());
+        buffer.putLong(capacidade + deslocamento * 8, valorCentavos);
+        ultimoInstante = Math.max(ultimoInstante, instanteEpochMillis);
+        buffer.putLong(capacidade * 9 + deslocamento * 8, ultimoInstante);
+        buffer.putLong(capacidade * 17 + deslocamento * 8, contaContraparte);
+        saldo += valorCentavos; // a conta já verificou o estouro
+        tamanho = linha + 1; // publica a linha para os leitores
+    }
+
+    /**
+     * Reconstrução: o próximo segmento (com {@code linhas} lançamentos, o segmento inteiro) já está em
+     * {@code arquivo}, com o checkpoint gravado; só entra quando o anterior está cheio e o saldo emenda.
+     */
+    void adicionarArquivado(ArquivoExtrato arquivo, int linhas, long primeiroInstante, long saldoInicial,
+                            long saldoFinal) {
+        int segmento = segmentos.length;
+        if (tamanho != inicioDe(segmento) || linhas != capacidadeDe(segmento)) {
+            throw new IllegalArgumentException("Segmento arquivado da conta " + contaId + " com " + linhas
+                    + " lançamentos não cabe a partir da linha " + tamanho);
+        }
+        if (saldoInicial != saldo) {
+            throw new IllegalArgumentException("Segmento arquivado da conta " + contaId + " a partir da linha "
+                    + tamanho + " começa com saldo R$ " + Centavos.formatar(saldoInicial) + "; esperado R$ "
+                    + Centavos.formatar(saldo));
+        }
+        synchronized (this) {
+            long[] saldos = Arrays.copyOf(saldosIniciais, segmento + 1);
+            saldos[segmento] = saldoInicial;
+            saldosIniciais = saldos;
+            Arquivado[] novos = Arrays.copyOf(arquivados, segmento + 1);
+            novos[segmento] = new Arquivado(arquivo, primeiroInstante, saldoInicial, saldoFinal);
+            arquivados = novos;
+            segmentos = Arrays.copyOf(segmentos, segmento + 1); // null: arquivado
+        }
+        ultimoInstante = Math.max(ultimoInstante, primeiroInstante);
+        saldo = saldoFinal;
+        proximoAArquivar = segmento + 1;
+        tamanho = inicioDe(segmento + 1);
+    }
+
+    private ByteBuffer[] abrirSegmento(int segmento) {
+        int capacidade = capacidadeDe(segmento);
+        ByteBuffer novo = (capacidade <= MAIOR_SEGMENTO_NO_HEAP
+                ? ByteBuffer.allocate(capacidade * BYTES_POR_LINHA)
+                : ByteBuffer.allocateDirect(capacidade * BYTES_POR_LINHA)).order(ByteOrder.nativeOrder());
+        ByteBuffer[] atuais;
+        synchronized (this) {
+            long[] saldos = Arrays.copyOf(saldosIniciais, segmento + 1);
+            saldos[segmento] = saldo;
+            saldosIniciais = saldos;
+            atuais = Arrays.copyOf(segmentos, segmento + 1);
+            atuais[segmento] = novo;
+            segmentos = atuais;
+        }
+        agendarArquivamento(segmento);
+        return atuais;
+    }
+
+    /** Só na abertura de um segmento: o anterior acabou de encher. Reagenda antes os que falharam. */
+    private void agendarArquivamento(int segmentoAberto) {
+        ArquivoExtrato arquivo = ArquivoExtrato.atual();
+        int linhasQuentes = arquivo.linhasQuentes();
+        if (falhados.length > 0) {
+            reagendarFalhados(segmentoAberto, arquivo, linhasQuentes);
+        }
+        while (proximoAArquivar < segmentoAberto
+                && inicioDe(segmentoAberto) - inicioDe(proximoAArquivar + 1) >= linhasQuentes) {
+            int segmento = proximoAArquivar++;
+            Arquivamento.EXECUTOR.execute(() -> arquivar(segmento, arquivo));
+        }
+    }
+
+    /** Os que ainda estão fora das linhas quentes (o arquivo instalado pode ter mudado) voltam para a fila. */
+    private void reagendarFalhados(int segmentoAberto, ArquivoExtrato arquivo, int linhasQuentes) {
+        int[] aReagendar;
+        synchronized (this) {
+            aReagendar = falhados;
+            falhados = SEM_FALHAS;
+        }
+        for (int segmento : aReagendar) {
+            if (inicioDe(segmentoAberto) - inicioDe(segmento + 1) >= linhasQuentes) {
+                Arquivamento.EXECUTOR.execute(() -> arquivar(segmento, arquivo));
+            } else {
+                registrarFalha(segmento);
+            }
+        }
+    }
+
+    /**
+     * Na thread de arquivamento: grava o segmento e só então o tira da memória. Se a gravação falhar,
+     * o segmento continua em memória, a falha vai para as {@link Metricas} ({@link Metricas.Operacao#ARQUIVAMENTO_EXTRATO})
+     * e ele é reagendado na abertura do próximo segmento da conta.
+     */
+    private void arquivar(int segmento, ArquivoExtrato arquivo) {
+        Metricas metricas = Metricas.atual();
+        long inicio = metricas.iniciar();
+        ByteBuffer buffer = segmentos[segmento];
+        long[] saldos = saldosIniciais; // o segmento seguinte já existe: saldos[segmento + 1] é o saldo final
+        Arquivado arquivado = new Arquivado(arquivo, buffer.getLong(capacidadeDe(segmento) * 9),
+                saldos[segmento], saldos[segmento + 1]);
+        try {
+            arquivo.gravar(contaId, inicioDe(segmento), capacidadeDe(segmento), arquivado.saldoInicial(),
+                    arquivado.saldoFinal(), buffer.asReadOnlyBuffer().clear());
+        } catch (RuntimeException e) {
+            registrarFalha(segmento);
+            metricas.erro(Metricas.Operacao.ARQUIVAMENTO_EXTRATO, e, inicio);
+            return;
+        }
+        synchronized (this) {
+            Arquivado[] novos = Arrays.copyOf(arquivados, segmentos.length);
+            novos[segmento] = arquivado;
+            arquivados = novos;
+            ByteBuffer[] atuais = segmentos.clone();
+            atuais[segmento] = null; // leitores que já pegaram o buffer continuam com ele
+            segmentos = atuais;
+        }
+        metricas.sucesso(Metricas.Operacao.ARQUIVAMENTO_EXTRATO, inicio);
+    }
+
+    private synchronized void registrarFalha(int segmento) {
+        int[] novos = Arrays.copyOf(falhados, falhados.length + 1);
+        novos[novos.length - 1] = segmento;
+        falhados = novos;
+    }
+
+    // === LEITURA (sem trava) ===
+    int tamanho() {
+        return tamanho;
+    }
+
+    /** Saldo da conta antes da primeira linha. */
+    long saldoAbertura() {
+        return saldoAbertura;
+    }
+
+    long contaId() {
+        return contaId;
+    }
+
+    /** Saldo depois da última linha; chamador é o escritor (ou segura a trava da conta). */
+    long saldo() {
+        return saldo;
+    }
+
+    /**
+     * Segmentos, checkpoints e tamanho lidos juntos, para o snapshot gravar o extrato fora da trava da
+     * conta: as linhas capturadas não mudam mais, e um segmento arquivado depois da captura continua
+     * legível pelo buffer guardado. Chamador segura a trava da conta.
+     */
+    Captura capturar() {
+        synchronized (this) {
+            return new Captura(segmentos, arquivados, saldosIniciais, tamanho);
+        }
+    }
+
+    /** Extrato como estava em {@link #capturar()}. */
+    final class Captura {
+        private final ByteBuffer[] segmentosCapturados;
+        private final Arquivado[] arquivadosCapturados;
+        private final long[] saldosCapturados;
+        private final int linhas;
+
+        private Captura(ByteBuffer[] segmentos, Arquivado[] arquivados, long[] saldosIniciais, int linhas) {
+            this.segmentosCapturados = segmentos;
+            this.arquivadosCapturados = arquivados;
+            this.saldosCapturados = saldosIniciais;
+            this.linhas = linhas;
+        }
+
+        long saldoAbertura() {
+            return saldoAbertura;
+        }
+
+        int linhas() {
+            return linhas;
+        }
+
+        int segmentos() {
+            return linhas == 0 ? 0 : segmentoDe(linhas - 1) + 1;
+        }
+
+        int linhas(int segmento) {
+            return Math.min(capacidadeDe(segmento), linhas - inicioDe(segmento));
+        }
+
+        boolean arquivado(int segmento) {
+            return segmentosCapturados[segmento] == null;
+        }
+
+        /** Checkpoint de um segmento {@link #arquivado(int)}. */
+        long primeiroInstante(int segmento) {
+            return arquivadosCapturados[segmento].primeiroInstante();
+        }
+
+        long saldoInicial(int segmento) {
+            return saldosCapturados[segmento];
+        }
+
+        long saldoFinal(int segmento) {
+            return arquivadosCapturados[segmento].saldoFinal();
+        }
+
+        /** Linhas de um segmento em memória, como em {@link LivroRazao#percorrer(int, int, Conta.VisitanteExtrato)}. */
+        void percorrer(int segmento, Conta.VisitanteExtrato visitante) {
+            ByteBuffer buffer = segmentosCapturados[segmento];
+            int capacidade = capacidadeDe(segmento);
+            for (int d = 0, fim = linhas(segmento); d < fim; d++) {
+                visitante.visitar(TIPOS[buffer.get(d)], buffer.getLong(capacidade + d * 8),
+                        buffer.getLong(capacidade * 9 + d * 8), buffer.getLong(capacidade * 17 + d * 8));
+            }
+        }
+    }
+
+    /** Lançamentos que estão só no arquivo, fora da memória. */
+    int linhasArquivadas() {
+        ByteBuffer[] atuais = segmentos;
+        int linhas = 0;
+        for (int s = 0; s < atuais.length; s++) {
+            if (atuais[s] == null) {
+                linhas += capacidadeDe(s);
+            }
+        }
+        return linhas;
+    }
+
+    /**
+     * {@code saldoConta} é o saldo de abertura mais os lançamentos, com cada segmento arquivado somado
+     * pelo seu checkpoint (que tem de emendar no saldo até ali)? Arquivados e em memória podem se
+     * intercalar, quando a gravação de um segmento falhou e a dos seguintes não.
+     * Não lê o arquivo; o chamador segura a trava da conta, para o saldo e o livro estarem em dia.
+     */
+    boolean confere(long saldoConta) {
+        int total = tamanho;
+        ByteBuffer[] atuais = segmentos;
+        Arquivado[] checkpoints = arquivados; // lido depois de 'segmentos': cobre todo segmento já anulado
+        long soma = saldoAbertura;
+        for (int s = 0; s < atuais.length; s++) {
+            ByteBuffer buffer = atuais[s];
+            if (buffer == null) {
+                if (checkpoints[s].saldoInicial() != soma) {
+                    return false;
+                }
+                soma = checkpoints[s].saldoFinal();
+                continue;
+            }
+            int capacidade = capacidadeDe(s);
+            int linhas = Math.min(capacidade, total - inicioDe(s));
+            for (int d = 0; d < linhas; d++) {
+                soma += buffer.getLong(capacidade + d * 8);
+            }
+        }
+        return soma == saldoConta && soma == saldo;
+    }
+
+    /**
+     * Executa a consulta em tempo proporcional ao trecho do período efetivamente percorrido:
+     * busca binária até o início do período e leitura sequencial até encher a página.
+     */
+    PaginaExtrato consultar(ConsultaExtrato consulta) {
+        int total = tamanho;
+        Leitura leitura = new Leitura();
+        long desde = consulta.getDesde() == null ? Long.MIN_VALUE : Relogio.paraEpochMillis(consulta.getDesde());
+        long ate = consulta.getAte() == null ? Long.MAX_VALUE : Relogio.paraEpochMillis(consulta.getAte());
+        int linha = (int) Math.min(Math.max(consulta.getCursor(), leitura.primeiraLinhaEmOuApos(desde, total)), total);
+
+        List<Transacao> encontradas = new ArrayList<>(Math.min(consulta.getLimite(), total - linha));
+        while (linha < total && leitura.epochMillis(linha) < ate) {
+            if (encontradas.size() == consulta.getLimite()) {
+                return new PaginaExtrato(encontradas, (long) linha);
+            }
+            if (consulta.aceita(leitura.tipo(linha))) {
+                encontradas.add(leitura.ler(linha));
+            }
+            linha++;
+        }
+        return new PaginaExtrato(encontradas, null);
+    }
+
+    /** Primeira linha com instante {@code >= epochMillis}, ou {@link #tamanho()} se não houver; em O(log n). */
+    int primeiraLinhaEmOuApos(long epochMillis) {
+        int total = tamanho;
+        return new Leitura().primeiraLinhaEmOuApos(epochMillis, total);
+    }
+
+    /** Entrega as linhas {@code [de, ate)} ao visitante como primitivos, segmento a segmento, sem criar objetos. */
+    void percorrer(int de, int ate, Conta.VisitanteExtrato visitante) {
+        Leitura leitura = new Leitura(); // criada depois de 'tamanho' ser lido pelo chamador: cobre todas as linhas até 'ate'
+        int linha = de;
+        while (linha < ate) {
+            int segmento = segmentoDe(linha);
+            ByteBuffer buffer = leitura.buffer(segmento);
+            int capacidade = capacidadeDe(segmento);
+            int inicio = deslocamentoDe(linha, segmento);
+            int fim = Math.min(capacidade, inicio + (ate - linha));
+            for (int d = inicio; d < fim; d++) {
+                visitante.visitar(TIPOS[buffer.get(d)], buffer.getLong(capacidade + d * 8),
+                        buffer.getLong(capacidade * 9 + d * 8), buffer.getLong(capacidade * 17 + d * 8));
+            }
+            linha += fim - inicio;
+        }
+    }
+
+    /**
+     * Visão imutável das linhas existentes agora; lançamentos posteriores não aparecem.
+     * Nenhuma {@link Transacao} é criada até que {@code get(i)} seja chamado.
+     */
+    List<Transacao> visao() {
+        int total = tamanho;
+        return new Visao(new Leitura(), total);
+    }
+
+    /**
+     * Acesso às linhas existentes quando foi criada. Guarda o último segmento trazido do arquivo,
+     * para leituras seguidas no mesmo trecho não o lerem de novo.
+     */
+    private final class Leitura {
+        private record Carregado(int segmento, ByteBuffer buffer) {
+        }
+
+        private final ByteBuffer[] segmentosLidos = segmentos;
+        private volatile Carregado carregado; // a Visao pode ser lida por várias threads
+
+        ByteBuffer buffer(int segmento) {
+            ByteBuffer buffer = segmentosLidos[segmento];
+            if (buffer != null) {
+                return buffer;
+            }
+            Carregado ultimo = carregado;
+            if (ultimo != null && ultimo.segmento() == segmento) {
+                return ultimo.buffer();
+            }
+            buffer = carregar(segmento);
+            carregado = new Carregado(segmento, buffer);
+            return buffer;
+        }
+
+        Transacao.Tipo tipo(int linha) {
+            int segmento = segmentoDe(linha);
+            return TIPOS[buffer(segmento).get(deslocamentoDe(linha, segmento))];
+        }
+
+        long epochMillis(int linha) {
+            int segmento = segmentoDe(linha);
+            return buffer(segmento).getLong(capacidadeDe(segmento) * 9 + deslocamentoDe(linha, segmento) * 8);
+        }
+
+        /** Materializa a linha como {@link Transacao}; só é chamado para o que for realmente lido. */
+        Transacao ler(int linha) {
+            int segmento = segmentoDe(linha);
+            ByteBuffer buffer = buffer(segmento);
+            int capacidade = capacidadeDe(segmento);
+            int deslocamento = deslocamentoDe(linha, segmento);
+            long contraparte = buffer.getLong(capacidade * 17 + deslocamento * 8);
+            return new Transacao(
+                    TIPOS[buffer.get(deslocamento)],
+                    buffer.getLong(capacidade + deslocamento * 8),
+                    buffer.getLong(capacidade * 9 + deslocamento * 8),
+                    contraparte == SEM_CONTRAPARTE ? null : contraparte
+            );
+        }
+
+        /**
+         * Primeira linha com instante {@code >= epochMillis} (ou {@code ate} se não houver), em O(log n):
+         * primeiro entre segmentos, pelo primeiro instante de cada um (sem ler arquivados), depois dentro dele.
+         */
+        int primeiraLinhaEmOuApos(long epochMillis, int ate) {
+            if (ate == 0) {
+                return 0;
+            }
+            int baixo = 0;
+            int alto = segmentoDe(ate - 1) + 1;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (primeiroInstante(meio) < epochMillis) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            if (baixo == 0) {
+                return 0;
+            }
+            int segmento = baixo - 1; // começa antes de epochMillis; a resposta está nele ou é o início do próximo
+            int de = inicioDe(segmento);
+            int para = Math.min(inicioDe(segmento + 1), ate);
+            while (de < para) {
+                int meio = (de + para) >>> 1;
+                if (epochMillis(meio) < epochMillis) {
+                    de = meio + 1;
+                } else {
+                    para = meio;
+                }
+            }
+            return de;
+        }
+
+        private long primeiroInstante(int segmento) {
+            ByteBuffer buffer = segmentosLidos[segmento];
+            if (buffer != null) {
+                return buffer.getLong(capacidadeDe(segmento) * 9);
+            }
+            return arquivados[segmento].primeiroInstante();
+        }
+
+        /** Traz um segmento do arquivo e confere a soma dos valores com o checkpoint gravado junto. */
+        private ByteBuffer carregar(int segmento) {
+            Arquivado arquivado = arquivados[segmento]; // publicado antes de o segmento sair de 'segmentos'
+            int capacidade = capacidadeDe(segmento);
+            ByteBuffer buffer = arquivado.arquivo().ler(contaId, inicioDe(segmento)).slice().order(ByteOrder.nativeOrder());
+            if (buffer.remaining() != capacidade * BYTES_POR_LINHA) {
+                throw new IllegalStateException("Segmento arquivado da conta " + contaId + " a partir da linha "
+                        + inicioDe(segmento) + " tem " + buffer.remaining() + " bytes; esperado "
+                        + capacidade * BYTES_POR_LINHA);
+            }
+            long soma = arquivado.saldoInicial();
+            for (int d = 0; d < capacidade; d++) {
+                soma += buffer.getLong(capacidade + d * 8);
+            }
+            if (soma != arquivado.saldoFinal()) {
+                throw new IllegalStateException("Segmento arquivado da conta " + contaId + " a partir da linha "
+                        + inicioDe(segmento) + " não confere com o checkpoint: saldo final R$ "
+                        + Centavos.formatar(soma) + ", esperado R$ " + Centavos.formatar(arquivado.saldoFinal()));
+            }
+            return buffer;
+        }
+    }
+
+    private static final class Visao extends AbstractList<Transacao> implements RandomAccess {
+        private final Leitura leitura;
+        private final int tamanho;
+
+        Visao(Leitura leitura, int tamanho) {
+            this.leitura = leitura;
+            this.tamanho = tamanho;
+        }
+
+        @Override
+        public Transacao get(int indice) {
+            if (indice < 0 || indice >= tamanho) {
+                throw new IndexOutOfBoundsException("Índice " + indice + " fora do extrato de tamanho " + tamanho);
+            }
+            return leitura.ler(indice);
+        }
+
+        @Override
+        public int size() {
+            return tamanho;
+        }
+    }
+
+    /** Uma thread para todas as contas: gravar um segmento nunca atrasa um depósito. */
+    private static final class Arquivamento {
+        static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "arquivamento-extrato");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private Arquivamento() {
+        }
+    }
+
+    // === ENDEREÇAMENTO ===
+    private static int segmentoDe(int linha) {
+        if (linha < LIMITE_CRESCENTE) {
+            return 31 - Integer.numberOfLeadingZeros(linha / PRIMEIRO_SEGMENTO + 1);
+        }
+        return SEGMENTOS_CRESCENTES + (linha - LIMITE_CRESCENTE) / MAIOR_SEGMENTO;
+    }
+
+    private static int capacidadeDe(int segmento) {
+        return segmento < SEGMENTOS_CRESCENTES ? PRIMEIRO_SEGMENTO << segmento : MAIOR_SEGMENTO;
+    }
+
+    /** Primeira linha do segmento. */
+    private static int inicioDe(int segmento) {
+        if (segmento < SEGMENTOS_CRESCENTES) {
+            return PRIMEIRO_SEGMENTO * ((1 << segmento) - 1);
+        }
+        return LIMITE_CRESCENTE + (segmento - SEGMENTOS_CRESCENTES) * MAIOR_SEGMENTO;
+    }
+
+    private static int deslocamentoDe(int linha, int segmento) {
+        return linha - inicioDe(segmento);
+    }
+}
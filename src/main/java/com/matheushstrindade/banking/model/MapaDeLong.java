@@ -0,0 +1,243 @@
+package com.matheushstrindade.banking.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Mapa concorrente com chave {@code long} primitiva, para índices com dezenas de milhões de entradas.
+ *
+ * Cada entrada custa um {@code long} e uma referência num array (endereçamento aberto com sondagem
+ * linear), sem o nó, o {@code Long} e o ponteiro extra por entrada de um {@code ConcurrentHashMap<Long, V>}.
+ * O mapa é dividido em fatias com trava própria; leituras usam leitura otimista do {@link StampedLock}
+ * e só pegam a trava de leitura se uma escrita concorrente invalidar a tentativa.
+ * Valores {@code null} não são permitidos.
+ */
+public final class MapaDeLong<V> {
+    private static final int BITS_FATIAS = 6;
+    private static final int FATIAS = 1 << BITS_FATIAS;
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    /** Arrays de uma fatia; trocados juntos no redimensionamento. */
+    private static final class Tabela {
+        final long[] chaves;
+        final Object[] valores; // null = posição livre
+
+        Tabela(int capacidade) {
+            this.chaves = new long[capacidade];
+            this.valores = new Object[capacidade];
+        }
+    }
+
+    private static final class Fatia {
+        final StampedLock trava = new StampedLock();
+        Tabela tabela = new Tabela(CAPACIDADE_INICIAL);
+        int tamanho;
+    }
+
+    @FunctionalInterface
+    public interface Visitante<V> {
+        void visitar(long chave, V valor);
+    }
+
+    private final Fatia[] fatias = new Fatia[FATIAS];
+
+    public MapaDeLong() {
+        for (int i = 0; i < FATIAS; i++) {
+            fatias[i] = new Fatia();
+        }
+    }
+
+    // === LEITURA ===
+    public V get(long chave) {
+        long hash = espalhar(chave);
+        Fatia fatia = fatias[(int) (hash >>> (64 - BITS_FATIAS))];
+        long carimbo = fatia.trava.tryOptimisticRead();
+        if (carimbo != 0) {
+            V valor = buscar(fatia.tabela, chave, hash);
+            if (fatia.trava.validate(carimbo)) {
+                return valor;
+            }
+        }
+        carimbo = fatia.trava.readLock();
+        try {
+            return buscar(fatia.tabela, chave, hash);
+        } finally {
+            fatia.trava.unlockRead(carimbo);
+        }
+    }
+
+    public boolean containsKey(long chave) {
+        return get(chave) != null;
+    }
+
+    public int size() {
+        int total = 0;
+        for (Fatia fatia : fatias) {
+            long carimbo = fatia.trava.readLock();
+            try {
+                total += fatia.tamanho;
+            } finally {
+                fatia.trava.unlockRead(carimbo);
+            }
+        }
+        return total;
+    }
+
+    /** Percorre as entradas fatia a fatia; cada fatia é vista de forma consistente. */
+    public void forEach(Visitante<? super V> visitante) {
+        for (Fatia fatia : fatias) {
+            long[] chaves;
+            Object[] valores;
+            long carimbo = fatia.trava.readLock();
+            try {
+                chaves = fatia.tabela.chaves.clone();
+                valores = fatia.tabela.valores.clone();
+            } finally {
+                fatia.trava.unlockRead(carimbo);
+            }
+            for (int i = 0; i < valores.length; i++) {
+                if (valores[i] != null) {
+                    visitante.visitar(chaves[i], valor(valores[i]));
+                }
+            }
+        }
+    }
+
+    public List<V> valores() {
+        List<V> resultado = new ArrayList<>();
+        forEach((chave, valor) -> resultado.add(valor));
+        return resultado;
+    }
+
+    // === ESCRITA ===
+
+    /** Insere se a chave estiver livre; devolve o valor já existente, ou {@code null} se inseriu. */
+    public V putIfAbsent(long chave, V valor) {
+        return inserir(chave, valor, false);
+    }
+
+    /** Insere ou substitui; devolve o valor anterior, ou {@code null}. */
+    public V put(long chave, V valor) {
+        return inserir(chave, valor, true);
+    }
+
+    public V remove(long chave) {
+        long hash = espalhar(chave);
+        Fatia fatia = fatias[(int) (hash >>> (64 - BITS_FATIAS))];
+        long carimbo = fatia.trava.writeLock();
+        try {
+            Tabela tabela = fatia.tabela;
+            int mascara = tabela.valores.length - 1;
+            int i = (int) hash & mascara;
+            while (tabela.valores[i] != null) {
+                if (tabela.chaves[i] == chave) {
+                    V anterior = valor(tabela.valores[i]);
+                    removerDeslocando(tabela, i);
+                    fatia.tamanho--;
+                    return anterior;
+                }
+                i = (i + 1) & mascara;
+            }
+            return null;
+        } finally {
+            fatia.trava.unlockWrite(carimbo);
+        }
+    }
+
+    // === MÉTODOS AUXILIARES ===
+    private V inserir(long chave, V valor, boolean substituir) {
+        Objects.requireNonNull(valor, "Valor não pode ser nulo");
+        long hash = espalhar(chave);
+        Fatia fatia = fatias[(int) (hash >>> (64 - BITS_FATIAS))];
+        long carimbo = fatia.trava.writeLock();
+        try {
+            Tabela tabela = fatia.tabela;
+            int mascara = tabela.valores.length - 1;
+            int i = (int) hash & mascara;
+            while (tabela.valores[i] != null) {
+                if (tabela.chaves[i] == chave) {
+                    V anterior = valor(tabela.valores[i]);
+                    if (substituir) {
+                        tabela.valores[i] = valor;
+                    }
+                    return anterior;
+                }
+                i = (i + 1) & mascara;
+            }
+            tabela.chaves[i] = chave;
+            tabela.valores[i] = valor;
+            if (++fatia.tamanho * 4 > tabela.valores.length * 3) { // carga máxima de 75%
+                fatia.tabela = redimensionar(tabela);
+            }
+            return null;
+        } finally {
+            fatia.trava.unlockWrite(carimbo);
+        }
+    }
+
+    private V buscar(Tabela tabela, long chave, long hash) {
+        Object[] valores = tabela.valores;
+        long[] chaves = tabela.chaves;
+        int mascara = valores.length - 1;
+        int i = (int) hash & mascara;
+        for (int tentativas = 0; tentativas < valores.length; tentativas++) { // limite: leitura otimista pode ver lixo
+            Object valor = valores[i];
+            if (valor == null) {
+                return null;
+            }
+            if (chaves[i] == chave) {
+                return valor(valor);
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    private static Tabela redimensionar(Tabela antiga) {
+        Tabela nova = new Tabela(antiga.valores.length * 2);
+        int mascara = nova.valores.length - 1;
+        for (int j = 0; j < antiga.valores.length; j++) {
+            if (antiga.valores[j] != null) {
+                int i = (int) espalhar(antiga.chaves[j]) & mascara;
+                while (nova.valores[i] != null) {
+                    i = (i + 1) & mascara;
+                }
+                nova.chaves[i] = antiga.chaves[j];
+                nova.valores[i] = antiga.valores[j];
+            }
+        }
+        return nova;
+    }
+
+    /** Remoção por deslocamento para trás: mantém as cadeias de sondagem sem marcadores de remoção. */
+    private static void removerDeslocando(Tabela tabela, int livre) {
+        int mascara = tabela.valores.length - 1;
+        int i = livre;
+        while (true) {
+            i = (i + 1) & mascara;
+            if (tabela.valores[i] == null) {
+                break;
+            }
+            int ideal = (int) espalhar(tabela.chaves[i]) & mascara;
+            // a entrada em i pode ocupar 'livre' se 'livre' estiver entre a posição ideal dela e i (circular)
+            if (((i - ideal) & mascara) >= ((i - livre) & mascara)) {
+                tabela.chaves[livre] = tabela.chaves[i];
+                tabela.valores[livre] = tabela.valores[i];
+                livre = i;
+            }
+        }
+        tabela.valores[livre] = null;
+    }
+
+    private static long espalhar(long chave) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V valor(Object valor) {
+        return (V) valor;
+    }
+}
@@ -0,0 +1,79 @@
+package com.matheushstrindade.banking.model;
+
+import java.util.Objects;
+
+/**
+ * Instrumentação das operações do modelo: quantas deram certo, quantas foram recusadas (e por quê)
+ * e quanto tempo levaram.
+ *
+ * {@link Conta}, {@link ExecutorDeComandos}, {@link Cliente} e {@link Cliente#validarCpf(CharSequence)}
+ * chamam as métricas instaladas em volta de cada operação; a gravação de segmentos do extrato no
+ * {@link ArquivoExtrato}, na thread de fundo, também. O padrão ({@link #NENHUMA}) não faz nada, nem lê o relógio:
+ * desligadas, custam uma leitura de campo e duas chamadas vazias que o JIT elimina.
+ * Uma implementação é {@code metricas.ColetorDeMetricas}.
+ */
+public interface Metricas {
+
+    enum Operacao {
+        DEPOSITO,
+        SAQUE,
+        CRIACAO_CLIENTE,
+        VALIDACAO_CPF,
+        ARQUIVAMENTO_EXTRATO
+    }
+
+    Metricas NENHUMA = new Metricas() {
+        @Override
+        public long iniciar() {
+            return 0L;
+        }
+
+        @Override
+        public void sucesso(Operacao operacao, long inicio) {
+        }
+
+        @Override
+        public void recusa(Operacao operacao, OperacaoRecusadaException.Motivo motivo, long inicio) {
+        }
+
+        @Override
+        public void falha(Operacao operacao, long inicio) {
+        }
+    };
+
+    /** Marca o início de uma operação (ex: {@link System#nanoTime()}); o valor volta nos demais métodos. */
+    long iniciar();
+
+    void sucesso(Operacao operacao, long inicio);
+
+    /** Operação recusada por regra de negócio (ver {@link OperacaoRecusadaException}). */
+    void recusa(Operacao operacao, OperacaoRecusadaException.Motivo motivo, long inicio);
+
+    /** Qualquer outro erro (diário indisponível, argumento nulo, estouro). */
+    void falha(Operacao operacao, long inicio);
+
+    /** Encaminha para {@link #recusa} ou {@link #falha} conforme o tipo do erro. */
+    default void erro(Operacao operacao, Throwable erro, long inicio) {
+        if (erro instanceof OperacaoRecusadaException recusada) {
+            recusa(operacao, recusada.getMotivo(), inicio);
+        } else {
+            falha(operacao, inicio);
+        }
+    }
+
+    // === MÉTRICAS ATIVAS ===
+    static void instalar(Metricas metricas) {
+        MetricasAtivas.atual = Objects.requireNonNull(metricas, "Métricas não podem ser nulas");
+    }
+
+    static Metricas atual() {
+        return MetricasAtivas.atual;
+    }
+}
+
+final class MetricasAtivas {
+    static volatile Metricas atual = Metricas.NENHUMA;
+
+    private MetricasAtivas() {
+    }
+}
@@ -0,0 +1,35 @@
+package com.matheushstrindade.banking.model;
+
+import java.util.Objects;
+
+/**
+ * Operação recusada por regra de negócio, com o {@link Motivo} em forma estruturada.
+ * Continua sendo uma {@link IllegalArgumentException}, com as mesmas mensagens de antes; o motivo
+ * permite contar e tratar rejeições sem interpretar o texto da mensagem.
+ */
+public class OperacaoRecusadaException extends IllegalArgumentException {
+
+    public enum Motivo {
+        VALOR_INVALIDO,
+        SALDO_INSUFICIENTE,
+        CPF_INVALIDO,
+        CPF_DUPLICADO,
+        DADOS_INVALIDOS,
+        CHAVE_REUTILIZADA,
+        LIMITE_POR_OPERACAO,
+        LIMITE_DIARIO
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private final Motivo motivo;
+
+    public OperacaoRecusadaException(Motivo motivo, String mensagem) {
+        super(mensagem);
+        this.motivo = Objects.requireNonNull(motivo, "Motivo não pode ser nulo");
+    }
+
+    public Motivo getMotivo() {
+        return motivo;
+    }
+}
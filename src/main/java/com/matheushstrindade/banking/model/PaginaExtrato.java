@@ -0,0 +1,29 @@
+package com.matheushstrindade.banking.model;
+
+import java.util.List;
+
+/**
+ * Uma página de resultado de {@link Conta#consultarExtrato(ConsultaExtrato)}.
+ * {@code proximoCursor} é {@code null} quando não há mais nada no período consultado.
+ */
+public final class PaginaExtrato {
+    private final List<Transacao> transacoes;
+    private final Long proximoCursor;
+
+    PaginaExtrato(List<Transacao> transacoes, Long proximoCursor) {
+        this.transacoes = List.copyOf(transacoes);
+        this.proximoCursor = proximoCursor;
+    }
+
+    // === GETTERS ===
+    public List<Transacao> getTransacoes() { return transacoes; }
+
+    public Long getProximoCursor() { return proximoCursor; }
+
+    public boolean temMais() { return proximoCursor != null; }
+
+    @Override
+    public String toString() {
+        return "PaginaExtrato{transações=" + transacoes.size() + ", proximoCursor=" + proximoCursor + "}";
+    }
+}
@@ -0,0 +1,132 @@
+package com.matheushstrindade.banking.model;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Índice global de contas (por ID) e clientes (por CPF), com busca em tempo constante.
+ *
+ * O CPF é indexado pelos seus 11 dígitos empacotados num {@code long}, então "529.982.247-25" e
+ * "52998224725" são o mesmo cliente. Os dois índices usam {@link MapaDeLong}, que não cria
+ * objetos por entrada e aguenta dezenas de milhões de contas sem pesar no heap.
+ *
+ * Contas e clientes entram sozinhos no registro instalado ({@link #atual()}) ao serem criados; a
+ * unicidade do CPF é garantida na criação do {@link Cliente}. Trocar o registro (ex: um vazio por
+ * teste) não leva junto os que já estavam no anterior, e {@link #remover(Cliente)} tira um cliente
+ * que não deve mais ser encontrado, para que a memória não cresça com quem já saiu de uso.
+ */
+public final class Registro {
+    private final MapaDeLong<Conta> contas = new MapaDeLong<>();
+    private final MapaDeLong<Cliente> clientesPorCpf = new MapaDeLong<>();
+
+    // === REGISTRO ATIVO ===
+    public static void instalar(Registro registro) {
+        RegistroAtivo.atual = Objects.requireNonNull(registro, "Registro não pode ser nulo");
+    }
+
+    public static Registro atual() {
+        return RegistroAtivo.atual;
+    }
+
+    // === CONSULTAS ===
+    public Optional<Conta> buscarConta(long id) {
+        return Optional.ofNullable(contas.get(id));
+    }
+
+    /** Aceita CPF com ou sem formatação; CPFs mal formados simplesmente não são encontrados. */
+    public Optional<Cliente> buscarClientePorCpf(CharSequence cpf) {
+        long chave = Cpf.digitos(cpf);
+        return chave == Cpf.SEM_DIGITOS ? Optional.empty() : Optional.ofNullable(clientesPorCpf.get(chave));
+    }
+
+    public boolean cpfCadastrado(CharSequence cpf) {
+        return buscarClientePorCpf(cpf).isPresent();
+    }
+
+    public int quantidadeContas() {
+        return contas.size();
+    }
+
+    public int quantidadeClientes() {
+        return clientesPorCpf.size();
+    }
+
+    /** Cópia das contas registradas agora, sem ordem definida. */
+    public List<Conta> contas() {
+        return contas.valores();
+    }
+
+    /** Cópia dos clientes registrados agora, sem ordem definida. */
+    public List<Cliente> clientes() {
+        return clientesPorCpf.valores();
+    }
+
+    // === REMOÇÃO ===
+
+    /**
+     * Tira {@code cliente} e as suas contas deste registro: deixam de ser encontrados e o CPF fica livre.
+     * Só mexe no índice em memória; o que já foi para o {@link Diario} continua lá. Nada acontece com o
+     * que já tiver sido substituído por outra versão (ex: uma restauração).
+     */
+    public void remover(Cliente cliente) {
+        Objects.requireNonNull(cliente, "Cliente não pode ser nulo");
+        for (Conta conta : cliente.getContas()) {
+            if (contas.get(conta.getId()) == conta) {
+                contas.remove(conta.getId());
+            }
+        }
+        cancelarCliente(cliente);
+    }
+
+    // === USO INTERNO DO PACOTE ===
+
+    /** Reserva o CPF para {@code cliente}; falha se já houver outro cliente com o mesmo CPF. */
+    void registrarCliente(Cliente cliente) {
+        Cliente existente = clientesPorCpf.putIfAbsent(chaveCpfValido(cliente.getCpf()), cliente);
+        if (existente != null) {
+            throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.CPF_DUPLICADO,
+                    "Já existe um cliente com o CPF: " + cliente.getCpf());
+        }
+    }
+
+    /** Desfaz {@link #registrarCliente(Cliente)} quando a criação falha depois da reserva. */
+    void cancelarCliente(Cliente cliente) {
+        long chave = chaveCpfValido(cliente.getCpf());
+        if (clientesPorCpf.get(chave) == cliente) {
+            clientesPorCpf.remove(chave);
+        }
+    }
+
+    void registrarConta(Conta conta) {
+        if (contas.putIfAbsent(conta.getId(), conta) != null) {
+            throw new IllegalStateException("Já existe uma conta com o ID: " + conta.getId());
+        }
+    }
+
+    /** Reconstrução (ver {@link Restauracao}): a versão restaurada substitui a que houver. */
+    void substituirCliente(Cliente cliente) {
+        clientesPorCpf.put(chaveCpfValido(cliente.getCpf()), cliente);
+    }
+
+    void substituirConta(Conta conta) {
+        contas.put(conta.getId(), conta);
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private static long chaveCpfValido(String cpf) {
+        long chave = Cpf.digitos(cpf);
+        if (chave == Cpf.SEM_DIGITOS) {
+            throw new IllegalArgumentException("CPF inválido: " + cpf);
+        }
+        return chave;
+    }
+}
+
+final class RegistroAtivo {
+    static volatile Registro atual = new Registro();
+
+    private RegistroAtivo() {
+    }
+}
@@ -0,0 +1,134 @@
+package com.matheushstrindade.banking.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Regras de débito de uma conta (saques e transferências enviadas), imutáveis:
+ * <ul>
+ *   <li>cheque especial: quanto o saldo pode ficar negativo (0 = não pode);</li>
+ *   <li>limite diário: soma máxima de débitos nas últimas 24 h (ver {@link JanelaDeDebitos});</li>
+ *   <li>máximo por operação: valor máximo de um único débito.</li>
+ * </ul>
+ *
+ * Monte a partir de {@link #PADRAO} (o comportamento de sempre: sem cheque especial e sem limites) e instale
+ * com {@link Conta#definirRegras(RegrasConta)}:
+ * <pre>
+ *   conta.definirRegras(RegrasConta.PADRAO.comChequeEspecial(new BigDecimal("500.00"))
+ *                                          .comLimiteDiario(new BigDecimal("2000.00")));
+ * </pre>
+ *
+ * {@link #avaliar(long, long, long)} só compara {@code long}s: não aloca nada e devolve o motivo da recusa.
+ */
+public final class RegrasConta {
+    /** Limite diário ou por operação desligado. */
+    public static final long SEM_LIMITE = Long.MAX_VALUE;
+
+    public static final RegrasConta PADRAO = new RegrasConta(0L, SEM_LIMITE, SEM_LIMITE);
+
+    private final long chequeEspecialCentavos;
+    private final long limiteDiarioCentavos;
+    private final long maximoPorOperacaoCentavos;
+
+    private RegrasConta(long chequeEspecialCentavos, long limiteDiarioCentavos, long maximoPorOperacaoCentavos) {
+        if (chequeEspecialCentavos < 0) {
+            throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.VALOR_INVALIDO,
+                    "Cheque especial não pode ser negativo: R$ " + Centavos.formatar(chequeEspecialCentavos));
+        }
+        if (limiteDiarioCentavos <= 0 || maximoPorOperacaoCentavos <= 0) {
+            throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.VALOR_INVALIDO,
+                    "Limites devem ser maiores que zero: diário R$ " + Centavos.formatar(limiteDiarioCentavos)
+                            + " | por operação R$ " + Centavos.formatar(maximoPorOperacaoCentavos));
+        }
+        this.chequeEspecialCentavos = chequeEspecialCentavos;
+        this.limiteDiarioCentavos = limiteDiarioCentavos;
+        this.maximoPorOperacaoCentavos = maximoPorOperacaoCentavos;
+    }
+
+    /** Regras já em centavos (persistência, protocolo); {@link #SEM_LIMITE} desliga um limite. */
+    public static RegrasConta deCentavos(long chequeEspecial, long limiteDiario, long maximoPorOperacao) {
+        RegrasConta regras = new RegrasConta(chequeEspecial, limiteDiario, maximoPorOperacao);
+        return regras.equals(PADRAO) ? PADRAO : regras;
+    }
+
+    // === VARIAÇÕES ===
+    public RegrasConta comChequeEspecial(BigDecimal valor) {
+        return deCentavos(Centavos.de(Objects.requireNonNull(valor, "Cheque especial não pode ser nulo")),
+                limiteDiarioCentavos, maximoPorOperacaoCentavos);
+    }
+
+    /** {@code null} desliga o limite. */
+    public RegrasConta comLimiteDiario(BigDecimal valor) {
+        return deCentavos(chequeEspecialCentavos, valor == null ? SEM_LIMITE : Centavos.de(valor),
+                maximoPorOperacaoCentavos);
+    }
+
+    /** {@code null} desliga o limite. */
+    public RegrasConta comMaximoPorOperacao(BigDecimal valor) {
+        return deCentavos(chequeEspecialCentavos, limiteDiarioCentavos,
+                valor == null ? SEM_LIMITE : Centavos.de(valor));
+    }
+
+    // === GETTERS ===
+    public long getChequeEspecialCentavos() { return chequeEspecialCentavos; }
+    public long getLimiteDiarioCentavos() { return limiteDiarioCentavos; }
+    public long getMaximoPorOperacaoCentavos() { return maximoPorOperacaoCentavos; }
+    public boolean temLimiteDiario() { return limiteDiarioCentavos != SEM_LIMITE; }
+
+    // === AVALIAÇÃO ===
+
+    /**
+     * Motivo pelo qual um débito de {@code centavos} seria recusado, ou {@code null} se for permitido.
+     *
+     * @param saldo             saldo atual (pode estar negativo, dentro do cheque especial)
+     * @param debitadoNaJanela  débitos das últimas 24 h (ignorado sem limite diário)
+     */
+    OperacaoRecusadaException.Motivo avaliar(long centavos, long saldo, long debitadoNaJanela) {
+        if (centavos > maximoPorOperacaoCentavos) {
+            return OperacaoRecusadaException.Motivo.LIMITE_POR_OPERACAO;
+        }
+        if (centavos - chequeEspecialCentavos > saldo) { // saldo - centavos < -chequeEspecial, sem estouro
+            return OperacaoRecusadaException.Motivo.SALDO_INSUFICIENTE;
+        }
+        if (centavos > limiteDiarioCentavos - debitadoNaJanela) {
+            return OperacaoRecusadaException.Motivo.LIMITE_DIARIO;
+        }
+        return null;
+    }
+
+    /** Exceção para o motivo devolvido por {@link #avaliar(long, long, long)}; só montada na recusa. */
+    OperacaoRecusadaException recusa(OperacaoRecusadaException.Motivo motivo, long centavos, long saldo,
+                                     long debitadoNaJanela) {
+        String mensagem = switch (motivo) {
+            case LIMITE_POR_OPERACAO -> "Valor acima do máximo por operação. Máximo: R$ "
+                    + Centavos.formatar(maximoPorOperacaoCentavos) + " | Tentativa: R$ " + Centavos.formatar(centavos);
+            case LIMITE_DIARIO -> "Limite diário excedido. Limite: R$ " + Centavos.formatar(limiteDiarioCentavos)
+                    + " | Já debitado nas últimas 24 h: R$ " + Centavos.formatar(debitadoNaJanela)
+                    + " | Tentativa: R$ " + Centavos.formatar(centavos);
+            default -> "Saldo insuficiente. Saldo atual: R$ " + Centavos.formatar(saldo)
+                    + (chequeEspecialCentavos > 0 ? " | Cheque especial: R$ " + Centavos.formatar(chequeEspecialCentavos) : "")
+                    + " | Tentativa de saque: R$ " + Centavos.formatar(centavos);
+        };
+        return new OperacaoRecusadaException(motivo, mensagem);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RegrasConta outra && chequeEspecialCentavos == outra.chequeEspecialCentavos
+                && limiteDiarioCentavos == outra.limiteDiarioCentavos
+                && maximoPorOperacaoCentavos == outra.maximoPorOperacaoCentavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(chequeEspecialCentavos, limiteDiarioCentavos, maximoPorOperacaoCentavos);
+    }
+
+    @Override
+    public String toString() {
+        return "RegrasConta{chequeEspecial=R$ " + Centavos.formatar(chequeEspecialCentavos)
+                + ", limiteDiario=" + (temLimiteDiario() ? "R$ " + Centavos.formatar(limiteDiarioCentavos) : "sem limite")
+                + ", maximoPorOperacao=" + (maximoPorOperacaoCentavos != SEM_LIMITE
+                ? "R$ " + Centavos.formatar(maximoPorOperacaoCentavos) : "sem limite") + "}";
+    }
+}
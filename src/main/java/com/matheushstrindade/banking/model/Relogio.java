@@ -0,0 +1,125 @@
+package com.matheushstrindade.banking.model;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fonte de tempo do modelo: toda {@link Transacao} nasce com o instante dado pelo relógio instalado.
+ *
+ * O instante é um {@code long} de milissegundos desde a época (UTC); datas locais só são montadas,
+ * no fuso {@link #FUSO}, quando alguém as lê. O relógio padrão ({@link #SISTEMA}) é monotônico;
+ * testes e reprocessamentos instalam um relógio determinístico ({@link #fixo(Instant)},
+ * {@link RelogioManual}) com {@link #instalar(Relogio)}, para a JVM inteira, ou com
+ * {@link #instalarNaThread(Relogio)}, só para a thread que chama (ex: uma reprodução de diário
+ * enquanto o resto da JVM segue na hora real).
+ */
+public interface Relogio {
+
+    /** Fuso de exibição das datas, resolvido uma única vez. */
+    ZoneId FUSO = ZoneId.of("America/Sao_Paulo");
+
+    /** Relógio do sistema que nunca volta no tempo, mesmo se o relógio do SO for ajustado para trás. */
+    Relogio SISTEMA = new RelogioDoSistema();
+
+    /** Milissegundos desde 1970-01-01T00:00Z. */
+    long agoraEpochMillis();
+
+    default LocalDateTime agora() {
+        return paraDataHora(agoraEpochMillis());
+    }
+
+    default LocalDate hoje() {
+        return agora().toLocalDate();
+    }
+
+    // === RELÓGIOS PRONTOS ===
+
+    /** Sempre o mesmo instante. */
+    static Relogio fixo(Instant instante) {
+        long epochMillis = instante.toEpochMilli();
+        return () -> epochMillis;
+    }
+
+    /** Adapta um {@link Clock} do {@code java.time} (ex: {@code Clock.offset}). */
+    static Relogio de(Clock relogio) {
+        Objects.requireNonNull(relogio, "Relógio não pode ser nulo");
+        return relogio::millis;
+    }
+
+    // === INSTALAÇÃO ===
+
+    /** Instala o relógio usado pelo modelo; {@code null} volta ao {@link #SISTEMA}. */
+    static void instalar(Relogio relogio) {
+        RelogioAtivo.atual = relogio == null ? SISTEMA : relogio;
+    }
+
+    /**
+     * Relógio só desta thread, que tem precedência sobre o instalado; {@code null} tira o desta thread.
+     * Quem instala deve tirar ao terminar (num {@code finally}), para não deixar a thread de um pool
+     * com o relógio trocado.
+     */
+    static void instalarNaThread(Relogio relogio) {
+        Relogio anterior = RelogioAtivo.DA_THREAD.get();
+        if (relogio == null) {
+            if (anterior != null) {
+                RelogioAtivo.DA_THREAD.remove();
+                RelogioAtivo.threadsComRelogio.decrementAndGet();
+            }
+            return;
+        }
+        RelogioAtivo.DA_THREAD.set(relogio);
+        if (anterior == null) {
+            RelogioAtivo.threadsComRelogio.incrementAndGet();
+        }
+    }
+
+    /** O relógio desta thread, se houver ({@link #instalarNaThread(Relogio)}), senão o instalado. */
+    static Relogio atual() {
+        if (RelogioAtivo.threadsComRelogio.get() != 0) { // sem relógios por thread, nem consulta o ThreadLocal
+            Relogio daThread = RelogioAtivo.DA_THREAD.get();
+            if (daThread != null) {
+                return daThread;
+            }
+        }
+        return RelogioAtivo.atual;
+    }
+
+    // === CONVERSÃO ===
+    static LocalDateTime paraDataHora(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), FUSO);
+    }
+
+    static long paraEpochMillis(LocalDateTime dataHora) {
+        return dataHora.atZone(FUSO).toInstant().toEpochMilli();
+    }
+}
+
+final class RelogioAtivo {
+    static final ThreadLocal<Relogio> DA_THREAD = new ThreadLocal<>();
+    static final AtomicInteger threadsComRelogio = new AtomicInteger();
+    static volatile Relogio atual = Relogio.SISTEMA;
+
+    private RelogioAtivo() {
+    }
+}
+
+final class RelogioDoSistema implements Relogio {
+    private final AtomicLong ultimo = new AtomicLong(Long.MIN_VALUE);
+
+    @Override
+    public long agoraEpochMillis() {
+        long agora = System.currentTimeMillis();
+        long anterior = ultimo.get();
+        if (agora > anterior) {
+            // no máximo uma escrita por milissegundo e por thread; o resto é só leitura
+            return ultimo.accumulateAndGet(agora, Math::max);
+        }
+        return anterior; // relógio do SO voltou ou ainda no mesmo milissegundo
+    }
+}
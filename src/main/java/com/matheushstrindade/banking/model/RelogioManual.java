@@ -0,0 +1,51 @@
+package com.matheushstrindade.banking.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relógio determinístico: só anda quando mandado. Para testes e reprocessamento de cargas gravadas.
+ *
+ * <pre>
+ *   RelogioManual relogio = new RelogioManual(Instant.parse("2025-01-01T12:00:00Z"));
+ *   Relogio.instalar(relogio);
+ *   conta.depositar(valor);             // transação às 12:00:00Z
+ *   relogio.avancar(Duration.ofDays(1));
+ * </pre>
+ */
+public final class RelogioManual implements Relogio {
+    private final AtomicLong epochMillis;
+    private final long passo;
+
+    public RelogioManual(Instant inicio) {
+        this(inicio, Duration.ZERO);
+    }
+
+    /** Avança {@code passo} sozinho a cada leitura (útil para gerar instantes distintos). */
+    public RelogioManual(Instant inicio, Duration passo) {
+        if (passo.isNegative()) {
+            throw new IllegalArgumentException("Passo do relógio não pode ser negativo: " + passo);
+        }
+        this.epochMillis = new AtomicLong(inicio.toEpochMilli());
+        this.passo = passo.toMillis();
+    }
+
+    @Override
+    public long agoraEpochMillis() {
+        return passo == 0 ? epochMillis.get() : epochMillis.getAndAdd(passo);
+    }
+
+    public void avancar(Duration duracao) {
+        epochMillis.addAndGet(duracao.toMillis());
+    }
+
+    public void ajustar(Instant instante) {
+        epochMillis.set(instante.toEpochMilli());
+    }
+
+    /** Como {@link #ajustar(Instant)}, sem criar o {@link Instant} (reprodução lançamento a lançamento). */
+    public void ajustar(long epochMillis) {
+        this.epochMillis.set(epochMillis);
+    }
+}
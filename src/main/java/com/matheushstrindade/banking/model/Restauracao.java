@@ -0,0 +1,220 @@
+package com.matheushstrindade.banking.model;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * Reconstrução do modelo a partir de dados persistidos (diário, snapshot) e captura
+ * consistente de estado para snapshots.
+ * Nada aqui passa pelo {@link Diario} nem refaz validações de negócio: os dados já foram
+ * validados quando foram gravados. Não use para operações normais.
+ *
+ * O que cria ou muda contas e clientes é de instância, e só o modelo cria instâncias: o diário
+ * recebe a sua em {@link Diario#recuperar(Restauracao)}, ao ser instalado. Assim os depósitos,
+ * saques e transferências de {@link Conta} e {@link Transferencias} continuam sendo as únicas
+ * formas de mexer no saldo fora da recuperação. Leituras e fábricas de valores são estáticas.
+ */
+public final class Restauracao {
+
+    Restauracao() {
+    }
+
+    public Cliente cliente(String nome, String cpf, LocalDate dataNascimento) {
+        return new Cliente(nome, cpf, dataNascimento, false);
+    }
+
+    /** Recria uma conta com o ID original; o gerador de IDs passa a emitir apenas IDs maiores. */
+    public Conta conta(Long id, Cliente titular, long saldoCentavos) {
+        int tipos = Transacao.Tipo.values().length;
+        return conta(id, titular, resumo(saldoCentavos, new long[tipos], new long[tipos], new long[tipos]));
+    }
+
+    /** Como {@link #conta(Long, Cliente, long)}, já com os totais acumulados; o saldo é o patrimônio do resumo. */
+    public Conta conta(Long id, Cliente titular, ResumoFinanceiro resumo) {
+        return new Conta(id, titular, resumo);
+    }
+
+    /**
+     * Como {@link #conta(Long, Cliente, ResumoFinanceiro)}, com o extrato gravado em vez de um extrato vazio;
+     * ele deve terminar no patrimônio do resumo ({@link IllegalArgumentException} se não terminar).
+     */
+    public Conta conta(Long id, Cliente titular, ResumoFinanceiro resumo, ExtratoGravado extrato) {
+        return new Conta(id, titular, resumo, extrato.livro);
+    }
+
+    /** Totais gravados; os vetores são indexados por {@link Transacao.Tipo#ordinal()}, saídas sem sinal. */
+    public static ResumoFinanceiro resumo(long saldoCentavos, long[] entradas, long[] saidas, long[] quantidades) {
+        int tipos = Transacao.Tipo.values().length;
+        if (entradas.length != tipos || saidas.length != tipos || quantidades.length != tipos) {
+            throw new IllegalArgumentException("Totais devem ter um valor por tipo de transação: " + tipos);
+        }
+        return new ResumoFinanceiro(entradas.clone(), saidas.clone(), quantidades.clone(), saldoCentavos);
+    }
+
+    /** {@code valorCentavos} sinalizado, como em {@link Transacao#getValorCentavos()}. */
+    public static Transacao transacao(Transacao.Tipo tipo, long valorCentavos, long instanteEpochMillis,
+                                      Long contaContraparte) {
+        return new Transacao(tipo, valorCentavos, instanteEpochMillis, contaContraparte);
+    }
+
+    /**
+     * Executa {@code leitura} segurando a trava da conta: nenhum lançamento fica "no meio do caminho"
+     * (registrado no diário mas ainda não aplicado ao saldo) durante a leitura.
+     */
+    public static <T> T lerSobTrava(Conta conta, Supplier<T> leitura) {
+        conta.getTrava().lock();
+        try {
+            return leitura.get();
+        } finally {
+            conta.getTrava().unlock();
+        }
+    }
+
+    /**
+     * Extrato da conta como está agora, para gravá-lo depois, fora da trava (ver {@link ExtratoCapturado}).
+     * Chame dentro de {@link #lerSobTrava(Conta, Supplier)}, junto com o resto do estado da conta.
+     */
+    public static ExtratoCapturado capturarExtrato(Conta conta) {
+        return new ExtratoCapturado(conta.capturarExtrato());
+    }
+
+    /** Extrato vazio a remontar, a partir de {@code saldoAbertura}, para {@link #conta(Long, Cliente, ResumoFinanceiro, ExtratoGravado)}. */
+    public static ExtratoGravado extratoGravado(long contaId, long saldoAbertura) {
+        return new ExtratoGravado(new LivroRazao(contaId, saldoAbertura));
+    }
+
+    public static long proximoIdDeConta() {
+        return Conta.getProximoId();
+    }
+
+    /** Garante que o gerador de IDs de conta não emita nada abaixo de {@code proximoId}. */
+    public void reservarIdsDeConta(long proximoId) {
+        Conta.avancarProximoId(proximoId);
+    }
+
+    /**
+     * Débitos recentes que contam para o limite diário ({@code null} se a conta nunca teve limite diário).
+     * Chame dentro de {@link #lerSobTrava(Conta, Supplier)}, junto com o resto do estado da conta.
+     */
+    public static long[] debitosRecentes(Conta conta) {
+        return conta.estadoDaJanela();
+    }
+
+    /**
+     * Regras gravadas; {@code debitosRecentes} como devolvido por {@link #debitosRecentes(Conta)}, ou {@code null}
+     * para recontá-los pelo extrato já reconstruído.
+     */
+    public void regras(Conta conta, RegrasConta regras, long[] debitosRecentes) {
+        conta.getTrava().lock();
+        try {
+            conta.restaurarRegras(regras, debitosRecentes);
+        } finally {
+            conta.getTrava().unlock();
+        }
+    }
+
+    public void aplicar(Conta conta, Transacao transacao) {
+        conta.getTrava().lock();
+        try {
+            conta.aplicar(transacao);
+        } finally {
+            conta.getTrava().unlock();
+        }
+    }
+
+    // === EXTRATO NO SNAPSHOT ===
+
+    /**
+     * Extrato de uma conta segmento a segmento, como estava na captura. Segmentos arquivados (ver
+     * {@link ArquivoExtrato}) aparecem só pelo checkpoint; as linhas dos demais não mudam mais e podem
+     * ser lidas sem a trava da conta.
+     */
+    public static final class ExtratoCapturado {
+        private final LivroRazao.Captura captura;
+
+        private ExtratoCapturado(LivroRazao.Captura captura) {
+            this.captura = captura;
+        }
+
+        /** Saldo antes do primeiro lançamento (ver {@link Conta#getSaldoAntesDoExtratoCentavos()}). */
+        public long getSaldoAberturaCentavos() {
+            return captura.saldoAbertura();
+        }
+
+        public int getLinhas() {
+            return captura.linhas();
+        }
+
+        public int getSegmentos() {
+            return captura.segmentos();
+        }
+
+        /** Lançamentos no segmento; todos os segmentos menos o último estão cheios. */
+        public int getLinhas(int segmento) {
+            return captura.linhas(segmento);
+        }
+
+        public boolean isArquivado(int segmento) {
+            return captura.arquivado(segmento);
+        }
+
+        /** Checkpoint de um segmento arquivado: instante do primeiro lançamento. */
+        public long getPrimeiroInstante(int segmento) {
+            return captura.primeiroInstante(segmento);
+        }
+
+        /** Saldo antes do primeiro lançamento do segmento. */
+        public long getSaldoInicialCentavos(int segmento) {
+            return captura.saldoInicial(segmento);
+        }
+
+        /** Checkpoint de um segmento arquivado: saldo depois do último lançamento. */
+        public long getSaldoFinalCentavos(int segmento) {
+            return captura.saldoFinal(segmento);
+        }
+
+        /** Lançamentos de um segmento que não está arquivado, em ordem. */
+        public void percorrer(int segmento, Conta.VisitanteExtrato visitante) {
+            if (captura.arquivado(segmento)) {
+                throw new IllegalStateException("Segmento " + segmento + " está arquivado: só o checkpoint foi capturado");
+            }
+            captura.percorrer(segmento, visitante);
+        }
+    }
+
+    /**
+     * Extrato lido de um snapshot, remontado na mesma ordem de {@link ExtratoCapturado} antes de a conta
+     * existir: nada aqui mexe no {@link Registro} nem no titular.
+     */
+    public static final class ExtratoGravado {
+        private final LivroRazao livro;
+
+        private ExtratoGravado(LivroRazao livro) {
+            this.livro = livro;
+        }
+
+        /**
+         * Próximo segmento, que está no {@link ArquivoExtrato} instalado: volta à memória só quando lido.
+         *
+         * @throws IllegalStateException se não há arquivo de extrato instalado
+         * @throws IllegalArgumentException se o segmento não emenda com o anterior
+         */
+        public void arquivado(int linhas, long primeiroInstante, long saldoInicialCentavos, long saldoFinalCentavos) {
+            ArquivoExtrato arquivo = ArquivoExtrato.atual();
+            if (arquivo == ArquivoExtrato.NENHUM) {
+                throw new IllegalStateException("Extrato da conta " + livro.contaId()
+                        + " tem segmentos arquivados, mas nenhum arquivo de extrato está instalado");
+            }
+            livro.adicionarArquivado(arquivo, linhas, primeiroInstante, saldoInicialCentavos, saldoFinalCentavos);
+        }
+
+        /** Próximo lançamento; {@code contaContraparte} {@code 0} quando não há. */
+        public void lancamento(Transacao.Tipo tipo, long valorCentavos, long instanteEpochMillis, long contaContraparte) {
+            livro.adicionar(tipo, valorCentavos, instanteEpochMillis, contaContraparte);
+        }
+
+        public long getSaldoCentavos() {
+            return livro.saldo();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.matheushstrindade.banking.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Totais acumulados de uma conta ou de um cliente (soma das suas contas), num instante.
+ * Imutável: é uma fotografia coerente, em que totais e quantidades refletem exatamente os mesmos lançamentos.
+ *
+ * @see Conta#getResumo()
+ * @see Cliente#getResumo()
+ */
+public final class ResumoFinanceiro {
+    private static final Transacao.Tipo[] TIPOS = Transacao.Tipo.values();
+
+    private final long[] entradas;    // centavos, por Tipo.ordinal()
+    private final long[] saidas;      // centavos (positivos), por Tipo.ordinal()
+    private final long[] quantidades; // por Tipo.ordinal()
+    private final long patrimonio;    // centavos
+
+    ResumoFinanceiro(long[] entradas, long[] saidas, long[] quantidades, long patrimonio) {
+        this.entradas = entradas;
+        this.saidas = saidas;
+        this.quantidades = quantidades;
+        this.patrimonio = patrimonio;
+    }
+
+    // === GETTERS ===
+
+    /** Saldo somado (na conta, o próprio saldo; no cliente, o patrimônio em todas as contas). */
+    public BigDecimal getPatrimonio() { return Centavos.paraBigDecimal(patrimonio); }
+
+    public long getPatrimonioCentavos() { return patrimonio; }
+
+    public BigDecimal getTotalDepositado() { return Centavos.paraBigDecimal(getEntradasCentavos(Transacao.Tipo.DEPOSITO)); }
+
+    public BigDecimal getTotalSacado() { return Centavos.paraBigDecimal(getSaidasCentavos(Transacao.Tipo.SAQUE)); }
+
+    /** Soma dos valores positivos (créditos) do tipo, em centavos. */
+    public long getEntradasCentavos(Transacao.Tipo tipo) {
+        return entradas[Objects.requireNonNull(tipo, "Tipo não pode ser nulo").ordinal()];
+    }
+
+    /** Soma dos valores negativos (débitos) do tipo, em centavos e sem sinal. */
+    public long getSaidasCentavos(Transacao.Tipo tipo) {
+        return saidas[Objects.requireNonNull(tipo, "Tipo não pode ser nulo").ordinal()];
+    }
+
+    public long getQuantidade(Transacao.Tipo tipo) {
+        return quantidades[Objects.requireNonNull(tipo, "Tipo não pode ser nulo").ordinal()];
+    }
+
+    /** Quantidade de transações de todos os tipos. */
+    public long getQuantidadeTotal() {
+        long total = 0;
+        for (long quantidade : quantidades) {
+            total += quantidade;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder("ResumoFinanceiro{patrimônio=R$ ");
+        Centavos.anexar(texto, patrimonio);
+        for (Transacao.Tipo tipo : TIPOS) {
+            int i = tipo.ordinal();
+            texto.append(", ").append(tipo.getDescricao()).append("s=").append(quantidades[i])
+                    .append(" (+R$ ");
+            Centavos.anexar(texto, entradas[i]);
+            texto.append(" / -R$ ");
+            Centavos.anexar(texto, saidas[i]);
+            texto.append(')');
+        }
+        return texto.append('}').toString();
+    }
+}
@@ -3,17 +3,26 @@ package com.matheushstrindade.banking.model;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.Objects;
 
+/**
+ * Transação imutável. O valor é guardado como {@code long} de centavos, sinalizado
+ * (positivo = entrada, negativo = saída); {@link #getValor()} converte para {@link BigDecimal}.
+ * O instante vem do {@link Relogio} instalado e fica como epoch millis; {@link #getDataHora()}
+ * monta o {@link LocalDateTime} só quando chamado.
+ */
 public final class Transacao {
     private final Tipo tipo;
-    private final BigDecimal valor;
-    private final LocalDateTime dataHora;
+    private final long valor; // centavos, sinalizado
+    private final long instante; // epoch millis
+    private final Long contaContraparte; // apenas em transferências
 
     public enum Tipo {
         DEPOSITO("depósito"),
-        SAQUE("saque");
+        SAQUE("saque"),
+        TRANSFERENCIA("transferência"),
+        /** Saldo inicial da conta, primeiro lançamento do extrato (pode ser zero). */
+        ABERTURA("abertura");
 
         private final String descricao;
 
@@ -26,61 +35,95 @@ public final class Transacao {
         }
     }
 
-    private Transacao(Tipo tipo, BigDecimal valor) {
+    private Transacao(Tipo tipo, long valor, Long contaContraparte) {
+        this(tipo, valor, Relogio.atual().agoraEpochMillis(), contaContraparte);
+    }
+
+    /** Usado na reconstrução (ver {@link Restauracao}), preservando o instante original. */
+    Transacao(Tipo tipo, long valor, long instanteEpochMillis, Long contaContraparte) {
         this.tipo = Objects.requireNonNull(tipo, "Tipo da transação não pode ser nulo");
-        this.valor = Objects.requireNonNull(valor, "Valor da transação não pode ser nulo")
-                .setScale(2, RoundingMode.HALF_EVEN);
-        this.dataHora = LocalDateTime.now(ZoneId.of("America/Sao_Paulo"));
+        this.valor = valor;
+        this.instante = instanteEpochMillis;
+        this.contaContraparte = contaContraparte;
     }
 
     // === MÉTODOS FÁBRICA ===
     public static Transacao deposito(BigDecimal valor) {
         Objects.requireNonNull(valor, "Valor não pode ser nulo");
-        if (valor.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException(
-                    "Valor do depósito deve ser maior que zero. Tentativa: R$ " + formatarMoeda(valor)
-            );
-        }
-        return new Transacao(Tipo.DEPOSITO, valor);
+        validarValorPositivo(valor, Tipo.DEPOSITO);
+        return new Transacao(Tipo.DEPOSITO, Centavos.de(valor), null);
     }
 
     public static Transacao saque(BigDecimal valor) {
         Objects.requireNonNull(valor, "Valor não pode ser nulo");
-        if (valor.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException(
-                    "Valor do saque deve ser maior que zero. Tentativa: R$ " + formatarMoeda(valor)
-            );
-        }
-        return new Transacao(Tipo.SAQUE, valor.negate());
+        validarValorPositivo(valor, Tipo.SAQUE);
+        return new Transacao(Tipo.SAQUE, Centavos.negar(Centavos.de(valor)), null);
+    }
+
+    /** Perna de saída de uma transferência: valor negativo, contraparte = conta de destino. */
+    public static Transacao transferenciaEnviada(BigDecimal valor, Long contaDestino) {
+        Objects.requireNonNull(valor, "Valor não pode ser nulo");
+        Objects.requireNonNull(contaDestino, "Conta de destino não pode ser nula");
+        validarValorPositivo(valor, Tipo.TRANSFERENCIA);
+        return new Transacao(Tipo.TRANSFERENCIA, Centavos.negar(Centavos.de(valor)), contaDestino);
+    }
+
+    /** Perna de entrada de uma transferência: valor positivo, contraparte = conta de origem. */
+    public static Transacao transferenciaRecebida(BigDecimal valor, Long contaOrigem) {
+        Objects.requireNonNull(valor, "Valor não pode ser nulo");
+        Objects.requireNonNull(contaOrigem, "Conta de origem não pode ser nula");
+        validarValorPositivo(valor, Tipo.TRANSFERENCIA);
+        return new Transacao(Tipo.TRANSFERENCIA, Centavos.de(valor), contaOrigem);
+    }
+
+    /** Caminho interno sem {@link BigDecimal}: valor já validado, em centavos e com sinal. */
+    static Transacao deCentavos(Tipo tipo, long valorSinalizado, Long contaContraparte) {
+        return new Transacao(tipo, valorSinalizado, contaContraparte);
     }
 
     // === GETTERS ===
     public Tipo getTipo() { return tipo; }
 
-    public BigDecimal getValor() { return valor; }
+    public BigDecimal getValor() { return Centavos.paraBigDecimal(valor); }
+
+    /** Valor sinalizado em centavos, sem alocação. */
+    public long getValorCentavos() { return valor; }
+
+    /** Data/hora local ({@link Relogio#FUSO}), montada a cada chamada. */
+    public LocalDateTime getDataHora() { return Relogio.paraDataHora(instante); }
 
-    public LocalDateTime getDataHora() { return dataHora; }
+    /** Instante da transação em milissegundos desde a época (UTC), sem alocação. */
+    public long getInstanteEpochMillis() { return instante; }
 
     public boolean isDeposito() { return tipo == Tipo.DEPOSITO; }
 
     public boolean isSaque() { return tipo == Tipo.SAQUE; }
 
+    public boolean isTransferencia() { return tipo == Tipo.TRANSFERENCIA; }
+
+    /** Conta do outro lado da transferência, ou {@code null} para depósitos e saques. */
+    public Long getContaContraparte() { return contaContraparte; }
+
     // === VALIDAÇÃO ===
     private static void validarValorPositivo(BigDecimal valor, Tipo tipo) {
-        if (valor.compareTo(BigDecimal.ZERO) <= 0) {
+        if (valor.signum() <= 0) {
             throw new IllegalArgumentException(
-                    "Valor do " + tipo.getDescricao() + " deve ser maior que zero. Tentativa: R$ " + formatarMoeda(valor.abs())
+                    "Valor do " + tipo.getDescricao() + " deve ser maior que zero. Tentativa: R$ " + formatarMoeda(valor)
             );
         }
     }
 
     // === FORMATAÇÃO ===
     public String getValorFormatado() {
-        String sinal = valor.compareTo(BigDecimal.ZERO) >= 0 ? "+" : "-";
-        return sinal + "R$ " + formatarMoeda(valor.abs());
+        return anexarValorFormatado(new StringBuilder(24)).toString();
     }
 
-    private static String formatarMoeda(BigDecimal valor) {
+    private StringBuilder anexarValorFormatado(StringBuilder destino) {
+        destino.append(valor >= 0 ? "+R$ " : "-R$ ");
+        return Centavos.anexar(destino, Math.abs(valor));
+    }
+
+    private static String formatarMoeda(BigDecimal valor) { // só em mensagens de erro
         return valor.setScale(2, RoundingMode.HALF_EVEN)
                 .toPlainString()
                 .replace('.', ',');
@@ -88,10 +131,13 @@ public final class Transacao {
 
     @Override
     public String toString() {
-        return String.format("[%s] %s %s",
-                dataHora.toLocalDate(),
-                tipo.getDescricao().toUpperCase(),
-                getValorFormatado()
-        );
+        StringBuilder texto = new StringBuilder(64)
+                .append('[').append(getDataHora().toLocalDate()).append("] ")
+                .append(tipo.getDescricao().toUpperCase()).append(' ');
+        anexarValorFormatado(texto);
+        if (contaContraparte != null) {
+            texto.append(valor < 0 ? " → conta " : " ← conta ").append(contaContraparte.longValue());
+        }
+        return texto.toString();
     }
-}
\ No newline at end of file
+}
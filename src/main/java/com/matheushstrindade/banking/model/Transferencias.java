@@ -0,0 +1,135 @@
+package com.matheushstrindade.banking.model;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Transferências atômicas entre contas.
+ *
+ * Todas as travas envolvidas são adquiridas em ordem crescente de {@link Conta#getId()},
+ * então duas transferências em sentidos opostos (A → B e B → A) nunca entram em deadlock.
+ * Cada transferência gera duas transações {@link Transacao.Tipo#TRANSFERENCIA}:
+ * uma negativa na origem e uma positiva no destino.
+ */
+public final class Transferencias {
+
+    /** Uma perna de um lote: mover {@code valor} de {@code origem} para {@code destino}. */
+    public record Ordem(Conta origem, Conta destino, BigDecimal valor) {
+        public Ordem {
+            Objects.requireNonNull(origem, "Conta de origem não pode ser nula");
+            Objects.requireNonNull(destino, "Conta de destino não pode ser nula");
+            Conta.validarValorPositivo(valor, "transferência");
+            if (origem == destino) {
+                throw new IllegalArgumentException("Conta de origem e destino devem ser diferentes");
+            }
+        }
+    }
+
+    private Transferencias() {
+    }
+
+    // === OPERAÇÕES ===
+
+    /**
+     * Move {@code valor} de {@code origem} para {@code destino}: ou as duas pernas acontecem, ou nenhuma.
+     *
+     * @throws IllegalArgumentException se o valor for inválido, as contas forem a mesma
+     *                                  ou a origem não tiver saldo suficiente
+     */
+    public static void transferir(Conta origem, Conta destino, BigDecimal valor) {
+        executarLote(List.of(new Ordem(origem, destino, valor)));
+    }
+
+    /**
+     * Folha de pagamento: uma origem pagando várias contas num único lote atômico.
+     * A ordem de iteração do mapa é preservada no extrato da origem.
+     */
+    public static void transferirEmLote(Conta origem, Map<Conta, BigDecimal> pagamentos) {
+        Objects.requireNonNull(pagamentos, "Pagamentos não podem ser nulos");
+        List<Ordem> ordens = new ArrayList<>(pagamentos.size());
+        pagamentos.forEach((destino, valor) -> ordens.add(new Ordem(origem, destino, valor)));
+        executarLote(ordens);
+    }
+
+    /**
+     * Executa todas as ordens de forma atômica, travando cada conta envolvida uma única vez.
+     * As ordens são avaliadas em sequência; se qualquer uma deixar uma conta com saldo negativo,
+     * o lote inteiro é rejeitado e nenhum saldo é alterado.
+     */
+    public static void executarLote(List<Ordem> ordens) {
+        Objects.requireNonNull(ordens, "Ordens não podem ser nulas");
+        if (ordens.isEmpty()) {
+            return;
+        }
+
+        long[] centavos = new long[ordens.size()];
+        for (int i = 0; i < centavos.length; i++) {
+            centavos[i] = Centavos.de(ordens.get(i).valor());
+            if (centavos[i] <= 0) {
+                throw new OperacaoRecusadaException(OperacaoRecusadaException.Motivo.VALOR_INVALIDO,
+                        "Valor da transferência deve ser maior que zero: R$ " + Centavos.formatar(centavos[i]));
+            }
+        }
+
+        List<Conta> contas = contasEmOrdemGlobal(ordens);
+        int travadas = 0;
+        try {
+            for (Conta conta : contas) {
+                conta.getTrava().lock();
+                travadas++;
+            }
+            validarSaldos(ordens, centavos);
+            List<Diario.Lancamento> lancamentos = new ArrayList<>(ordens.size() * 2);
+            for (int i = 0; i < centavos.length; i++) {
+                Conta origem = ordens.get(i).origem();
+                Conta destino = ordens.get(i).destino();
+                lancamentos.add(new Diario.Lancamento(origem,
+                        Transacao.deCentavos(Transacao.Tipo.TRANSFERENCIA, -centavos[i], destino.getId())));
+                lancamentos.add(new Diario.Lancamento(destino,
+                        Transacao.deCentavos(Transacao.Tipo.TRANSFERENCIA, centavos[i], origem.getId())));
+            }
+            Diario.atual().registrar(lancamentos); // um único registro durável para o lote inteiro
+            for (Diario.Lancamento lancamento : lancamentos) {
+                lancamento.conta().aplicar(lancamento.transacao());
+            }
+        } finally {
+            for (int i = travadas - 1; i >= 0; i--) {
+                contas.get(i).getTrava().unlock();
+            }
+        }
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private static List<Conta> contasEmOrdemGlobal(List<Ordem> ordens) {
+        Map<Long, Conta> distintas = new TreeMap<>(); // ordenado por ID
+        for (Ordem ordem : ordens) {
+            distintas.putIfAbsent(ordem.origem().getId(), ordem.origem());
+            distintas.putIfAbsent(ordem.destino().getId(), ordem.destino());
+        }
+        return new ArrayList<>(distintas.values());
+    }
+
+    /**
+     * Simula o lote sobre os saldos atuais (todas as travas já seguras): por conta, {saldo projetado, débitos do
+     * lote}, para as regras de cada origem verem também o que o próprio lote já debitou.
+     */
+    private static void validarSaldos(List<Ordem> ordens, long[] centavos) {
+        Map<Conta, long[]> projetado = new HashMap<>();
+        for (int i = 0; i < centavos.length; i++) {
+            Conta origem = ordens.get(i).origem();
+            Conta destino = ordens.get(i).destino();
+            long[] daOrigem = projetado.computeIfAbsent(origem, c -> new long[]{c.getSaldoCentavos(), 0L});
+            origem.validarDebito(centavos[i], daOrigem[0], daOrigem[1]);
+            daOrigem[0] -= centavos[i];
+            daOrigem[1] += centavos[i];
+            long[] doDestino = projetado.computeIfAbsent(destino, c -> new long[]{c.getSaldoCentavos(), 0L});
+            doDestino[0] = Centavos.somar(doDestino[0], centavos[i]);
+        }
+    }
+}
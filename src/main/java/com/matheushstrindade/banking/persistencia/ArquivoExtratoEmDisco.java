@@ -0,0 +1,216 @@
+package com.matheushstrindade.banking.persistencia;
+
+import com.matheushstrindade.banking.model.ArquivoExtrato;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@link ArquivoExtrato} em disco: um arquivo comprimido (deflate) por segmento de extrato,
+ * {@code extrato-<conta>-<primeiraLinha>.seg}.
+ *
+ * <pre>
+ * segmento = MAGICO:int VERSAO:int contaId:long primeiraLinha:long quantidade:int
+ *            saldoInicial:long saldoFinal:long(centavos) tamanhoOriginal:int tamanhoComprimido:int crc:int
+ *            dados(deflate)
+ * </pre>
+ *
+ * O CRC-32C cobre os dados comprimidos; o cabeçalho traz o checkpoint de saldo do segmento, legível
+ * sem descomprimir. Cada arquivo é escrito num temporário e movido atomicamente. Os segmentos ficam
+ * entre execuções (o nome só depende da conta e da primeira linha): o snapshot do diário aponta para
+ * eles em vez de copiar as linhas, e um segmento arquivado de novo depois da recuperação tem o mesmo
+ * conteúdo. {@link #abrir(Path, int)} só apaga temporários de gravações interrompidas.
+ */
+public final class ArquivoExtratoEmDisco implements ArquivoExtrato {
+    static final String PREFIXO = "extrato-";
+    static final String SUFIXO = ".seg";
+
+    private static final int MAGICO = 0x424B4558; // "BKEX"
+    private static final int VERSAO = 1;
+    private static final int CABECALHO = 4 + 4 + 8 + 8 + 4 + 8 + 8 + 4 + 4 + 4;
+
+    private final Path diretorio;
+    private final int linhasQuentes;
+    private final AtomicLong segmentosGravados = new AtomicLong();
+    private final AtomicLong bytesOriginais = new AtomicLong();
+    private final AtomicLong bytesGravados = new AtomicLong();
+    private final AtomicLong segmentosLidos = new AtomicLong();
+
+    private ArquivoExtratoEmDisco(Path diretorio, int linhasQuentes) {
+        this.diretorio = diretorio;
+        this.linhasQuentes = linhasQuentes;
+    }
+
+    /**
+     * Prepara {@code diretorio} para receber segmentos, mantendo os já gravados; cada conta mantém em
+     * memória pelo menos {@code linhasQuentes} lançamentos. Ainda não está instalado: chame
+     * {@link ArquivoExtrato#instalar}.
+     */
+    public static ArquivoExtratoEmDisco abrir(Path diretorio, int linhasQuentes) throws IOException {
+        if (linhasQuentes < 0) {
+            throw new IllegalArgumentException("Linhas em memória não podem ser negativas: " + linhasQuentes);
+        }
+        Files.createDirectories(diretorio);
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            for (Path arquivo : (Iterable<Path>) arquivos::iterator) {
+                String nome = arquivo.getFileName().toString();
+                if (nome.startsWith(PREFIXO) && nome.endsWith(SUFIXO + ".tmp")) {
+                    Files.delete(arquivo);
+                }
+            }
+        }
+        return new ArquivoExtratoEmDisco(diretorio, linhasQuentes);
+    }
+
+    // === ESTATÍSTICAS ===
+    public long getSegmentosGravados() {
+        return segmentosGravados.get();
+    }
+
+    public long getSegmentosLidos() {
+        return segmentosLidos.get();
+    }
+
+    /** Tamanho dos segmentos gravados antes da compressão. */
+    public long getBytesOriginais() {
+        return bytesOriginais.get();
+    }
+
+    /** Tamanho dos segmentos gravados em disco, com cabeçalho. */
+    public long getBytesGravados() {
+        return bytesGravados.get();
+    }
+
+    // === ARQUIVO EXTRATO ===
+    @Override
+    public int linhasQuentes() {
+        return linhasQuentes;
+    }
+
+    @Override
+    public void gravar(long contaId, long primeiraLinha, int quantidade, long saldoInicial, long saldoFinal,
+                       ByteBuffer colunas) {
+        int tamanhoOriginal = colunas.remaining();
+        byte[] comprimido = comprimir(colunas);
+        CRC32C crc = new CRC32C();
+        crc.update(comprimido);
+
+        ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO)
+                .putInt(MAGICO).putInt(VERSAO)
+                .putLong(contaId).putLong(primeiraLinha).putInt(quantidade)
+                .putLong(saldoInicial).putLong(saldoFinal)
+                .putInt(tamanhoOriginal).putInt(comprimido.length).putInt((int) crc.getValue())
+                .flip();
+        Path destino = caminho(contaId, primeiraLinha);
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try {
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer[] partes = {cabecalho, ByteBuffer.wrap(comprimido)};
+                while (partes[1].hasRemaining()) {
+                    canal.write(partes);
+                }
+            }
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao arquivar extrato em " + destino, e);
+        }
+        segmentosGravados.incrementAndGet();
+        bytesOriginais.addAndGet(tamanhoOriginal);
+        bytesGravados.addAndGet(CABECALHO + comprimido.length);
+    }
+
+    @Override
+    public ByteBuffer ler(long contaId, long primeiraLinha) {
+        Path origem = caminho(contaId, primeiraLinha);
+        ByteBuffer arquivo;
+        try (FileChannel canal = FileChannel.open(origem, StandardOpenOption.READ)) {
+            arquivo = ByteBuffer.allocate((int) canal.size());
+            while (arquivo.hasRemaining()) {
+                if (canal.read(arquivo) < 0) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler extrato arquivado em " + origem, e);
+        }
+        arquivo.flip();
+        if (arquivo.remaining() < CABECALHO || arquivo.getInt() != MAGICO || arquivo.getInt() != VERSAO
+                || arquivo.getLong() != contaId || arquivo.getLong() != primeiraLinha) {
+            throw new IllegalStateException("Segmento de extrato inválido: " + origem);
+        }
+        arquivo.position(arquivo.position() + 4 + 8 + 8); // quantidade e checkpoint: conferidos por quem lê
+        int tamanhoOriginal = arquivo.getInt();
+        int tamanhoComprimido = arquivo.getInt();
+        int crcGravado = arquivo.getInt();
+        if (arquivo.remaining() != tamanhoComprimido) {
+            throw new IllegalStateException("Segmento de extrato truncado: " + origem);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(arquivo.duplicate());
+        if ((int) crc.getValue() != crcGravado) {
+            throw new IllegalStateException("Segmento de extrato corrompido (CRC): " + origem);
+        }
+        ByteBuffer colunas = descomprimir(arquivo, tamanhoOriginal, origem);
+        segmentosLidos.incrementAndGet();
+        return colunas;
+    }
+
+    // === MÉTODOS AUXILIARES ===
+    private Path caminho(long contaId, long primeiraLinha) {
+        return diretorio.resolve(PREFIXO + contaId + "-" + primeiraLinha + SUFIXO);
+    }
+
+    private static byte[] comprimir(ByteBuffer colunas) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(colunas);
+            deflater.finish();
+            byte[] saida = new byte[Math.max(64, colunas.remaining() / 2)];
+            int escritos = 0;
+            while (!deflater.finished()) {
+                if (escritos == saida.length) {
+                    saida = Arrays.copyOf(saida, saida.length * 2);
+                }
+                escritos += deflater.deflate(saida, escritos, saida.length - escritos);
+            }
+            return Arrays.copyOf(saida, escritos);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static ByteBuffer descomprimir(ByteBuffer comprimido, int tamanhoOriginal, Path origem) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(comprimido);
+            ByteBuffer colunas = ByteBuffer.allocate(tamanhoOriginal);
+            while (colunas.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(colunas) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+            }
+            if (colunas.hasRemaining() || !inflater.finished()) {
+                throw new IllegalStateException("Segmento de extrato com tamanho inesperado: " + origem);
+            }
+            return colunas.flip();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Segmento de extrato corrompido: " + origem, e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
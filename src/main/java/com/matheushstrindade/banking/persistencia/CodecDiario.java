@@ -0,0 +1,138 @@
+package com.matheushstrindade.banking.persistencia;
+
+import com.matheushstrindade.banking.model.RegrasConta;
+import com.matheushstrindade.banking.model.Restauracao;
+import com.matheushstrindade.banking.model.Transacao;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binário dos registros do diário.
+ *
+ * <pre>
+ * registro  = tamanho:int crc:int lsn:long tipo:byte corpo
+ * CLIENTE   = numero:long nome:str cpf:str nascimento:long(epochDay)
+ * CONTA_ABERTA = contaId:long cliente:long saldoInicial:long(centavos) instante:long(epoch millis)
+ * LANCAMENTOS = qtd:int { contaId:long tipo:byte valor:long(centavos) instante:long(epoch millis) contraparte:long }
+ * REGRAS    = contaId:long chequeEspecial:long limiteDiario:long maximoPorOperacao:long (centavos; Long.MAX_VALUE = sem limite)
+ * str       = tamanho:short bytes(UTF-8)
+ * </pre>
+ *
+ * {@code tamanho} conta apenas o corpo; o CRC-32C cobre lsn, tipo e corpo.
+ * O LSN é preenchido pelo gravador no momento da escrita.
+ */
+final class CodecDiario {
+    static final int CABECALHO = 4 + 4 + 8 + 1;
+    static final int TAMANHO_MAXIMO_CORPO = 64 * 1024 * 1024;
+
+    static final byte CLIENTE = 1;
+    static final byte LANCAMENTOS = 4;
+    static final byte CONTA_ABERTA = 5;
+    static final byte REGRAS = 6;
+
+    private static final int LANCAMENTO = 8 + 1 + 8 + 8 + 8;
+    private static final long SEM_CONTRAPARTE = 0L;
+
+    private CodecDiario() {
+    }
+
+    // === CODIFICAÇÃO ===
+    static ByteBuffer cliente(long numero, String nome, String cpf, LocalDate nascimento) {
+        byte[] nomeBytes = nome.getBytes(StandardCharsets.UTF_8);
+        byte[] cpfBytes = cpf.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = novoRegistro(CLIENTE, 8 + 2 + nomeBytes.length + 2 + cpfBytes.length + 8);
+        buffer.putLong(numero);
+        putString(buffer, nomeBytes);
+        putString(buffer, cpfBytes);
+        buffer.putLong(nascimento.toEpochDay());
+        return buffer.flip();
+    }
+
+    static ByteBuffer conta(long contaId, long numeroCliente, long saldoInicialCentavos, long aberturaEpochMillis) {
+        ByteBuffer buffer = novoRegistro(CONTA_ABERTA, 8 + 8 + 8 + 8);
+        buffer.putLong(contaId);
+        buffer.putLong(numeroCliente);
+        buffer.putLong(saldoInicialCentavos);
+        buffer.putLong(aberturaEpochMillis);
+        return buffer.flip();
+    }
+
+    static ByteBuffer regras(long contaId, RegrasConta regras) {
+        ByteBuffer buffer = novoRegistro(REGRAS, 8 + 8 + 8 + 8);
+        buffer.putLong(contaId);
+        buffer.putLong(regras.getChequeEspecialCentavos());
+        buffer.putLong(regras.getLimiteDiarioCentavos());
+        buffer.putLong(regras.getMaximoPorOperacaoCentavos());
+        return buffer.flip();
+    }
+
+    static RegrasConta getRegras(ByteBuffer buffer) {
+        return RegrasConta.deCentavos(buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    static ByteBuffer lancamentos(int quantidade) {
+        ByteBuffer buffer = novoRegistro(LANCAMENTOS, 4 + quantidade * LANCAMENTO);
+        buffer.putInt(quantidade);
+        return buffer;
+    }
+
+    static void putLancamento(ByteBuffer buffer, long contaId, Transacao transacao) {
+        Long contraparte = transacao.getContaContraparte();
+        buffer.putLong(contaId);
+        buffer.put((byte) transacao.getTipo().ordinal());
+        buffer.putLong(transacao.getValorCentavos());
+        buffer.putLong(transacao.getInstanteEpochMillis());
+        buffer.putLong(contraparte == null ? SEM_CONTRAPARTE : contraparte);
+    }
+
+    /** Preenche LSN e CRC de um registro pronto (posição 0, limite no fim do corpo). */
+    static void selar(ByteBuffer registro, long lsn) {
+        registro.putLong(8, lsn);
+        CRC32C crc = new CRC32C();
+        crc.update(registro.duplicate().position(8));
+        registro.putInt(4, (int) crc.getValue());
+    }
+
+    // === DECODIFICAÇÃO ===
+    static boolean crcValido(ByteBuffer registro, int crcEsperado) {
+        CRC32C crc = new CRC32C();
+        crc.update(registro.duplicate());
+        return (int) crc.getValue() == crcEsperado;
+    }
+
+    static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static Transacao getTransacao(ByteBuffer buffer, Transacao.Tipo[] tipos) {
+        Transacao.Tipo tipo = tipos[buffer.get()];
+        long valor = buffer.getLong();
+        long instante = buffer.getLong();
+        long contraparte = buffer.getLong();
+        return Restauracao.transacao(
+                tipo, valor, instante, contraparte == SEM_CONTRAPARTE ? null : contraparte);
+    }
+
+    // === MÉTODOS AUXILIARES ===
+    private static ByteBuffer novoRegistro(byte tipo, int tamanhoCorpo) {
+        ByteBuffer buffer = ByteBuffer.allocate(CABECALHO + tamanhoCorpo);
+        buffer.putInt(tamanhoCorpo);
+        buffer.putInt(0);  // CRC, preenchido em selar()
+        buffer.putLong(0); // LSN, preenchido em selar()
+        buffer.put(tipo);
+        return buffer;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Texto grande demais para o diário: " + bytes.length + " bytes");
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+}
@@ -0,0 +1,644 @@
+package com.matheushstrindade.banking.persistencia;
+
+import com.matheushstrindade.banking.model.Cliente;
+import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.Diario;
+import com.matheushstrindade.banking.model.MapaDeLong;
+import com.matheushstrindade.banking.model.RegrasConta;
+import com.matheushstrindade.banking.model.Restauracao;
+import com.matheushstrindade.banking.model.ResumoFinanceiro;
+import com.matheushstrindade.banking.model.Transacao;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Diário append-only em arquivos binários segmentados, com group commit e snapshots.
+ *
+ * Quem registra coloca o registro numa fila e espera; uma única thread gravadora junta tudo
+ * o que chegou enquanto o fsync anterior acontecia, grava o lote com uma escrita "gathering"
+ * e faz UM {@code force()} para o lote inteiro. Com N operações concorrentes, o custo de
+ * durabilidade é dividido entre elas em vez de um fsync por depósito.
+ *
+ * {@link #snapshot()} abre um novo segmento e grava saldos, totais, regras, o fim dos extratos, clientes e
+ * contadores sem parar as operações: cada conta é lida sob a sua própria trava, junto com o LSN do último
+ * lançamento aplicado a ela; as linhas do extrato são gravadas depois, fora da trava. Segmentos de
+ * extrato já arquivados entram no snapshot só pelo checkpoint, então o {@link
+ * com.matheushstrindade.banking.model.ArquivoExtrato} deve ser instalado antes do diário; sem ele, o snapshot
+ * guarda só as linhas mais recentes de cada extrato (ver {@link Snapshot}). Na abertura, carrega-se o snapshot
+ * mais recente e reproduz-se só a cauda
+ * (segmentos a partir dele), pulando lançamentos que o snapshot já contém. Segmentos antigos
+ * ficam no disco como histórico, mas não são lidos na recuperação. A recuperação acontece em
+ * {@link Diario#instalar(Diario)}, que entrega ao diário a {@link Restauracao} do modelo.
+ *
+ * Um registro final incompleto ou com CRC inválido (queda no meio da escrita) é descartado.
+ * Após uma falha de escrita o diário para de aceitar registros (fail-stop).
+ */
+public final class DiarioEmArquivo implements Diario, AutoCloseable {
+    static final String PREFIXO_SEGMENTO = "diario-";
+    static final String SUFIXO_SEGMENTO = ".log";
+    private static final int TAMANHO_MAXIMO_LOTE = 4096;
+    private static final int SNAPSHOTS_MANTIDOS = 2;
+
+    private record Pendente(ByteBuffer registro, CompletableFuture<Long> gravado) {
+    }
+
+    /** Cliente e conta como vieram do snapshot, antes de o modelo ser reconstruído. */
+    private record ClienteLido(String nome, String cpf, LocalDate nascimento) {
+    }
+
+    private record ContaLida(long contaId, long numeroCliente, ResumoFinanceiro resumo, long lsn, RegrasConta regras,
+                             long[] debitosRecentes, Restauracao.ExtratoGravado extrato) {
+    }
+
+    /** Estado de uma conta lido de uma vez, sob a trava dela, para o snapshot. */
+    private record Capturada(ResumoFinanceiro resumo, long lsn, RegrasConta regras, long[] debitosRecentes,
+                             Restauracao.ExtratoCapturado extrato) {
+    }
+
+    /** O que o diário sabe de cada conta; {@code lsn} só muda sob a trava da conta. */
+    private static final class EstadoConta {
+        final Conta conta;
+        final long numeroCliente;
+        volatile long lsn;
+
+        EstadoConta(Conta conta, long numeroCliente, long lsn) {
+            this.conta = conta;
+            this.numeroCliente = numeroCliente;
+            this.lsn = lsn;
+        }
+    }
+
+    private final Path diretorio;
+    private final BlockingQueue<Pendente> fila = new LinkedBlockingQueue<>();
+    private final Object travaFila = new Object();
+    private final Object travaCanal = new Object();
+    // Gravar + registrar um cliente/conta é atômico em relação à captura do snapshot
+    private final ReentrantReadWriteLock travaCriacao = new ReentrantReadWriteLock();
+    private final Thread gravador;
+    private volatile boolean aberto = true;
+    private volatile IOException falha;
+    private ScheduledExecutorService agendador;
+    private Restauracao restauracao; // recebida na instalação
+    private boolean recuperado;
+
+    // === SEGMENTO ATUAL (protegido por travaCanal) ===
+    private FileChannel canal;
+    private long segmento;
+    private long ultimoLsn;
+
+    // === ESTADO CONHECIDO (recuperado + criado nesta execução) ===
+    private final AtomicLong proximoNumeroCliente = new AtomicLong(1L);
+    private final Map<Cliente, Long> numeroDoCliente = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Map<Long, Cliente> clientes = new ConcurrentSkipListMap<>();
+    private final MapaDeLong<EstadoConta> contas = new MapaDeLong<>();
+
+    private DiarioEmArquivo(Path diretorio) {
+        this.diretorio = diretorio;
+        this.gravador = new Thread(this::gravarEmLotes, "diario-gravador");
+        this.gravador.setDaemon(true);
+    }
+
+    /**
+     * Abre (ou cria) o diário em {@code diretorio}. O estado gravado só é reconstruído, a partir do
+     * snapshot mais recente e da cauda do diário, quando ele é instalado com
+     * {@link Diario#instalar(Diario)}; uma falha aí sai como {@link UncheckedIOException}.
+     */
+    public static DiarioEmArquivo abrir(Path diretorio) throws IOException {
+        Files.createDirectories(diretorio);
+        return new DiarioEmArquivo(diretorio);
+    }
+
+    /** Reconstrói o estado gravado e começa a aceitar registros; só na primeira instalação. */
+    @Override
+    public synchronized void recuperar(Restauracao restauracao) {
+        if (recuperado) {
+            return;
+        }
+        if (!aberto) {
+            throw new IllegalStateException("Diário fechado");
+        }
+        this.restauracao = restauracao;
+        try {
+            reconstruir();
+        } catch (IOException | RuntimeException e) {
+            aberto = false; // estado pela metade: não serve mais
+            try {
+                if (canal != null) {
+                    canal.close();
+                }
+            } catch (IOException ignorada) {
+                e.addSuppressed(ignorada);
+            }
+            if (e instanceof IOException io) {
+                throw new UncheckedIOException("Falha ao recuperar o diário em " + diretorio, io);
+            }
+            throw (RuntimeException) e;
+        }
+        recuperado = true;
+        gravador.start();
+    }
+
+    // === ESTADO RECUPERADO ===
+
+    /** Todos os clientes conhecidos, na ordem de criação. */
+    public List<Cliente> getClientes() {
+        return List.copyOf(clientes.values());
+    }
+
+    public Map<Long, Conta> getContas() {
+        Map<Long, Conta> resultado = new ConcurrentSkipListMap<>();
+        contas.forEach((id, estado) -> resultado.put(id, estado.conta));
+        return Collections.unmodifiableMap(resultado);
+    }
+
+    // === DIARIO ===
+    @Override
+    public void clienteCriado(Cliente cliente) {
+        travaCriacao.readLock().lock();
+        try {
+            long numero = proximoNumeroCliente.getAndIncrement();
+            gravar(CodecDiario.cliente(numero, cliente.getNome(), cliente.getCpf(), cliente.getDataNascimento()));
+            numeroDoCliente.put(cliente, numero);
+            clientes.put(numero, cliente);
+        } finally {
+            travaCriacao.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void contaAberta(Conta conta, Cliente titular) {
+        Long numero = numeroDoCliente.get(titular);
+        if (numero == null) { // cliente criado antes de o diário ser instalado
+            clienteCriado(titular);
+            numero = numeroDoCliente.get(titular);
+        }
+        travaCriacao.readLock().lock();
+        try {
+            Transacao abertura = conta.getExtrato().get(0); // o saldo inicial já é o primeiro lançamento
+            gravar(CodecDiario.conta(conta.getId(), numero, abertura.getValorCentavos(), abertura.getInstanteEpochMillis()));
+            contas.put(conta.getId(), new EstadoConta(conta, numero, 0L));
+        } finally {
+            travaCriacao.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void registrar(List<Lancamento> lancamentos) {
+        if (lancamentos.isEmpty()) {
+            return;
+        }
+        ByteBuffer registro = CodecDiario.lancamentos(lancamentos.size());
+        for (Lancamento lancamento : lancamentos) {
+            CodecDiario.putLancamento(registro, lancamento.conta().getId(), lancamento.transacao());
+        }
+        long lsn = gravar(registro.flip());
+        // Ainda sob a trava de cada conta (o chamador só aplica depois que registrar retorna)
+        for (Lancamento lancamento : lancamentos) {
+            EstadoConta estado = contas.get(lancamento.conta().getId());
+            if (estado != null) {
+                estado.lsn = lsn;
+            }
+        }
+    }
+
+    @Override
+    public void regrasDefinidas(Conta conta, RegrasConta regras) {
+        gravar(CodecDiario.regras(conta.getId(), regras)); // sob a trava da conta: o snapshot a vê antes ou depois
+    }
+
+    // === SNAPSHOT ===
+
+    /**
+     * Grava um snapshot sem interromper depósitos e saques e devolve o arquivo criado.
+     * A próxima abertura reproduz apenas o que foi registrado a partir deste ponto.
+     */
+    public synchronized Path snapshot() throws IOException {
+        if (!recuperado) {
+            throw new IllegalStateException("Diário ainda não instalado (ver Diario.instalar)");
+        }
+        long[] inicio; // {segmento novo, último LSN antes dele}
+        List<EstadoConta> capturadas;
+        List<Map.Entry<Long, Cliente>> clientesCapturados;
+        long proximoNumero;
+        travaCriacao.writeLock().lock(); // só aberturas de conta/cliente esperam, e por pouco tempo
+        try {
+            inicio = rolarSegmento();
+            capturadas = contas.valores();
+            clientesCapturados = new ArrayList<>(clientes.entrySet());
+            proximoNumero = proximoNumeroCliente.get();
+        } finally {
+            travaCriacao.writeLock().unlock();
+        }
+        Snapshot.Cabecalho cabecalho = new Snapshot.Cabecalho(inicio[0], inicio[1],
+                Restauracao.proximoIdDeConta(), proximoNumero);
+
+        Path arquivo;
+        try (Snapshot.Escritor escritor = new Snapshot.Escritor(diretorio, cabecalho)) {
+            escritor.quantidade(clientesCapturados.size());
+            for (Map.Entry<Long, Cliente> entrada : clientesCapturados) {
+                Cliente cliente = entrada.getValue();
+                escritor.cliente(entrada.getKey(), cliente.getNome(), cliente.getCpf(), cliente.getDataNascimento());
+            }
+            escritor.quantidade(capturadas.size());
+            for (EstadoConta estado : capturadas) {
+                Capturada capturada = Restauracao.lerSobTrava(estado.conta, () -> new Capturada(
+                        estado.conta.getResumo(), estado.lsn, estado.conta.getRegras(), // do mesmo instante
+                        Restauracao.debitosRecentes(estado.conta), Restauracao.capturarExtrato(estado.conta)));
+                escritor.conta(estado.conta.getId(), estado.numeroCliente, capturada.resumo(), capturada.lsn(),
+                        capturada.regras(), capturada.debitosRecentes(), capturada.extrato());
+            }
+            arquivo = escritor.concluir();
+        }
+        removerSnapshotsAntigos();
+        return arquivo;
+    }
+
+    /** Agenda {@link #snapshot()} a cada {@code intervalo}, numa thread daemon. */
+    public synchronized void agendarSnapshots(Duration intervalo) {
+        if (agendador != null) {
+            throw new IllegalStateException("Snapshots já agendados");
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "diario-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long ms = intervalo.toMillis();
+        agendador.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Falha ao gravar snapshot: " + e.getMessage());
+            }
+        }, ms, ms, TimeUnit.MILLISECONDS);
+    }
+
+    /** Para de aceitar registros, espera o último lote ficar durável e fecha o arquivo. */
+    @Override
+    public void close() throws IOException {
+        if (Diario.atual() == this) {
+            Diario.instalar(Diario.NENHUM);
+        }
+        synchronized (this) {
+            if (agendador != null) {
+                agendador.shutdownNow();
+            }
+        }
+        synchronized (travaFila) {
+            aberto = false;
+        }
+        try {
+            gravador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (travaCanal) {
+            if (canal != null) {
+                canal.close();
+            }
+        }
+    }
+
+    // === GROUP COMMIT ===
+    private long gravar(ByteBuffer registro) {
+        Pendente pendente = new Pendente(registro, new CompletableFuture<>());
+        synchronized (travaFila) {
+            if (!aberto) {
+                throw new IllegalStateException("Diário fechado");
+            }
+            if (falha != null) {
+                throw new UncheckedIOException("Diário indisponível após falha de escrita", falha);
+            }
+            fila.add(pendente);
+        }
+        try {
+            return pendente.gravado().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw new UncheckedIOException("Falha ao gravar no diário", io);
+            }
+            throw e;
+        }
+    }
+
+    private void gravarEmLotes() {
+        List<Pendente> lote = new ArrayList<>(TAMANHO_MAXIMO_LOTE);
+        while (true) {
+            Pendente primeiro;
+            try {
+                primeiro = fila.poll(50, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue; // só encerra via close()
+            }
+            if (primeiro == null) {
+                if (!aberto && fila.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            lote.add(primeiro);
+            fila.drainTo(lote, TAMANHO_MAXIMO_LOTE - 1);
+            synchronized (travaCanal) {
+                gravarLote(lote);
+            }
+            lote.clear();
+        }
+    }
+
+    private void gravarLote(List<Pendente> lote) {
+        if (falha != null) {
+            lote.forEach(p -> p.gravado().completeExceptionally(falha));
+            return;
+        }
+        ByteBuffer[] buffers = new ByteBuffer[lote.size()];
+        long restante = 0;
+        long primeiroLsn = ultimoLsn + 1;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = lote.get(i).registro();
+            CodecDiario.selar(buffers[i], primeiroLsn + i);
+            restante += buffers[i].remaining();
+        }
+        try {
+            while (restante > 0) {
+                restante -= canal.write(buffers);
+            }
+            canal.force(false); // um fsync para o lote inteiro
+        } catch (IOException e) {
+            falha = e;
+            lote.forEach(p -> p.gravado().completeExceptionally(e));
+            return;
+        }
+        ultimoLsn += lote.size();
+        for (int i = 0; i < buffers.length; i++) {
+            lote.get(i).gravado().complete(primeiroLsn + i);
+        }
+    }
+
+    /** Fecha o segmento atual e passa a gravar num novo; devolve {segmento novo, último LSN anterior}. */
+    private long[] rolarSegmento() throws IOException {
+        synchronized (travaCanal) {
+            if (falha != null) {
+                throw new IOException("Diário indisponível após falha de escrita", falha);
+            }
+            canal.force(true);
+            FileChannel novo = abrirSegmento(segmento + 1);
+            canal.close();
+            canal = novo;
+            segmento++;
+            return new long[]{segmento, ultimoLsn};
+        }
+    }
+
+    // === RECUPERAÇÃO ===
+    private void reconstruir() throws IOException {
+        Map<Long, Long> lsnDoSnapshot = new ConcurrentHashMap<>();
+        long primeiroSegmento = carregarSnapshot(lsnDoSnapshot);
+
+        List<Long> segmentos = listarSegmentos().stream().filter(s -> s >= primeiroSegmento).toList();
+        Transacao.Tipo[] tipos = Transacao.Tipo.values();
+        for (int i = 0; i < segmentos.size(); i++) {
+            boolean ultimo = i == segmentos.size() - 1;
+            FileChannel lido = abrirSegmento(segmentos.get(i));
+            try {
+                reproduzir(lido, segmentos.get(i), ultimo, lsnDoSnapshot, tipos);
+            } finally {
+                if (!ultimo) {
+                    lido.close();
+                }
+            }
+            if (ultimo) {
+                canal = lido;
+                segmento = segmentos.get(i);
+            }
+        }
+        if (canal == null) {
+            segmento = primeiroSegmento;
+            canal = abrirSegmento(segmento);
+        }
+    }
+
+    /**
+     * Carrega o snapshot válido mais recente; devolve o primeiro segmento a reproduzir. O snapshot é
+     * lido e conferido inteiro antes de criar qualquer cliente ou conta: criá-los mexe no
+     * {@code Registro} e nos titulares, então um snapshot inválido não pode deixar nada pela metade.
+     */
+    private long carregarSnapshot(Map<Long, Long> lsnDoSnapshot) throws IOException {
+        List<Path> snapshots = listarSnapshots();
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Map<Long, ClienteLido> clientesLidos = new LinkedHashMap<>();
+            List<ContaLida> contasLidas = new ArrayList<>();
+            Snapshot.Cabecalho cabecalho;
+            try {
+                cabecalho = Snapshot.ler(snapshots.get(i), new Snapshot.Leitor() {
+                    @Override
+                    public void cliente(long numero, String nome, String cpf, LocalDate nascimento) {
+                        clientesLidos.put(numero, new ClienteLido(nome, cpf, nascimento));
+                    }
+
+                    @Override
+                    public void conta(long contaId, long numeroCliente, ResumoFinanceiro resumo, long lsn,
+                                      RegrasConta regras, long[] debitosRecentes, Restauracao.ExtratoGravado extrato)
+                            throws IOException {
+                        if (!clientesLidos.containsKey(numeroCliente)) {
+                            throw new IOException("Snapshot inconsistente: conta " + contaId + " sem titular");
+                        }
+                        contasLidas.add(new ContaLida(contaId, numeroCliente, resumo, lsn, regras, debitosRecentes,
+                                extrato));
+                    }
+                });
+            } catch (IOException e) {
+                System.err.println("Ignorando snapshot inválido " + snapshots.get(i).getFileName() + ": " + e.getMessage());
+                continue;
+            }
+            clientesLidos.forEach((numero, lido) -> {
+                Cliente cliente = restauracao.cliente(lido.nome(), lido.cpf(), lido.nascimento());
+                clientes.put(numero, cliente);
+                numeroDoCliente.put(cliente, numero);
+            });
+            for (ContaLida lida : contasLidas) {
+                Cliente titular = clientes.get(lida.numeroCliente());
+                Conta conta = restauracao.conta(lida.contaId(), titular, lida.resumo(), lida.extrato());
+                try {
+                    restauracao.regras(conta, lida.regras(), lida.debitosRecentes());
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Snapshot inconsistente: conta " + lida.contaId() + ": " + e.getMessage(), e);
+                }
+                contas.put(lida.contaId(), new EstadoConta(conta, lida.numeroCliente(), lida.lsn()));
+                lsnDoSnapshot.put(lida.contaId(), lida.lsn());
+            }
+            proximoNumeroCliente.set(cabecalho.proximoNumeroCliente());
+            restauracao.reservarIdsDeConta(cabecalho.proximoIdConta());
+            ultimoLsn = cabecalho.lsnBase();
+            return cabecalho.segmento();
+        }
+        return listarSegmentos().stream().findFirst().orElse(1L);
+    }
+
+    private void reproduzir(FileChannel lido, long numeroSegmento, boolean ultimo, Map<Long, Long> lsnDoSnapshot,
+                            Transacao.Tipo[] tipos) throws IOException {
+        ByteBuffer cabecalho = ByteBuffer.allocate(CodecDiario.CABECALHO);
+        long posicao = 0;
+        long tamanhoArquivo = lido.size();
+
+        while (posicao + CodecDiario.CABECALHO <= tamanhoArquivo) {
+            cabecalho.clear();
+            lerCompleto(lido, cabecalho, posicao);
+            cabecalho.flip();
+            int tamanhoCorpo = cabecalho.getInt();
+            int crc = cabecalho.getInt();
+            if (tamanhoCorpo < 0 || tamanhoCorpo > CodecDiario.TAMANHO_MAXIMO_CORPO
+                    || posicao + CodecDiario.CABECALHO + tamanhoCorpo > tamanhoArquivo) {
+                break; // cauda incompleta
+            }
+            ByteBuffer registro = ByteBuffer.allocate(8 + 1 + tamanhoCorpo);
+            lerCompleto(lido, registro, posicao + 8);
+            registro.flip();
+            if (!CodecDiario.crcValido(registro, crc)) {
+                break; // cauda corrompida
+            }
+            long lsn = registro.getLong();
+            aplicarRegistro(lsn, registro.get(), registro, lsnDoSnapshot, tipos);
+            ultimoLsn = Math.max(ultimoLsn, lsn);
+            posicao += CodecDiario.CABECALHO + tamanhoCorpo;
+        }
+
+        if (posicao < tamanhoArquivo) {
+            if (!ultimo) {
+                throw new IOException("Segmento " + numeroSegmento + " do diário corrompido na posição " + posicao);
+            }
+            lido.truncate(posicao);
+            lido.force(true);
+        }
+        lido.position(posicao);
+    }
+
+    private void aplicarRegistro(long lsn, byte tipo, ByteBuffer corpo, Map<Long, Long> lsnDoSnapshot,
+                                 Transacao.Tipo[] tipos) throws IOException {
+        switch (tipo) {
+            case CodecDiario.CLIENTE -> {
+                long numero = corpo.getLong();
+                String nome = CodecDiario.getString(corpo);
+                String cpf = CodecDiario.getString(corpo);
+                LocalDate nascimento = LocalDate.ofEpochDay(corpo.getLong());
+                if (clientes.containsKey(numero)) {
+                    return; // já veio no snapshot
+                }
+                Cliente cliente = restauracao.cliente(nome, cpf, nascimento);
+                numeroDoCliente.put(cliente, numero);
+                clientes.put(numero, cliente);
+                proximoNumeroCliente.accumulateAndGet(numero + 1, Math::max);
+            }
+            case CodecDiario.CONTA_ABERTA -> {
+                long contaId = corpo.getLong();
+                long numeroCliente = corpo.getLong();
+                if (contas.containsKey(contaId)) {
+                    return; // já veio no snapshot
+                }
+                Cliente titular = clientes.get(numeroCliente);
+                if (titular == null) {
+                    throw new IOException("Diário inconsistente: conta " + contaId + " sem titular conhecido");
+                }
+                long saldoInicial = corpo.getLong();
+                Conta conta = restauracao.conta(contaId, titular, 0L);
+                restauracao.aplicar(conta, Restauracao.transacao(Transacao.Tipo.ABERTURA, saldoInicial,
+                        corpo.getLong(), null));
+                contas.put(contaId, new EstadoConta(conta, numeroCliente, 0L));
+            }
+            case CodecDiario.LANCAMENTOS -> {
+                int quantidade = corpo.getInt();
+                for (int i = 0; i < quantidade; i++) {
+                    long contaId = corpo.getLong();
+                    Transacao transacao = CodecDiario.getTransacao(corpo, tipos);
+                    if (lsn <= lsnDoSnapshot.getOrDefault(contaId, 0L)) {
+                        continue; // saldo do snapshot já inclui este lançamento
+                    }
+                    EstadoConta estado = contas.get(contaId);
+                    if (estado == null) {
+                        throw new IOException("Diário inconsistente: lançamento para conta desconhecida " + contaId);
+                    }
+                    restauracao.aplicar(estado.conta, transacao);
+                    estado.lsn = lsn;
+                }
+            }
+            case CodecDiario.REGRAS -> {
+                long contaId = corpo.getLong();
+                EstadoConta estado = contas.get(contaId);
+                if (estado == null) {
+                    throw new IOException("Diário inconsistente: regras para conta desconhecida " + contaId);
+                }
+                restauracao.regras(estado.conta, CodecDiario.getRegras(corpo), null); // as mais recentes valem
+            }
+            default -> throw new IOException("Diário inconsistente: tipo de registro desconhecido " + tipo);
+        }
+    }
+
+    // === ARQUIVOS ===
+    private FileChannel abrirSegmento(long numero) throws IOException {
+        Path arquivo = diretorio.resolve(String.format("%s%020d%s", PREFIXO_SEGMENTO, numero, SUFIXO_SEGMENTO));
+        return FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private List<Long> listarSegmentos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith(PREFIXO_SEGMENTO) && n.endsWith(SUFIXO_SEGMENTO))
+                    .map(n -> Long.parseLong(n.substring(PREFIXO_SEGMENTO.length(), n.length() - SUFIXO_SEGMENTO.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private List<Path> listarSnapshots() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(p -> {
+                        String nome = p.getFileName().toString();
+                        return nome.startsWith(Snapshot.PREFIXO) && nome.endsWith(Snapshot.SUFIXO);
+                    })
+                    .sorted((a, b) -> Long.compare(Snapshot.segmentoDoNome(a), Snapshot.segmentoDoNome(b)))
+                    .toList();
+        }
+    }
+
+    private void removerSnapshotsAntigos() throws IOException {
+        List<Path> snapshots = listarSnapshots();
+        for (int i = 0; i < snapshots.size() - SNAPSHOTS_MANTIDOS; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+
+    private static void lerCompleto(FileChannel origem, ByteBuffer destino, long posicao) throws IOException {
+        while (destino.hasRemaining()) {
+            int lidos = origem.read(destino, posicao);
+            if (lidos < 0) {
+                throw new IOException("Fim inesperado do diário na posição " + posicao);
+            }
+            posicao += lidos;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.matheushstrindade.banking.persistencia;
+
+import com.matheushstrindade.banking.model.RegrasConta;
+import com.matheushstrindade.banking.model.Transacao;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Leitura só para consulta de um diário gravado por {@link DiarioEmArquivo}: percorre, em ordem, todos os
+ * segmentos que ainda estão no diretório (o histórico inteiro, não só a cauda depois do snapshot) e entrega
+ * cada registro a um {@link Visitante}, em valores primitivos.
+ *
+ * Não altera nada no diretório e pode ser usado com o servidor no ar: a leitura para no primeiro registro
+ * incompleto ou com CRC inválido do último segmento (escrita em andamento). No meio do histórico, o mesmo
+ * problema é {@link IOException}.
+ */
+public final class LeitorDiario {
+    /** Recebe os registros na ordem em que foram gravados; {@code contaContraparte} é {@code 0} quando não há. */
+    public interface Visitante {
+        void cliente(long numero, String nome, String cpf, LocalDate nascimento);
+
+        void conta(long contaId, long numeroCliente, long saldoInicialCentavos, long aberturaEpochMillis);
+
+        void lancamento(long contaId, Transacao.Tipo tipo, long valorCentavos, long instanteEpochMillis,
+                        long contaContraparte);
+
+        void regras(long contaId, RegrasConta regras);
+    }
+
+    private LeitorDiario() {
+    }
+
+    /** Lê o diário de {@code diretorio} do primeiro ao último segmento; devolve quantos registros leu. */
+    public static long ler(Path diretorio, Visitante visitante) throws IOException {
+        List<Path> segmentos = segmentos(diretorio);
+        Transacao.Tipo[] tipos = Transacao.Tipo.values();
+        ByteBuffer cabecalho = ByteBuffer.allocate(CodecDiario.CABECALHO);
+        ByteBuffer[] registro = {ByteBuffer.allocate(1 << 16)}; // reaproveitado, cresce quando preciso
+        long registros = 0;
+        for (int i = 0; i < segmentos.size(); i++) {
+            boolean ultimo = i == segmentos.size() - 1;
+            try (FileChannel canal = FileChannel.open(segmentos.get(i), StandardOpenOption.READ)) {
+                registros += ler(canal, segmentos.get(i), ultimo, cabecalho, registro, tipos, visitante);
+            }
+        }
+        return registros;
+    }
+
+    private static long ler(FileChannel canal, Path arquivo, boolean ultimo, ByteBuffer cabecalho, ByteBuffer[] registro,
+                            Transacao.Tipo[] tipos, Visitante visitante) throws IOException {
+        long tamanhoArquivo = canal.size();
+        long posicao = 0;
+        long registros = 0;
+        while (posicao + CodecDiario.CABECALHO <= tamanhoArquivo) {
+            cabecalho.clear();
+            lerCompleto(canal, cabecalho, posicao);
+            cabecalho.flip();
+            int tamanhoCorpo = cabecalho.getInt();
+            int crc = cabecalho.getInt();
+            if (tamanhoCorpo < 0 || tamanhoCorpo > CodecDiario.TAMANHO_MAXIMO_CORPO
+                    || posicao + CodecDiario.CABECALHO + tamanhoCorpo > tamanhoArquivo) {
+                break;
+            }
+            if (registro[0].capacity() < 8 + 1 + tamanhoCorpo) {
+                registro[0] = ByteBuffer.allocate(Integer.highestOneBit(8 + 1 + tamanhoCorpo) << 1);
+            }
+            ByteBuffer corpo = registro[0].clear().limit(8 + 1 + tamanhoCorpo);
+            lerCompleto(canal, corpo, posicao + 8);
+            corpo.flip();
+            if (!CodecDiario.crcValido(corpo, crc)) {
+                break;
+            }
+            corpo.getLong(); // LSN
+            entregar(corpo.get(), corpo, tipos, visitante);
+            registros++;
+            posicao += CodecDiario.CABECALHO + tamanhoCorpo;
+        }
+        if (posicao < tamanhoArquivo && !ultimo) {
+            throw new IOException("Diário corrompido em " + arquivo.getFileName() + " na posição " + posicao);
+        }
+        return registros;
+    }
+
+    private static void entregar(byte tipo, ByteBuffer corpo, Transacao.Tipo[] tipos, Visitante visitante)
+            throws IOException {
+        switch (tipo) {
+            case CodecDiario.CLIENTE -> visitante.cliente(corpo.getLong(), CodecDiario.getString(corpo),
+                    CodecDiario.getString(corpo), LocalDate.ofEpochDay(corpo.getLong()));
+            case CodecDiario.CONTA_ABERTA -> visitante.conta(corpo.getLong(), corpo.getLong(), corpo.getLong(),
+                    corpo.getLong());
+            case CodecDiario.REGRAS -> visitante.regras(corpo.getLong(), CodecDiario.getRegras(corpo));
+            case CodecDiario.LANCAMENTOS -> {
+                int quantidade = corpo.getInt();
+                for (int i = 0; i < quantidade; i++) {
+                    visitante.lancamento(corpo.getLong(), tipos[corpo.get()], corpo.getLong(), corpo.getLong(),
+                            corpo.getLong());
+                }
+            }
+            default -> throw new IOException("Diário inconsistente: tipo de registro desconhecido " + tipo);
+        }
+    }
+
+    /** Segmentos em ordem. */
+    private static List<Path> segmentos(Path diretorio) throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(p -> {
+                        String nome = p.getFileName().toString();
+                        return nome.startsWith(DiarioEmArquivo.PREFIXO_SEGMENTO)
+                                && nome.endsWith(DiarioEmArquivo.SUFIXO_SEGMENTO);
+                    })
+                    .sorted() // número com zeros à esquerda: ordem do nome é a ordem dos segmentos
+                    .toList();
+        }
+    }
+
+    private static void lerCompleto(FileChannel origem, ByteBuffer destino, long posicao) throws IOException {
+        while (destino.hasRemaining()) {
+            int lidos = origem.read(destino, posicao);
+            if (lidos < 0) {
+                throw new IOException("Fim inesperado do diário na posição " + posicao);
+            }
+            posicao += lidos;
+        }
+    }
+}
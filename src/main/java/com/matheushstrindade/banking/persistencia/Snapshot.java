@@ -0,0 +1,362 @@
+package com.matheushstrindade.banking.persistencia;
+
+import com.matheushstrindade.banking.model.ArquivoExtrato;
+import com.matheushstrindade.banking.model.Centavos;
+import com.matheushstrindade.banking.model.RegrasConta;
+import com.matheushstrindade.banking.model.Restauracao;
+import com.matheushstrindade.banking.model.ResumoFinanceiro;
+import com.matheushstrindade.banking.model.Transacao;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Arquivo de snapshot: saldos, totais, regras e o fim dos extratos de todas as contas, clientes e contadores,
+ * num formato compacto.
+ *
+ * <pre>
+ * snapshot = MAGICO:int VERSAO:int segmento:long lsnBase:long proximoIdConta:long proximoNumeroCliente:long
+ *            qtdClientes:int { numero:long nome:UTF cpf:UTF nascimento:long(epochDay) }
+ *            qtdContas:int   { contaId:long cliente:long saldo:long(centavos) lsn:long
+ *                              qtdTipos:byte { entradas:long saidas:long quantidade:long }
+ *                              chequeEspecial:long limiteDiario:long maximoPorOperacao:long
+ *                              qtdFaixas:byte [ faixaAtual:long { debitos:long } ]
+ *                              saldoAbertura:long qtdSegmentos:int
+ *                              { linhas:int arquivado:byte
+ *                                ( primeiroInstante:long saldoInicial:long saldoFinal:long
+ *                                | { tipo:byte valor:long instante:long contraparte:long } ) } }
+ *            crc:int
+ * </pre>
+ *
+ * {@code segmento} é o primeiro segmento do diário que a recuperação precisa reproduzir;
+ * {@code lsn} de cada conta é o último lançamento do diário já refletido no saldo gravado.
+ * Os totais por tipo ({@link ResumoFinanceiro}) vêm na ordem de {@link Transacao.Tipo}. Depois deles vêm as
+ * {@link RegrasConta} e, se a conta já teve limite diário, a janela de débitos das últimas horas
+ * ({@code qtdFaixas} 0 quando não há). Por último vem o extrato, segmento a segmento: um segmento já no
+ * {@link ArquivoExtrato} entra só pelo checkpoint (o arquivo continua valendo, ver
+ * {@link ArquivoExtratoEmDisco}); os demais, linha a linha. Com arquivo, os segmentos em memória são no máximo
+ * as {@link ArquivoExtrato#linhasQuentes()} linhas mais recentes e o que espera o arquivamento. Sem arquivo
+ * ({@link ArquivoExtrato#NENHUM}), só entram os segmentos finais que cobrem as últimas
+ * {@value #LINHAS_SEM_ARQUIVO} linhas (menos de duas vezes isso), e {@code saldoAbertura} é o saldo antes deles: a conta volta com o extrato
+ * começando ali, e o histórico anterior fica só nos segmentos antigos do diário. Assim o snapshot não cresce
+ * com o histórico. Só a versão atual é lida; um snapshot de outra versão é ignorado como inválido, e a
+ * recuperação cai no anterior ou no diário.
+ * O arquivo é escrito em um temporário e movido atomicamente, então um snapshot
+ * interrompido nunca substitui o anterior. Na leitura, o CRC do arquivo inteiro é conferido antes
+ * de qualquer cliente ou conta chegar ao {@link Leitor}.
+ */
+final class Snapshot {
+    static final String PREFIXO = "snapshot-";
+    static final String SUFIXO = ".bin";
+
+    private static final int MAGICO = 0x424B5331; // "BKS1"
+    private static final int BYTES_POR_LINHA = 1 + 8 + 8 + 8;
+    private static final int VERSAO = 4;
+    /** Sem arquivo de extrato, quantas linhas do fim de cada extrato o snapshot guarda, no mínimo. */
+    static final int LINHAS_SEM_ARQUIVO = 1 << 16;
+
+    /** Cabeçalho lido de um snapshot. */
+    record Cabecalho(long segmento, long lsnBase, long proximoIdConta, long proximoNumeroCliente) {
+    }
+
+    /** Recebe o conteúdo de um snapshot durante a leitura. */
+    interface Leitor {
+        void cliente(long numero, String nome, String cpf, LocalDate nascimento) throws IOException;
+
+        /** {@code debitosRecentes} é {@code null} se a conta nunca teve limite diário. */
+        void conta(long contaId, long numeroCliente, ResumoFinanceiro resumo, long lsn, RegrasConta regras,
+                   long[] debitosRecentes, Restauracao.ExtratoGravado extrato) throws IOException;
+    }
+
+    private Snapshot() {
+    }
+
+    static Path arquivo(Path diretorio, long segmento) {
+        return diretorio.resolve(String.format("%s%020d%s", PREFIXO, segmento, SUFIXO));
+    }
+
+    // === ESCRITA ===
+
+    /** Escritor sequencial; {@link #concluir()} grava o CRC, faz fsync e publica o arquivo. */
+    static final class Escritor implements AutoCloseable {
+        private final Path destino;
+        private final Path temporario;
+        private final FileChannel canal;
+        private final CheckedOutputStream checado;
+        private final DataOutputStream saida;
+        private boolean concluido;
+
+        Escritor(Path diretorio, Cabecalho cabecalho) throws IOException {
+            this.destino = arquivo(diretorio, cabecalho.segmento());
+            this.temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+            this.canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            OutputStream bruto = Channels.newOutputStream(canal);
+            this.checado = new CheckedOutputStream(new BufferedOutputStream(bruto, 1 << 16), new CRC32C());
+            this.saida = new DataOutputStream(checado);
+            saida.writeInt(MAGICO);
+            saida.writeInt(VERSAO);
+            saida.writeLong(cabecalho.segmento());
+            saida.writeLong(cabecalho.lsnBase());
+            saida.writeLong(cabecalho.proximoIdConta());
+            saida.writeLong(cabecalho.proximoNumeroCliente());
+        }
+
+        void quantidade(int quantidade) throws IOException {
+            saida.writeInt(quantidade);
+        }
+
+        void cliente(long numero, String nome, String cpf, LocalDate nascimento) throws IOException {
+            saida.writeLong(numero);
+            saida.writeUTF(nome);
+            saida.writeUTF(cpf);
+            saida.writeLong(nascimento.toEpochDay());
+        }
+
+        /**
+         * O saldo gravado é o patrimônio de {@code resumo}; {@code debitosRecentes} pode ser {@code null}.
+         * {@code extrato} deve ter sido capturado junto com o resto (ver {@link Restauracao#capturarExtrato}).
+         */
+        void conta(long contaId, long numeroCliente, ResumoFinanceiro resumo, long lsn, RegrasConta regras,
+                   long[] debitosRecentes, Restauracao.ExtratoCapturado extrato) throws IOException {
+            saida.writeLong(contaId);
+            saida.writeLong(numeroCliente);
+            saida.writeLong(resumo.getPatrimonioCentavos());
+            saida.writeLong(lsn);
+            Transacao.Tipo[] tipos = Transacao.Tipo.values();
+            saida.writeByte(tipos.length);
+            for (Transacao.Tipo tipo : tipos) {
+                saida.writeLong(resumo.getEntradasCentavos(tipo));
+                saida.writeLong(resumo.getSaidasCentavos(tipo));
+                saida.writeLong(resumo.getQuantidade(tipo));
+            }
+            saida.writeLong(regras.getChequeEspecialCentavos());
+            saida.writeLong(regras.getLimiteDiarioCentavos());
+            saida.writeLong(regras.getMaximoPorOperacaoCentavos());
+            if (debitosRecentes == null) {
+                saida.writeByte(0);
+            } else {
+                saida.writeByte(debitosRecentes.length - 1);
+                for (long valor : debitosRecentes) {
+                    saida.writeLong(valor);
+                }
+            }
+            extrato(extrato);
+        }
+
+        private void extrato(Restauracao.ExtratoCapturado extrato) throws IOException {
+            int primeiro = primeiroSegmentoGravado(extrato);
+            saida.writeLong(primeiro == 0 ? extrato.getSaldoAberturaCentavos() : extrato.getSaldoInicialCentavos(primeiro));
+            saida.writeInt(extrato.getSegmentos() - primeiro);
+            for (int s = primeiro; s < extrato.getSegmentos(); s++) {
+                int linhas = extrato.getLinhas(s);
+                saida.writeInt(linhas);
+                if (extrato.isArquivado(s)) {
+                    saida.writeByte(1);
+                    saida.writeLong(extrato.getPrimeiroInstante(s));
+                    saida.writeLong(extrato.getSaldoInicialCentavos(s));
+                    saida.writeLong(extrato.getSaldoFinalCentavos(s));
+                    continue;
+                }
+                saida.writeByte(0);
+                ByteBuffer colunas = ByteBuffer.allocate(linhas * BYTES_POR_LINHA); // big-endian, como DataOutput
+                extrato.percorrer(s, (tipo, valorCentavos, instante, contraparte) -> colunas
+                        .put((byte) tipo.ordinal()).putLong(valorCentavos).putLong(instante).putLong(contraparte));
+                saida.write(colunas.array());
+            }
+        }
+
+        /**
+         * Com arquivo de extrato, todos: os antigos já estão nele ou vão estar. Sem arquivo, os finais que
+         * cobrem {@link #LINHAS_SEM_ARQUIVO} linhas, sem passar de um segmento arquivado.
+         */
+        private static int primeiroSegmentoGravado(Restauracao.ExtratoCapturado extrato) {
+            if (extrato.getSegmentos() == 0 || ArquivoExtrato.atual() != ArquivoExtrato.NENHUM) {
+                return 0;
+            }
+            int primeiro = extrato.getSegmentos() - 1;
+            long linhas = extrato.getLinhas(primeiro);
+            while (primeiro > 0 && linhas < LINHAS_SEM_ARQUIVO && !extrato.isArquivado(primeiro - 1)) {
+                primeiro--;
+                linhas += extrato.getLinhas(primeiro);
+            }
+            return primeiro; // o último segmento nunca está arquivado
+        }
+
+        Path concluir() throws IOException {
+            saida.flush();
+            saida.writeInt((int) checado.getChecksum().getValue());
+            saida.flush();
+            canal.force(true);
+            canal.close();
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            concluido = true;
+            return destino;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!concluido) {
+                canal.close();
+                Files.deleteIfExists(temporario);
+            }
+        }
+    }
+
+    // === LEITURA ===
+
+    /**
+     * Lê o snapshot inteiro, entregando clientes e contas ao leitor. São duas passadas: a primeira só
+     * confere o CRC, então um arquivo corrompido falha sem que o leitor receba nada.
+     */
+    static Cabecalho ler(Path arquivo, Leitor leitor) throws IOException {
+        verificarCrc(arquivo);
+        try (InputStream bruto = Files.newInputStream(arquivo);
+             CheckedInputStream checado = new CheckedInputStream(new BufferedInputStream(bruto, 1 << 16), new CRC32C());
+             DataInputStream entrada = new DataInputStream(checado)) {
+            if (entrada.readInt() != MAGICO || entrada.readInt() != VERSAO) {
+                throw new IOException("Snapshot em formato desconhecido: " + arquivo);
+            }
+            Cabecalho cabecalho = new Cabecalho(entrada.readLong(), entrada.readLong(),
+                    entrada.readLong(), entrada.readLong());
+
+            int clientes = entrada.readInt();
+            for (int i = 0; i < clientes; i++) {
+                leitor.cliente(entrada.readLong(), entrada.readUTF(), entrada.readUTF(),
+                        LocalDate.ofEpochDay(entrada.readLong()));
+            }
+            int contas = entrada.readInt();
+            for (int i = 0; i < contas; i++) {
+                long contaId = entrada.readLong();
+                long numeroCliente = entrada.readLong();
+                long saldo = entrada.readLong();
+                long lsn = entrada.readLong();
+                ResumoFinanceiro resumo = lerTotais(entrada, saldo);
+                RegrasConta regras = lerRegras(entrada);
+                int faixas = entrada.readUnsignedByte();
+                long[] debitosRecentes = faixas == 0 ? null : new long[faixas + 1];
+                for (int j = 0; debitosRecentes != null && j < debitosRecentes.length; j++) {
+                    debitosRecentes[j] = entrada.readLong();
+                }
+                Restauracao.ExtratoGravado extrato = lerExtrato(entrada, contaId, saldo);
+                leitor.conta(contaId, numeroCliente, resumo, lsn, regras, debitosRecentes, extrato);
+            }
+
+            int crcCalculado = (int) checado.getChecksum().getValue();
+            if (entrada.readInt() != crcCalculado) { // mudou desde a primeira passada
+                throw new IOException("Snapshot corrompido (CRC): " + arquivo);
+            }
+            return cabecalho;
+        }
+    }
+
+    /** Primeira passada: CRC32C de tudo antes dos 4 últimos bytes contra o CRC gravado neles. */
+    private static void verificarCrc(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long conteudo = canal.size() - Integer.BYTES;
+            if (conteudo < 0) {
+                throw new IOException("Snapshot incompleto: " + arquivo);
+            }
+            CRC32C crc = new CRC32C();
+            ByteBuffer bloco = ByteBuffer.allocateDirect(1 << 16);
+            for (long posicao = 0; posicao < conteudo; ) {
+                bloco.clear().limit((int) Math.min(bloco.capacity(), conteudo - posicao));
+                int lidos = canal.read(bloco, posicao);
+                if (lidos < 0) {
+                    throw new IOException("Snapshot incompleto: " + arquivo);
+                }
+                crc.update(bloco.flip());
+                posicao += lidos;
+            }
+            ByteBuffer gravado = ByteBuffer.allocate(Integer.BYTES);
+            while (gravado.hasRemaining()) {
+                if (canal.read(gravado, conteudo + gravado.position()) < 0) {
+                    throw new IOException("Snapshot incompleto: " + arquivo);
+                }
+            }
+            if (gravado.flip().getInt() != (int) crc.getValue()) {
+                throw new IOException("Snapshot corrompido (CRC): " + arquivo);
+            }
+        }
+    }
+
+    private static ResumoFinanceiro lerTotais(DataInputStream entrada, long saldo) throws IOException {
+        int tipos = Transacao.Tipo.values().length;
+        long[] entradas = new long[tipos];
+        long[] saidas = new long[tipos];
+        long[] quantidades = new long[tipos];
+        int gravados = entrada.readUnsignedByte();
+        if (gravados > tipos) {
+            throw new IOException("Snapshot com tipos de transação desconhecidos: " + gravados);
+        }
+        for (int i = 0; i < gravados; i++) {
+            entradas[i] = entrada.readLong();
+            saidas[i] = entrada.readLong();
+            quantidades[i] = entrada.readLong();
+        }
+        return Restauracao.resumo(saldo, entradas, saidas, quantidades);
+    }
+
+    private static Restauracao.ExtratoGravado lerExtrato(DataInputStream entrada, long contaId, long saldo)
+            throws IOException {
+        Transacao.Tipo[] tipos = Transacao.Tipo.values();
+        Restauracao.ExtratoGravado extrato = Restauracao.extratoGravado(contaId, entrada.readLong());
+        int segmentos = entrada.readInt();
+        try {
+            for (int s = 0; s < segmentos; s++) {
+                int linhas = entrada.readInt();
+                if (entrada.readByte() != 0) {
+                    extrato.arquivado(linhas, entrada.readLong(), entrada.readLong(), entrada.readLong());
+                    continue;
+                }
+                for (int i = 0; i < linhas; i++) {
+                    int tipo = entrada.readUnsignedByte();
+                    if (tipo >= tipos.length) {
+                        throw new IOException("Snapshot com tipo de transação desconhecido: " + tipo);
+                    }
+                    extrato.lancamento(tipos[tipo], entrada.readLong(), entrada.readLong(), entrada.readLong());
+                }
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new IOException("Snapshot com extrato inválido: " + e.getMessage(), e);
+        }
+        if (extrato.getSaldoCentavos() != saldo) {
+            throw new IOException("Snapshot inconsistente: extrato da conta " + contaId + " termina em R$ "
+                    + Centavos.formatar(extrato.getSaldoCentavos()) + ", saldo gravado R$ " + Centavos.formatar(saldo));
+        }
+        return extrato;
+    }
+
+    private static RegrasConta lerRegras(DataInputStream entrada) throws IOException {
+        long chequeEspecial = entrada.readLong();
+        long limiteDiario = entrada.readLong();
+        long maximoPorOperacao = entrada.readLong();
+        try {
+            return RegrasConta.deCentavos(chequeEspecial, limiteDiario, maximoPorOperacao);
+        } catch (RuntimeException e) {
+            throw new IOException("Snapshot com regras de conta inválidas: " + e.getMessage(), e);
+        }
+    }
+
+    /** Segmento codificado no nome do arquivo (ex: snapshot-00000000000000000003.bin → 3). */
+    static long segmentoDoNome(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+}
@@ -0,0 +1,51 @@
+package com.matheushstrindade.banking.rede;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Uma thread por tarefa (conexão): virtual quando a JVM oferece (Java 21+), de plataforma caso contrário.
+ *
+ * O projeto compila para Java 17, então {@code Executors.newVirtualThreadPerTaskExecutor()} é
+ * procurado por reflexão; sem ele, cai num pool elástico de threads daemon, que atende o mesmo
+ * protocolo com um custo maior por conexão.
+ */
+public final class Executores {
+    private static final Method VIRTUAIS = procurarExecutorVirtual();
+
+    private Executores() {
+    }
+
+    /** {@code true} se {@link #umaThreadPorTarefa(String)} vai usar threads virtuais. */
+    public static boolean threadsVirtuais() {
+        return VIRTUAIS != null;
+    }
+
+    public static ExecutorService umaThreadPorTarefa(String prefixo) {
+        if (VIRTUAIS != null) {
+            try {
+                return (ExecutorService) VIRTUAIS.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Falha ao criar executor de threads virtuais", e);
+            }
+        }
+        AtomicInteger contador = new AtomicInteger();
+        ThreadFactory fabrica = tarefa -> {
+            Thread thread = new Thread(null, tarefa, prefixo + "-" + contador.incrementAndGet(), 256 * 1024);
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newCachedThreadPool(fabrica);
+    }
+
+    private static Method procurarExecutorVirtual() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
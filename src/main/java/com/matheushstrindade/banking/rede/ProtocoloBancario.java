@@ -0,0 +1,216 @@
+package com.matheushstrindade.banking.rede;
+
+import com.matheushstrindade.banking.metricas.ColetorDeMetricas;
+import com.matheushstrindade.banking.model.Centavos;
+import com.matheushstrindade.banking.model.Cliente;
+import com.matheushstrindade.banking.model.ConsultaExtrato;
+import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.Metricas;
+import com.matheushstrindade.banking.model.PaginaExtrato;
+import com.matheushstrindade.banking.model.Registro;
+import com.matheushstrindade.banking.model.RegrasConta;
+import com.matheushstrindade.banking.model.Transacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Protocolo de texto do {@link ServidorBancario}: um comando por linha, uma resposta por comando.
+ * Não guarda estado entre comandos; clientes e contas são achados pelo {@link Registro}.
+ *
+ * <pre>
+ * CLIENTE cpf AAAA-MM-DD nome...     → OK cpf
+ * CONTA cpf saldoInicial             → OK contaId
+ * DEPOSITAR contaId valor [chave]    → OK saldo
+ * SACAR contaId valor [chave]        → OK saldo
+ * SALDO contaId                      → OK saldo
+ * REGRAS contaId [chequeEspecial limiteDiario|- maximoPorOperacao|-] → OK chequeEspecial limiteDiario|- maximoPorOperacao|-
+ * EXTRATO contaId [limite] [cursor]  → OK quantidade proximoCursor|-   seguido de uma linha por transação
+ * METRICAS                           → OK quantidadeLinhas   seguido das métricas em texto (ver ColetorDeMetricas)
+ * SAIR                               → OK (encerra a conexão)
+ * </pre>
+ *
+ * O saldo de DEPOSITAR e SACAR é o desta operação, lido sob a trava da conta, mesmo com outras conexões
+ * mexendo na mesma conta. Com {@code chave} (idempotência, ver {@code Idempotencia}), repetir o comando não
+ * repete a operação: a resposta é a original, com o saldo logo após a primeira execução. {@code REGRAS} só
+ * com a conta consulta as regras de débito (ver {@code RegrasConta}); com os valores, troca-as e responde as
+ * novas ({@code -} = sem limite).
+ * Valores aceitam vírgula ou ponto ("12,34" ou "12.34"), com até duas casas decimais e sem expoente, e saem
+ * com vírgula; são lidos direto em centavos ({@link Centavos#ler}), então nenhum texto vindo da rede vira um
+ * número maior que um {@code long}. Qualquer falha vira {@code ERRO mensagem}, com as mesmas mensagens das
+ * exceções do modelo. Uma linha com mais de {@value #TAMANHO_MAXIMO_LINHA} caracteres recebe {@code ERRO} e
+ * a conexão é encerrada (ver {@link ServidorBancario}).
+ */
+final class ProtocoloBancario {
+    static final int TAMANHO_MAXIMO_LINHA = 1024;
+
+    private ProtocoloBancario() {
+    }
+
+    /**
+     * Executa {@code linha} e escreve a resposta (terminada em '\n') em {@code resposta}.
+     *
+     * @return {@code false} se o cliente pediu para encerrar
+     */
+    static boolean processar(String linha, StringBuilder resposta) {
+        String[] partes = linha.trim().split("\\s+", 4);
+        String comando = partes[0].toUpperCase(Locale.ROOT);
+        try {
+            switch (comando) {
+                case "CLIENTE" -> criarCliente(partes, resposta);
+                case "CONTA" -> abrirConta(partes, resposta);
+                case "DEPOSITAR" -> {
+                    exigir(partes, 3, "DEPOSITAR contaId valor [chave]");
+                    Conta conta = conta(partes[1]);
+                    long saldo = partes.length > 3 ? conta.depositar(partes[3], valor(partes[2]))
+                            : conta.depositarCentavos(Centavos.ler(partes[2]));
+                    ok(resposta).append(' ');
+                    Centavos.anexar(resposta, saldo).append('\n');
+                }
+                case "SACAR" -> {
+                    exigir(partes, 3, "SACAR contaId valor [chave]");
+                    Conta conta = conta(partes[1]);
+                    long saldo = partes.length > 3 ? conta.sacar(partes[3], valor(partes[2]))
+                            : conta.sacarCentavos(Centavos.ler(partes[2]));
+                    ok(resposta).append(' ');
+                    Centavos.anexar(resposta, saldo).append('\n');
+                }
+                case "SALDO" -> {
+                    exigir(partes, 2, "SALDO contaId");
+                    ok(resposta).append(' ');
+                    Centavos.anexar(resposta, conta(partes[1]).getSaldoCentavos()).append('\n');
+                }
+                case "REGRAS" -> regras(linha, resposta);
+                case "EXTRATO" -> extrato(linha, resposta);
+                case "METRICAS" -> metricas(resposta);
+                case "SAIR" -> {
+                    ok(resposta).append('\n');
+                    return false;
+                }
+                default -> erro(resposta, "Comando desconhecido: " + partes[0]);
+            }
+        } catch (RuntimeException e) { // IllegalArgumentException do modelo, número mal formado, estouro...
+            resposta.setLength(0);
+            erro(resposta, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        }
+        return true;
+    }
+
+    // === COMANDOS ===
+    private static void criarCliente(String[] partes, StringBuilder resposta) {
+        exigir(partes, 4, "CLIENTE cpf AAAA-MM-DD nome");
+        LocalDate nascimento;
+        try {
+            nascimento = LocalDate.parse(partes[2]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data de nascimento inválida: " + partes[2]);
+        }
+        Cliente cliente = new Cliente(partes[3], partes[1], nascimento);
+        ok(resposta).append(' ').append(cliente.getCpf()).append('\n');
+    }
+
+    private static void abrirConta(String[] partes, StringBuilder resposta) {
+        exigir(partes, 3, "CONTA cpf saldoInicial");
+        Cliente titular = Registro.atual().buscarClientePorCpf(partes[1])
+                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado: " + partes[1]));
+        Conta conta = new Conta(titular, valor(partes[2]));
+        ok(resposta).append(' ').append(conta.getId()).append('\n');
+    }
+
+    private static void regras(String linha, StringBuilder resposta) {
+        String[] partes = linha.trim().split("\\s+");
+        exigir(partes, 2, "REGRAS contaId [chequeEspecial limiteDiario|- maximoPorOperacao|-]");
+        Conta conta = conta(partes[1]);
+        if (partes.length > 2) {
+            exigir(partes, 5, "REGRAS contaId chequeEspecial limiteDiario|- maximoPorOperacao|-");
+            conta.definirRegras(RegrasConta.PADRAO.comChequeEspecial(valor(partes[2]))
+                    .comLimiteDiario(limite(partes[3]))
+                    .comMaximoPorOperacao(limite(partes[4])));
+        }
+        RegrasConta regras = conta.getRegras();
+        ok(resposta).append(' ');
+        Centavos.anexar(resposta, regras.getChequeEspecialCentavos()).append(' ');
+        anexarLimite(resposta, regras.getLimiteDiarioCentavos()).append(' ');
+        anexarLimite(resposta, regras.getMaximoPorOperacaoCentavos()).append('\n');
+    }
+
+    private static void extrato(String linha, StringBuilder resposta) {
+        String[] partes = linha.trim().split("\\s+");
+        exigir(partes, 2, "EXTRATO contaId [limite] [cursor]");
+        ConsultaExtrato consulta = ConsultaExtrato.todas();
+        if (partes.length > 2) {
+            consulta = consulta.comLimite(Integer.parseInt(partes[2]));
+        }
+        if (partes.length > 3) {
+            consulta = consulta.aPartirDe(Long.parseLong(partes[3]));
+        }
+        PaginaExtrato pagina = conta(partes[1]).consultarExtrato(consulta);
+
+        ok(resposta).append(' ').append(pagina.getTransacoes().size()).append(' ')
+                .append(pagina.temMais() ? pagina.getProximoCursor().toString() : "-").append('\n');
+        for (Transacao transacao : pagina.getTransacoes()) {
+            resposta.append(transacao.getDataHora()).append(' ')
+                    .append(transacao.getTipo().name()).append(' ');
+            Centavos.anexar(resposta, transacao.getValorCentavos());
+            if (transacao.getContaContraparte() != null) {
+                resposta.append(' ').append(transacao.getContaContraparte());
+            }
+            resposta.append('\n');
+        }
+    }
+
+    private static void metricas(StringBuilder resposta) {
+        if (!(Metricas.atual() instanceof ColetorDeMetricas coletor)) {
+            throw new IllegalStateException("Métricas desligadas");
+        }
+        String texto = coletor.textoExposicao();
+        ok(resposta).append(' ').append(texto.chars().filter(c -> c == '\n').count()).append('\n').append(texto);
+    }
+
+    /** Resposta a uma linha acima de {@link #TAMANHO_MAXIMO_LINHA}; a conexão é encerrada em seguida. */
+    static void linhaLongaDemais(StringBuilder resposta) {
+        erro(resposta, "Linha com mais de " + TAMANHO_MAXIMO_LINHA + " caracteres");
+    }
+
+    // === MÉTODOS AUXILIARES ===
+    private static Conta conta(String id) {
+        long numero;
+        try {
+            numero = Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Número de conta inválido: " + id);
+        }
+        return Registro.atual().buscarConta(numero)
+                .orElseThrow(() -> new IllegalArgumentException("Conta não encontrada: " + id));
+    }
+
+    /** Para as APIs do modelo que recebem {@link BigDecimal}; o texto é lido do mesmo jeito, limitado. */
+    private static BigDecimal valor(String texto) {
+        return Centavos.paraBigDecimal(Centavos.ler(texto));
+    }
+
+    /** {@code -} = sem limite. */
+    private static BigDecimal limite(String texto) {
+        return texto.equals("-") ? null : valor(texto);
+    }
+
+    private static StringBuilder anexarLimite(StringBuilder resposta, long centavos) {
+        return centavos == RegrasConta.SEM_LIMITE ? resposta.append('-') : Centavos.anexar(resposta, centavos);
+    }
+
+    private static void exigir(String[] partes, int quantidade, String uso) {
+        if (partes.length < quantidade) {
+            throw new IllegalArgumentException("Uso: " + uso);
+        }
+    }
+
+    private static StringBuilder ok(StringBuilder resposta) {
+        return resposta.append("OK");
+    }
+
+    private static void erro(StringBuilder resposta, String mensagem) {
+        resposta.append("ERRO ").append(mensagem.replace('\n', ' ')).append('\n');
+    }
+}
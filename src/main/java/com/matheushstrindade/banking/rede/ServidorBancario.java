@@ -0,0 +1,164 @@
+package com.matheushstrindade.banking.rede;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Servidor TCP do banco, uma thread por conexão (virtual quando disponível, ver {@link Executores}).
+ *
+ * Cada conexão fala o {@link ProtocoloBancario} e opera direto sobre {@code Cliente}/{@code Conta};
+ * a concorrência entre conexões fica com as travas por conta do modelo. Comandos enviados em
+ * sequência sem esperar resposta (pipelining) são respondidos com um único flush. As linhas são lidas
+ * até {@link ProtocoloBancario#TAMANHO_MAXIMO_LINHA} caracteres: quem manda uma linha maior (ou nunca manda
+ * o fim de linha) recebe {@code ERRO} e tem a conexão encerrada, sem o servidor acumular o resto.
+ */
+public final class ServidorBancario implements AutoCloseable {
+    private static final long ESPERA_INICIAL_MS = 10;
+    private static final long ESPERA_MAXIMA_MS = 1_000;
+
+    private final ServerSocket servidor;
+    private final ExecutorService conexoes = Executores.umaThreadPorTarefa("conexao");
+    private final Set<Socket> abertas = ConcurrentHashMap.newKeySet();
+    private final Thread aceitador;
+    private volatile boolean aberto = true;
+
+    private ServidorBancario(ServerSocket servidor) {
+        this.servidor = servidor;
+        this.aceitador = new Thread(this::aceitar, "servidor-aceitador");
+    }
+
+    /** Abre a porta ({@code 0} = qualquer porta livre) e começa a aceitar conexões. */
+    public static ServidorBancario iniciar(int porta) throws IOException {
+        ServerSocket socket = new ServerSocket();
+        socket.setReuseAddress(true);
+        socket.bind(new InetSocketAddress(porta), 1024);
+        ServidorBancario servidor = new ServidorBancario(socket);
+        servidor.aceitador.start();
+        return servidor;
+    }
+
+    public int getPorta() {
+        return servidor.getLocalPort();
+    }
+
+    public int getConexoesAbertas() {
+        return abertas.size();
+    }
+
+    // === CONEXÕES ===
+    /**
+     * Falhas de accept (tipicamente falta de descritores, EMFILE) tendem a se repetir até alguma conexão
+     * fechar: espera um pouco mais a cada falha seguida, até {@link #ESPERA_MAXIMA_MS}, em vez de girar a
+     * CPU, e volta a tentar na hora depois de um accept bem-sucedido. Com o socket fechado, para.
+     */
+    private void aceitar() {
+        long espera = 0;
+        while (aberto) {
+            Socket socket;
+            try {
+                socket = servidor.accept();
+            } catch (IOException e) {
+                if (!aberto || servidor.isClosed()) {
+                    return;
+                }
+                espera = espera == 0 ? ESPERA_INICIAL_MS : Math.min(espera * 2, ESPERA_MAXIMA_MS);
+                System.err.println("Erro ao aceitar conexão (nova tentativa em " + espera + " ms): " + e.getMessage());
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException interrompido) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+            espera = 0;
+            abertas.add(socket);
+            conexoes.execute(() -> atender(socket));
+        }
+    }
+
+    private void atender(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            BufferedReader leitor = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            BufferedWriter escritor = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            StringBuilder linha = new StringBuilder(128);
+            StringBuilder resposta = new StringBuilder(256);
+            while (lerLinha(leitor, linha)) {
+                resposta.setLength(0);
+                if (linha.length() > ProtocoloBancario.TAMANHO_MAXIMO_LINHA) {
+                    ProtocoloBancario.linhaLongaDemais(resposta);
+                    escritor.append(resposta);
+                    break;
+                }
+                String comando = linha.toString();
+                if (comando.isBlank()) {
+                    continue;
+                }
+                boolean continuar = ProtocoloBancario.processar(comando, resposta);
+                escritor.append(resposta);
+                if (!continuar) {
+                    break;
+                }
+                if (!leitor.ready()) { // nada mais na fila: responde agora
+                    escritor.flush();
+                }
+            }
+            escritor.flush();
+        } catch (SocketException e) {
+            // cliente desconectou
+        } catch (IOException e) {
+            System.err.println("Erro na conexão " + socket.getRemoteSocketAddress() + ": " + e.getMessage());
+        } finally {
+            abertas.remove(socket);
+        }
+    }
+
+    /**
+     * Lê a próxima linha, sem o {@code \n} (nem um {@code \r} antes dele). Para de ler logo depois de
+     * {@link ProtocoloBancario#TAMANHO_MAXIMO_LINHA} caracteres (mais um possível {@code \r}): o chamador
+     * vê a linha longa demais pelo tamanho.
+     *
+     * @return {@code false} se a conexão terminou sem nenhum caractere novo
+     */
+    private static boolean lerLinha(BufferedReader leitor, StringBuilder linha) throws IOException {
+        linha.setLength(0);
+        int c;
+        while ((c = leitor.read()) != -1 && c != '\n') {
+            linha.append((char) c);
+            if (linha.length() > ProtocoloBancario.TAMANHO_MAXIMO_LINHA + 1) {
+                return true;
+            }
+        }
+        if (c == -1 && linha.isEmpty()) {
+            return false;
+        }
+        if (c == '\n' && !linha.isEmpty() && linha.charAt(linha.length() - 1) == '\r') {
+            linha.setLength(linha.length() - 1);
+        }
+        return true;
+    }
+
+    /** Para de aceitar conexões e derruba as abertas. */
+    @Override
+    public void close() throws IOException {
+        aberto = false;
+        servidor.close();
+        aceitador.interrupt(); // acorda a espera entre falhas de accept
+        for (Socket socket : abertas) {
+            socket.close();
+        }
+        conexoes.shutdownNow();
+    }
+}
@@ -0,0 +1,43 @@
+package com.matheushstrindade.banking.simulacao;
+
+/**
+ * Parâmetros de uma execução do {@link SimuladorCarga}.
+ *
+ * Cada thread faz {@code operacoesPorThread} operações: {@code percentualDepositos}% depósitos,
+ * {@code percentualSaques}% saques e o resto consultas de extrato. A conta de cada operação é sorteada por
+ * uma distribuição de Zipf de expoente {@code expoenteZipf} sobre todas as contas (0 = uniforme; perto de 1,
+ * poucas contas recebem boa parte da carga). A mesma {@code semente} gera os mesmos clientes, CPFs, contas
+ * e a mesma sequência de operações em cada thread.
+ */
+public record Carga(int clientes, int contasPorCliente, int threads, long operacoesPorThread,
+                    int percentualDepositos, int percentualSaques, double expoenteZipf, long semente) {
+
+    public Carga {
+        if (clientes <= 0 || contasPorCliente <= 0 || (long) clientes * contasPorCliente > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Quantidade de clientes/contas inválida: " + clientes + " x " + contasPorCliente);
+        }
+        if (threads <= 0 || operacoesPorThread < 0) {
+            throw new IllegalArgumentException("Threads e operações devem ser positivas: " + threads + ", " + operacoesPorThread);
+        }
+        if (percentualDepositos < 0 || percentualSaques < 0 || percentualDepositos + percentualSaques > 100) {
+            throw new IllegalArgumentException("Percentuais inválidos: " + percentualDepositos + "% depósitos, "
+                    + percentualSaques + "% saques");
+        }
+        if (!(expoenteZipf >= 0) || Double.isInfinite(expoenteZipf)) {
+            throw new IllegalArgumentException("Expoente de Zipf inválido: " + expoenteZipf);
+        }
+    }
+
+    /** 1000 clientes com 2 contas, 4 threads de 250 mil operações, 50% depósitos, 40% saques, Zipf 1,1. */
+    public static Carga padrao() {
+        return new Carga(1000, 2, 4, 250_000, 50, 40, 1.1, 42L);
+    }
+
+    public int contas() {
+        return clientes * contasPorCliente;
+    }
+
+    public int percentualExtratos() {
+        return 100 - percentualDepositos - percentualSaques;
+    }
+}
@@ -0,0 +1,37 @@
+package com.matheushstrindade.banking.simulacao;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+
+/** Coletas de lixo e bytes alocados, lidos das MXBeans da JVM antes e depois de uma execução. */
+record ConsumoJvm(long coletas, long milisEmColeta) {
+
+    static ConsumoJvm agora() {
+        long coletas = 0;
+        long milis = 0;
+        for (GarbageCollectorMXBean coletor : ManagementFactory.getGarbageCollectorMXBeans()) {
+            coletas += Math.max(coletor.getCollectionCount(), 0L); // -1 = não informado
+            milis += Math.max(coletor.getCollectionTime(), 0L);
+        }
+        return new ConsumoJvm(coletas, milis);
+    }
+
+    long coletasDesde(ConsumoJvm antes) {
+        return coletas - antes.coletas;
+    }
+
+    Duration tempoEmColetaDesde(ConsumoJvm antes) {
+        return Duration.ofMillis(milisEmColeta - antes.milisEmColeta);
+    }
+
+    /** Bytes já alocados pela thread atual; {@code -1} se a JVM não informa. */
+    static long bytesAlocadosPelaThread() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean estendida && estendida.isThreadAllocatedMemoryEnabled()) {
+            return estendida.getCurrentThreadAllocatedBytes();
+        }
+        return -1L;
+    }
+}
@@ -0,0 +1,51 @@
+package com.matheushstrindade.banking.simulacao;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Sorteia posições de {@code 0} a {@code n - 1} com probabilidade proporcional a {@code 1 / (posição + 1)^s}:
+ * a posição 0 é a mais sorteada. Com {@code s = 0} o sorteio é uniforme.
+ *
+ * Guarda a distribuição acumulada ({@code n} doubles) e sorteia por busca binária, sem alocar;
+ * pode ser usada por várias threads, cada uma com o seu gerador.
+ */
+final class DistribuicaoZipf {
+    private final int n;
+    private final double[] acumulada; // null = uniforme
+
+    DistribuicaoZipf(int n, double expoente) {
+        this.n = n;
+        if (expoente == 0) {
+            this.acumulada = null;
+            return;
+        }
+        double[] pesos = new double[n];
+        double soma = 0;
+        for (int i = 0; i < n; i++) {
+            soma += Math.pow(i + 1, -expoente);
+            pesos[i] = soma;
+        }
+        for (int i = 0; i < n; i++) {
+            pesos[i] /= soma;
+        }
+        pesos[n - 1] = 1.0; // sem sobra de arredondamento no fim
+        this.acumulada = pesos;
+    }
+
+    int sortear(SplittableRandom aleatorio) {
+        if (acumulada == null) {
+            return aleatorio.nextInt(n);
+        }
+        int posicao = Arrays.binarySearch(acumulada, aleatorio.nextDouble());
+        return posicao >= 0 ? posicao : -posicao - 1;
+    }
+
+    /** Fração esperada dos sorteios que cai nas {@code k} primeiras posições. */
+    double fracaoNasPrimeiras(int k) {
+        if (k <= 0) {
+            return 0;
+        }
+        return acumulada == null ? Math.min(k, n) / (double) n : acumulada[Math.min(k, n) - 1];
+    }
+}
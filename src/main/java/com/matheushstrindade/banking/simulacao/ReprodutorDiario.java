@@ -0,0 +1,188 @@
+package com.matheushstrindade.banking.simulacao;
+
+import com.matheushstrindade.banking.metricas.HistogramaLatencia;
+import com.matheushstrindade.banking.model.Centavos;
+import com.matheushstrindade.banking.model.Cliente;
+import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.MapaDeLong;
+import com.matheushstrindade.banking.model.OperacaoRecusadaException;
+import com.matheushstrindade.banking.model.RegrasConta;
+import com.matheushstrindade.banking.model.Relogio;
+import com.matheushstrindade.banking.model.RelogioManual;
+import com.matheushstrindade.banking.model.Transacao;
+import com.matheushstrindade.banking.model.Transferencias;
+import com.matheushstrindade.banking.persistencia.LeitorDiario;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reproduz um diário gravado (ver {@link LeitorDiario}) contra o modelo desta JVM, mais rápido que o tempo real.
+ *
+ * Clientes, contas, regras das contas, depósitos, saques e transferências são refeitos pela API pública, na ordem gravada, com um
+ * {@link RelogioManual} ajustado ao instante de cada lançamento: o extrato reproduzido tem as datas originais.
+ * O relógio da reprodução vale só para a thread que chama ({@link Relogio#instalarNaThread(Relogio)}); o resto da JVM
+ * continua com o relógio instalado. Por isso, outras threads que mexerem nas contas reproduzidas durante a reprodução
+ * gravam a hora delas, e como o extrato não volta no tempo, os lançamentos reproduzidos seguintes saem com essa hora
+ * em vez da gravada: não use as contas reproduzidas até {@link #reproduzir(Path, double)} voltar.
+ * {@code velocidade} comprime o tempo: 60 faz uma hora de movimento em um minuto; {@link Double#POSITIVE_INFINITY}
+ * reproduz sem pausas, para medir a vazão máxima. O diário de origem só é lido.
+ *
+ * As contas ganham IDs novos (o mapa gravado → novo fica na reprodução). Os CPFs gravados entram no
+ * {@code Registro}: reproduza numa JVM sem esses clientes, senão eles e as suas contas são ignorados.
+ */
+public final class ReprodutorDiario {
+
+    /**
+     * Resultado da reprodução. {@code ignorados} são registros que não puderam ser refeitos (cliente já
+     * existente, conta desconhecida); {@code recusas}, lançamentos que o modelo recusou ao refazer.
+     */
+    public record Relatorio(long clientes, long contas, long lancamentos, long ignorados, long recusas,
+                            Duration duracaoGravada, Duration duracao, HistogramaLatencia.Foto latencia,
+                            long coletas, Duration tempoEmColeta, long bytesAlocados) {
+        public double lancamentosPorSegundo() {
+            return lancamentos / segundos(duracao);
+        }
+
+        /** Quantas vezes mais rápido que o movimento original. */
+        public double aceleracao() {
+            return segundos(duracaoGravada) / segundos(duracao);
+        }
+
+        private static double segundos(Duration duracao) {
+            return Math.max(duracao.toNanos(), 1L) / 1e9;
+        }
+    }
+
+    private ReprodutorDiario() {
+    }
+
+    public static Relatorio reproduzir(Path diretorio, double velocidade) throws IOException {
+        if (!(velocidade > 0)) {
+            throw new IllegalArgumentException("Velocidade deve ser maior que zero: " + velocidade);
+        }
+        Reproducao reproducao = new Reproducao(velocidade, Relogio.atual().agoraEpochMillis());
+        Relogio.instalarNaThread(reproducao.relogio);
+        ConsumoJvm antes = ConsumoJvm.agora();
+        long alocadosAntes = ConsumoJvm.bytesAlocadosPelaThread();
+        long inicio = System.nanoTime();
+        try {
+            LeitorDiario.ler(diretorio, reproducao);
+        } finally {
+            Relogio.instalarNaThread(null);
+        }
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+        long alocadosDepois = ConsumoJvm.bytesAlocadosPelaThread();
+        ConsumoJvm depois = ConsumoJvm.agora();
+        Duration gravada = reproducao.primeiroInstante == Reproducao.SEM_INSTANTE ? Duration.ZERO
+                : Duration.ofMillis(reproducao.ultimoInstante - reproducao.primeiroInstante);
+        return new Relatorio(reproducao.clientes, reproducao.contas, reproducao.lancamentos, reproducao.ignorados,
+                reproducao.recusas, gravada, duracao, reproducao.latencia.foto(), depois.coletasDesde(antes),
+                depois.tempoEmColetaDesde(antes), alocadosAntes < 0 ? -1 : alocadosDepois - alocadosAntes);
+    }
+
+    /** Estado de uma reprodução; recebe os registros do {@link LeitorDiario} numa thread só. */
+    private static final class Reproducao implements LeitorDiario.Visitante {
+        private static final long SEM_INSTANTE = Long.MIN_VALUE; // nenhum instante lido ainda
+
+        private final RelogioManual relogio;
+        private final double velocidade;
+        private final MapaDeLong<Cliente> clientesGravados = new MapaDeLong<>();
+        private final MapaDeLong<Conta> contasGravadas = new MapaDeLong<>();
+        private final HistogramaLatencia latencia = new HistogramaLatencia();
+        private long primeiroInstante = SEM_INSTANTE;
+        private long ultimoInstante;
+        private long inicioNanos;
+        private long clientes;
+        private long contas;
+        private long lancamentos;
+        private long ignorados;
+        private long recusas;
+
+        /** Até o primeiro instante gravado (clientes não têm), o relógio fica na hora em que a reprodução começou. */
+        Reproducao(double velocidade, long agoraEpochMillis) {
+            this.relogio = new RelogioManual(Instant.ofEpochMilli(agoraEpochMillis));
+            this.velocidade = velocidade;
+        }
+
+        @Override
+        public void cliente(long numero, String nome, String cpf, LocalDate nascimento) {
+            try {
+                clientesGravados.put(numero, new Cliente(nome, cpf, nascimento));
+                clientes++;
+            } catch (OperacaoRecusadaException e) { // CPF já cadastrado nesta JVM
+                ignorados++;
+            }
+        }
+
+        @Override
+        public void conta(long contaId, long numeroCliente, long saldoInicialCentavos, long aberturaEpochMillis) {
+            Cliente titular = clientesGravados.get(numeroCliente);
+            if (titular == null) {
+                ignorados++;
+                return;
+            }
+            aguardar(aberturaEpochMillis);
+            contasGravadas.put(contaId, new Conta(titular, Centavos.paraBigDecimal(saldoInicialCentavos)));
+            contas++;
+        }
+
+        @Override
+        public void lancamento(long contaId, Transacao.Tipo tipo, long valorCentavos, long instanteEpochMillis,
+                               long contaContraparte) {
+            if (tipo == Transacao.Tipo.TRANSFERENCIA && valorCentavos > 0) {
+                return; // crédito da transferência: refeito junto com o débito
+            }
+            Conta conta = contasGravadas.get(contaId);
+            Conta destino = tipo == Transacao.Tipo.TRANSFERENCIA ? contasGravadas.get(contaContraparte) : conta;
+            if (conta == null || destino == null || tipo == Transacao.Tipo.ABERTURA) {
+                ignorados++;
+                return;
+            }
+            aguardar(instanteEpochMillis);
+            long inicio = System.nanoTime();
+            try {
+                switch (tipo) {
+                    case DEPOSITO -> conta.depositarCentavos(valorCentavos);
+                    case SAQUE -> conta.sacarCentavos(-valorCentavos);
+                    default -> Transferencias.transferir(conta, destino, Centavos.paraBigDecimal(-valorCentavos));
+                }
+                lancamentos++;
+            } catch (OperacaoRecusadaException e) {
+                recusas++;
+            }
+            latencia.registrar(System.nanoTime() - inicio);
+        }
+
+        @Override
+        public void regras(long contaId, RegrasConta regras) {
+            Conta conta = contasGravadas.get(contaId);
+            if (conta == null) {
+                ignorados++;
+                return;
+            }
+            conta.definirRegras(regras);
+        }
+
+        /** Põe o relógio no instante gravado e espera até a hora dele na escala de {@code velocidade}. */
+        private void aguardar(long instanteEpochMillis) {
+            relogio.ajustar(instanteEpochMillis);
+            if (primeiroInstante == SEM_INSTANTE) {
+                primeiroInstante = instanteEpochMillis;
+                inicioNanos = System.nanoTime();
+            }
+            ultimoInstante = Math.max(ultimoInstante, instanteEpochMillis);
+            if (Double.isInfinite(velocidade)) {
+                return;
+            }
+            long alvo = inicioNanos + (long) ((instanteEpochMillis - primeiroInstante) * 1e6 / velocidade);
+            for (long espera = alvo - System.nanoTime(); espera > 0; espera = alvo - System.nanoTime()) {
+                LockSupport.parkNanos(espera);
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.matheushstrindade.banking.simulacao;
+
+import com.matheushstrindade.banking.metricas.HistogramaLatencia;
+import com.matheushstrindade.banking.model.Cliente;
+import com.matheushstrindade.banking.model.ConsultaExtrato;
+import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.Cpf;
+import com.matheushstrindade.banking.model.OperacaoRecusadaException;
+import com.matheushstrindade.banking.model.Registro;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Carga sintética e reproduzível direto nas classes do modelo, sem rede: cria clientes com CPFs válidos
+ * (gerados por {@link Cpf#gerar(long)}), abre as contas e dispara depósitos, saques e consultas de extrato
+ * em várias threads, com contas "quentes" sorteadas por Zipf (ver {@link Carga}).
+ *
+ * O que é sorteado vem de {@link SplittableRandom} com a semente da carga: clientes, contas e a sequência de
+ * cada thread se repetem a cada execução. Com uma thread o resultado inteiro se repete (mesma
+ * {@link Relatorio#assinatura()}); com várias, a ordem entre threads varia e, com ela, quais saques são recusados.
+ *
+ * Usa o {@code Diario}, as {@code Metricas} e o {@code Relogio} instalados, então mede o modelo como estiver
+ * configurado (em memória ou com diário em disco). Os clientes e contas criados saem do {@code Registro} ao
+ * final, então a mesma semente (e os mesmos CPFs) pode rodar de novo na mesma JVM; com diário em disco,
+ * continuam gravados nele.
+ */
+public final class SimuladorCarga {
+    private static final long SALDO_INICIAL_CENTAVOS = 1_000_00L;
+    private static final long VALOR_MAXIMO_CENTAVOS = 500_00L;
+    private static final ConsultaExtrato CONSULTA = ConsultaExtrato.todas().comLimite(20);
+
+    public enum Operacao {
+        DEPOSITO,
+        SAQUE,
+        EXTRATO
+    }
+
+    /**
+     * Resultado de uma execução. {@code recusas} são as operações recusadas pelo modelo (saldo insuficiente);
+     * {@code bytesAlocados} soma o que as threads da carga alocaram ({@code -1} se a JVM não informa);
+     * {@code assinatura} resume os saldos finais, na ordem em que as contas foram abertas.
+     */
+    public record Relatorio(Carga carga, long operacoes, long recusas, Duration duracao,
+                            Map<Operacao, HistogramaLatencia.Foto> latencias, double fracaoNasContasQuentes,
+                            long coletas, Duration tempoEmColeta, long bytesAlocados, long assinatura) {
+        public double operacoesPorSegundo() {
+            return operacoes / (Math.max(duracao.toNanos(), 1L) / 1e9);
+        }
+
+        /** {@code -1} se a JVM não informa alocação. */
+        public double bytesPorOperacao() {
+            return bytesAlocados < 0 ? -1 : bytesAlocados / (double) Math.max(operacoes, 1L);
+        }
+    }
+
+    private SimuladorCarga() {
+    }
+
+    // === EXECUÇÃO ===
+
+    public static Relatorio executar(Carga carga) throws InterruptedException {
+        Objects.requireNonNull(carga, "Carga não pode ser nula");
+        List<Cliente> clientes = new ArrayList<>(carga.clientes());
+        List<Conta> contas = new ArrayList<>(carga.contas());
+        try {
+            abrirContas(carga, clientes, contas);
+            return executar(carga, contas);
+        } finally {
+            Registro registro = Registro.atual();
+            for (Cliente cliente : clientes) {
+                registro.remover(cliente);
+            }
+        }
+    }
+
+    private static Relatorio executar(Carga carga, List<Conta> contas) throws InterruptedException {
+        DistribuicaoZipf zipf = new DistribuicaoZipf(contas.size(), carga.expoenteZipf());
+        Map<Operacao, HistogramaLatencia> latencias = new EnumMap<>(Operacao.class);
+        for (Operacao operacao : Operacao.values()) {
+            latencias.put(operacao, new HistogramaLatencia());
+        }
+
+        Trabalhador[] trabalhadores = new Trabalhador[carga.threads()];
+        CountDownLatch largada = new CountDownLatch(1);
+        for (int t = 0; t < trabalhadores.length; t++) {
+            trabalhadores[t] = new Trabalhador(carga, t, contas, zipf, latencias, largada);
+            trabalhadores[t].start();
+        }
+        ConsumoJvm antes = ConsumoJvm.agora();
+        long inicio = System.nanoTime();
+        largada.countDown();
+        long recusas = 0;
+        long bytes = 0;
+        for (Trabalhador trabalhador : trabalhadores) {
+            trabalhador.join();
+            if (trabalhador.erro != null) {
+                throw new IllegalStateException("Falha inesperada na carga: " + trabalhador.erro.getMessage(),
+                        trabalhador.erro);
+            }
+            recusas += trabalhador.recusas;
+            bytes = trabalhador.bytesAlocados < 0 || bytes < 0 ? -1 : bytes + trabalhador.bytesAlocados;
+        }
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+        ConsumoJvm depois = ConsumoJvm.agora();
+
+        Map<Operacao, HistogramaLatencia.Foto> fotos = new EnumMap<>(Operacao.class);
+        latencias.forEach((operacao, histograma) -> fotos.put(operacao, histograma.foto()));
+        long assinatura = 1;
+        for (Conta conta : contas) {
+            assinatura = 31 * assinatura + conta.getSaldoCentavos();
+        }
+        return new Relatorio(carga, carga.threads() * carga.operacoesPorThread(), recusas, duracao,
+                Collections.unmodifiableMap(fotos), zipf.fracaoNasPrimeiras(Math.max(1, contas.size() / 100)),
+                depois.coletasDesde(antes), depois.tempoEmColetaDesde(antes), bytes, assinatura);
+    }
+
+    /** Clientes e contas, em ordem e numa thread só: os mesmos a cada execução com a mesma semente. */
+    private static void abrirContas(Carga carga, List<Cliente> clientes, List<Conta> contas) {
+        SplittableRandom aleatorio = new SplittableRandom(carga.semente());
+        long baseCpf = 100_000_000L + Math.floorMod(carga.semente() * 1_000_003L, 800_000_000L - 2L * carga.clientes());
+        BigDecimal saldoInicial = BigDecimal.valueOf(SALDO_INICIAL_CENTAVOS, 2);
+        LocalDate referencia = LocalDate.of(1950, 1, 1);
+        for (int i = 0; i < carga.clientes(); i++) {
+            if (baseCpf % 111_111_111L == 0) { // todos os dígitos iguais: não é CPF
+                baseCpf++;
+            }
+            Cliente cliente = new Cliente("Cliente Simulado " + (i + 1), Cpf.gerar(baseCpf++),
+                    referencia.plusDays(aleatorio.nextInt(365 * 50)));
+            clientes.add(cliente);
+            for (int c = 0; c < carga.contasPorCliente(); c++) {
+                contas.add(new Conta(cliente, saldoInicial));
+            }
+        }
+    }
+
+    /** Uma thread da carga, com o seu gerador e os seus contadores. */
+    private static final class Trabalhador extends Thread {
+        private final Carga carga;
+        private final SplittableRandom aleatorio;
+        private final List<Conta> contas;
+        private final DistribuicaoZipf zipf;
+        private final HistogramaLatencia deposito;
+        private final HistogramaLatencia saque;
+        private final HistogramaLatencia extrato;
+        private final CountDownLatch largada;
+        private long recusas;
+        private long bytesAlocados;
+        private Throwable erro;
+
+        Trabalhador(Carga carga, int indice, List<Conta> contas, DistribuicaoZipf zipf,
+                    Map<Operacao, HistogramaLatencia> latencias, CountDownLatch largada) {
+            super("carga-" + indice);
+            this.carga = carga;
+            this.aleatorio = new SplittableRandom(carga.semente() + 0x9E3779B97F4A7C15L * (indice + 1));
+            this.contas = contas;
+            this.zipf = zipf;
+            this.deposito = latencias.get(Operacao.DEPOSITO);
+            this.saque = latencias.get(Operacao.SAQUE);
+            this.extrato = latencias.get(Operacao.EXTRATO);
+            this.largada = largada;
+        }
+
+        @Override
+        public void run() {
+            try {
+                largada.await();
+                long alocadosAntes = ConsumoJvm.bytesAlocadosPelaThread();
+                int limiteDepositos = carga.percentualDepositos();
+                int limiteSaques = limiteDepositos + carga.percentualSaques();
+                for (long i = 0; i < carga.operacoesPorThread(); i++) {
+                    Conta conta = contas.get(zipf.sortear(aleatorio));
+                    int sorteio = aleatorio.nextInt(100);
+                    long valor = aleatorio.nextLong(1, VALOR_MAXIMO_CENTAVOS + 1);
+                    long inicio = System.nanoTime();
+                    if (sorteio < limiteDepositos) {
+                        conta.depositarCentavos(valor);
+                        deposito.registrar(System.nanoTime() - inicio);
+                    } else if (sorteio < limiteSaques) {
+                        try {
+                            conta.sacarCentavos(valor);
+                        } catch (OperacaoRecusadaException e) {
+                            recusas++;
+                        }
+                        saque.registrar(System.nanoTime() - inicio);
+                    } else {
+                        conta.consultarExtrato(CONSULTA);
+                        extrato.registrar(System.nanoTime() - inicio);
+                    }
+                }
+                long alocadosDepois = ConsumoJvm.bytesAlocadosPelaThread();
+                bytesAlocados = alocadosAntes < 0 ? -1 : alocadosDepois - alocadosAntes;
+            } catch (InterruptedException e) {
+                erro = e;
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                erro = e;
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.matheushstrindade.banking.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArquivamentoTest {
+
+    @Test
+    void semArquivoNadaEAgendadoENadaELido() {
+        assertEquals(Integer.MAX_VALUE, ArquivoExtrato.NENHUM.linhasQuentes());
+        IllegalStateException leitura = assertThrows(IllegalStateException.class,
+                () -> ArquivoExtrato.NENHUM.ler(1L, 8L));
+        assertTrue(leitura.getMessage().contains("Nenhum arquivo de extrato instalado"));
+        assertThrows(IllegalStateException.class,
+                () -> ArquivoExtrato.NENHUM.gravar(1L, 0L, 8, 0L, 0L, ByteBuffer.allocate(0)));
+
+        LivroRazao livro = new LivroRazao(1L, 0L);
+        for (int i = 0; i < 10_000; i++) {
+            livro.adicionar(Transacao.Tipo.DEPOSITO, 1L, i, 0L);
+        }
+        assertEquals(0, livro.linhasArquivadas());
+        assertTrue(livro.confere(10_000L));
+    }
+
+    @Test
+    void segmentoQueFalhouFicaEmMemoriaEVoltaParaAFila() {
+        Map<Long, ByteBuffer> gravados = new ConcurrentHashMap<>();
+        AtomicInteger falhas = new AtomicInteger();
+        ArquivoExtrato.instalar(new ArquivoExtrato() {
+            private final AtomicInteger tentativasDoPrimeiro = new AtomicInteger();
+
+            @Override
+            public int linhasQuentes() {
+                return 8;
+            }
+
+            @Override
+            public void gravar(long contaId, long primeiraLinha, int quantidade, long saldoInicial, long saldoFinal,
+                               ByteBuffer colunas) {
+                if (primeiraLinha == 0 && tentativasDoPrimeiro.getAndIncrement() == 0) {
+                    throw new IllegalStateException("disco cheio");
+                }
+                ByteBuffer copia = ByteBuffer.allocate(colunas.remaining());
+                gravados.put(primeiraLinha, copia.put(colunas).flip());
+            }
+
+            @Override
+            public ByteBuffer ler(long contaId, long primeiraLinha) {
+                return gravados.get(primeiraLinha).duplicate();
+            }
+        });
+        Metricas.instalar(new Metricas() {
+            @Override
+            public long iniciar() {
+                return 0L;
+            }
+
+            @Override
+            public void sucesso(Operacao operacao, long inicio) {
+            }
+
+            @Override
+            public void recusa(Operacao operacao, OperacaoRecusadaException.Motivo motivo, long inicio) {
+            }
+
+            @Override
+            public void falha(Operacao operacao, long inicio) {
+                assertEquals(Operacao.ARQUIVAMENTO_EXTRATO, operacao);
+                falhas.incrementAndGet();
+            }
+        });
+        try {
+            LivroRazao livro = new LivroRazao(1L, 100L);
+            adicionar(livro, 0, 2_041); // abre o segmento de 2040: agenda os de 0 a 1015
+            esperarArquivamento(livro, 1_008); // todos menos o primeiro, que falhou
+            assertEquals(1, falhas.get());
+            assertTrue(livro.confere(100L + 2_041));
+            assertFalse(livro.confere(100L + 2_040));
+
+            adicionar(livro, 2_041, 4_089); // abre o segmento seguinte: o primeiro volta para a fila
+            esperarArquivamento(livro, 2_040);
+            assertEquals(1, falhas.get());
+            assertTrue(livro.confere(100L + 4_089));
+            assertEquals(3L, livro.visao().get(3).getInstanteEpochMillis());
+        } finally {
+            ArquivoExtrato.instalar(ArquivoExtrato.NENHUM);
+            Metricas.instalar(Metricas.NENHUMA);
+        }
+    }
+
+    private static void adicionar(LivroRazao livro, int de, int ate) {
+        for (int i = de; i < ate; i++) {
+            livro.adicionar(Transacao.Tipo.DEPOSITO, 1L, i, 0L);
+        }
+    }
+
+    private static void esperarArquivamento(LivroRazao livro, int linhas) {
+        long limite = System.nanoTime() + 10_000_000_000L;
+        while (livro.linhasArquivadas() < linhas) {
+            if (System.nanoTime() > limite) {
+                throw new AssertionError("Arquivamento não terminou: " + livro.linhasArquivadas() + " de " + linhas
+                        + " linhas");
+            }
+            LockSupport.parkNanos(1_000_000L);
+        }
+        assertEquals(linhas, livro.linhasArquivadas());
+    }
+}
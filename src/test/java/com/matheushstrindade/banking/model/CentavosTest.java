@@ -0,0 +1,57 @@
+package com.matheushstrindade.banking.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class CentavosTest {
+
+    @Test
+    void arredondaComoOBanco() {
+        assertEquals(1234, Centavos.de(new BigDecimal("12.34")));
+        assertEquals(2, Centavos.de(new BigDecimal("0.025")));
+        assertEquals(4, Centavos.de(new BigDecimal("0.035")));
+        assertEquals(-1050, Centavos.de(new BigDecimal("-10.5")));
+        assertEquals(500, Centavos.de(new BigDecimal("5E+0")));
+        assertEquals(0, Centavos.de(new BigDecimal("0E+50000000")));
+    }
+
+    @Test
+    void limitesDoLong() {
+        assertEquals(Long.MAX_VALUE, Centavos.de(new BigDecimal("92233720368547758.07")));
+        assertEquals(Long.MIN_VALUE, Centavos.de(new BigDecimal("-92233720368547758.08")));
+        assertRecusado(new BigDecimal("92233720368547758.08"));
+        assertRecusado(new BigDecimal("100000000000000000"));
+    }
+
+    @Test
+    void expoentesEnormesSaoRecusadosSemExpandirONumero() {
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            assertRecusado(new BigDecimal("1e50000000"));
+            assertRecusado(new BigDecimal("-1e50000000"));
+            assertRecusado(new BigDecimal("1e-50000000"));
+            assertRecusado(new BigDecimal("1.5e-40"));
+        });
+    }
+
+    @Test
+    void leTextoSemBigDecimal() {
+        assertEquals(123456, Centavos.ler("1234,56"));
+        assertEquals(123450, Centavos.ler("1234.5"));
+        assertEquals(-1000, Centavos.ler("-10"));
+        for (String invalido : new String[]{"", "-", "1,", "1,234", "1e5", "12a", "92233720368547758,08"}) {
+            OperacaoRecusadaException recusa = assertThrows(OperacaoRecusadaException.class, () -> Centavos.ler(invalido));
+            assertEquals(OperacaoRecusadaException.Motivo.VALOR_INVALIDO, recusa.getMotivo());
+        }
+    }
+
+    private static void assertRecusado(BigDecimal valor) {
+        OperacaoRecusadaException recusa = assertThrows(OperacaoRecusadaException.class, () -> Centavos.de(valor));
+        assertEquals(OperacaoRecusadaException.Motivo.VALOR_INVALIDO, recusa.getMotivo());
+    }
+}
@@ -0,0 +1,127 @@
+package com.matheushstrindade.banking.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** A mesma verificação do {@code EstresseConcorrencia}, em tamanho de teste. */
+class ContaConcorrenciaTest {
+    private static final int THREADS = 8;
+    private static final int CONTAS = 4;
+    private static final int OPERACOES_POR_THREAD = 5_000;
+    private static final long SALDO_INICIAL = 100_000;
+
+    private Registro anterior;
+
+    @BeforeEach
+    void registroNovo() {
+        anterior = Registro.atual();
+        Registro.instalar(new Registro());
+    }
+
+    @AfterEach
+    void restaurarRegistro() {
+        Registro.instalar(anterior);
+    }
+
+    @Test
+    void depositosESaquesConcorrentesFechamOSaldo() throws Exception {
+        Cliente cliente = new Cliente("Ana Souza", Cpf.gerar(40), LocalDate.of(1990, 1, 1));
+        List<Conta> contas = new ArrayList<>();
+        for (int i = 0; i < CONTAS; i++) {
+            contas.add(new Conta(cliente, BigDecimal.valueOf(SALDO_INICIAL, 2)));
+        }
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[][]>> tarefas = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                long semente = t;
+                tarefas.add(executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(semente);
+                    long[][] aplicadas = new long[CONTAS][2]; // por conta: soma e quantidade das operações aceitas
+                    largada.await();
+                    for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                        int indice = random.nextInt(CONTAS);
+                        Conta conta = contas.get(indice);
+                        long centavos = random.nextInt(1, 50_000);
+                        try {
+                            if (random.nextBoolean()) {
+                                conta.depositar(BigDecimal.valueOf(centavos, 2));
+                            } else {
+                                conta.sacar(BigDecimal.valueOf(centavos, 2));
+                                centavos = -centavos;
+                            }
+                            aplicadas[indice][0] += centavos;
+                            aplicadas[indice][1]++;
+                        } catch (OperacaoRecusadaException e) {
+                            assertEquals(OperacaoRecusadaException.Motivo.SALDO_INSUFICIENTE, e.getMotivo());
+                        }
+                    }
+                    return aplicadas;
+                }));
+            }
+            largada.countDown();
+            long[][] total = new long[CONTAS][2];
+            for (Future<long[][]> tarefa : tarefas) {
+                long[][] aplicadas = tarefa.get(60, TimeUnit.SECONDS);
+                for (int i = 0; i < CONTAS; i++) {
+                    total[i][0] += aplicadas[i][0];
+                    total[i][1] += aplicadas[i][1];
+                }
+            }
+
+            for (int i = 0; i < CONTAS; i++) {
+                Conta conta = contas.get(i);
+                assertEquals(SALDO_INICIAL + total[i][0], conta.getSaldoCentavos());
+                assertEquals(1 + total[i][1], conta.getQuantidadeTransacoes(), "abertura + operações aceitas");
+                assertTrue(conta.getSaldoCentavos() >= 0);
+                assertTrue(conta.saldoConfere());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void contasAbertasEmParaleloTemIdsUnicos() throws Exception {
+        Cliente cliente = new Cliente("Ana Souza", Cpf.gerar(41), LocalDate.of(1990, 1, 1));
+        int quantidade = 200;
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Long>> ids = new ArrayList<>();
+        try {
+            for (int i = 0; i < quantidade; i++) {
+                ids.add(executor.submit(() -> {
+                    largada.await();
+                    return new Conta(cliente, BigDecimal.ZERO).getId();
+                }));
+            }
+            largada.countDown();
+            Set<Long> distintos = new HashSet<>();
+            for (Future<Long> id : ids) {
+                distintos.add(id.get(60, TimeUnit.SECONDS));
+            }
+            assertEquals(quantidade, distintos.size());
+            assertEquals(quantidade, cliente.getContas().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
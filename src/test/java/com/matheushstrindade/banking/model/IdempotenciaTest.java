@@ -0,0 +1,109 @@
+package com.matheushstrindade.banking.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotenciaTest {
+    private Registro registroAnterior;
+    private Idempotencia idempotenciaAnterior;
+    private Idempotencia idempotencia;
+    private Conta conta;
+
+    @BeforeEach
+    void preparar() {
+        registroAnterior = Registro.atual();
+        idempotenciaAnterior = Idempotencia.atual();
+        Registro.instalar(new Registro());
+        idempotencia = new Idempotencia(1_000, Duration.ofHours(1));
+        Idempotencia.instalar(idempotencia);
+        conta = new Conta(new Cliente("Ana Souza", Cpf.gerar(10), LocalDate.of(1990, 1, 1)), new BigDecimal("100.00"));
+    }
+
+    @AfterEach
+    void restaurar() {
+        Idempotencia.instalar(idempotenciaAnterior);
+        Registro.instalar(registroAnterior);
+    }
+
+    @Test
+    void repeticaoDevolveOResultadoOriginalSemDepositarDeNovo() {
+        long primeiro = conta.depositar("pedido-1", new BigDecimal("25.00"));
+        conta.depositar(new BigDecimal("1.00")); // outra operação no meio
+        long repetido = conta.depositar("pedido-1", new BigDecimal("25.00"));
+
+        assertEquals(12500, primeiro);
+        assertEquals(primeiro, repetido);
+        assertEquals(12600, conta.getSaldoCentavos());
+        assertEquals(3, conta.getQuantidadeTransacoes());
+        assertEquals(1, idempotencia.getRepeticoes());
+    }
+
+    @Test
+    void recusaTambemSeRepete() {
+        OperacaoRecusadaException primeira = assertThrows(OperacaoRecusadaException.class,
+                () -> conta.sacar("saque-1", new BigDecimal("500.00")));
+        conta.depositar(new BigDecimal("1000.00")); // agora haveria saldo
+        OperacaoRecusadaException repetida = assertThrows(OperacaoRecusadaException.class,
+                () -> conta.sacar("saque-1", new BigDecimal("500.00")));
+
+        assertEquals(OperacaoRecusadaException.Motivo.SALDO_INSUFICIENTE, primeira.getMotivo());
+        assertSame(primeira, repetida);
+        assertEquals(110000, conta.getSaldoCentavos());
+    }
+
+    @Test
+    void chaveReutilizadaEmOutraOperacaoERecusada() {
+        conta.depositar("pedido-2", new BigDecimal("10.00"));
+
+        OperacaoRecusadaException outroValor = assertThrows(OperacaoRecusadaException.class,
+                () -> conta.depositar("pedido-2", new BigDecimal("10.01")));
+        OperacaoRecusadaException outraOperacao = assertThrows(OperacaoRecusadaException.class,
+                () -> conta.sacar("pedido-2", new BigDecimal("10.00")));
+
+        assertEquals(OperacaoRecusadaException.Motivo.CHAVE_REUTILIZADA, outroValor.getMotivo());
+        assertEquals(OperacaoRecusadaException.Motivo.CHAVE_REUTILIZADA, outraOperacao.getMotivo());
+        assertEquals(11000, conta.getSaldoCentavos());
+    }
+
+    @Test
+    void tentativasConcorrentesComAMesmaChaveExecutamUmaVez() throws Exception {
+        int threads = 16;
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> saldos = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                saldos.add(executor.submit(() -> {
+                    largada.await();
+                    return conta.sacar("concorrente", new BigDecimal("30.00"));
+                }));
+            }
+            largada.countDown();
+            for (Future<Long> saldo : saldos) {
+                assertEquals(7000, saldo.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(7000, conta.getSaldoCentavos());
+        assertEquals(2, conta.getQuantidadeTransacoes());
+        assertEquals(threads - 1, idempotencia.getRepeticoes());
+    }
+}
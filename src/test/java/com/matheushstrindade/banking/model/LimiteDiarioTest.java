@@ -0,0 +1,85 @@
+package com.matheushstrindade.banking.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LimiteDiarioTest {
+    private Registro anterior;
+    private RelogioManual relogio;
+    private Conta conta;
+
+    @BeforeEach
+    void preparar() {
+        anterior = Registro.atual();
+        Registro.instalar(new Registro());
+        relogio = new RelogioManual(Instant.parse("2025-03-10T12:15:00Z"));
+        Relogio.instalar(relogio);
+        conta = new Conta(new Cliente("Ana Souza", Cpf.gerar(20), LocalDate.of(1990, 1, 1)), new BigDecimal("10000.00"));
+        conta.definirRegras(RegrasConta.PADRAO.comLimiteDiario(new BigDecimal("500.00")));
+    }
+
+    @AfterEach
+    void restaurar() {
+        Relogio.instalar(null);
+        Registro.instalar(anterior);
+    }
+
+    @Test
+    void debitosAcimaDoLimiteNaJanelaSaoRecusados() {
+        conta.sacar(new BigDecimal("300.00"));
+        relogio.avancar(Duration.ofHours(3));
+        conta.sacar(new BigDecimal("200.00"));
+
+        OperacaoRecusadaException recusa = assertThrows(OperacaoRecusadaException.class,
+                () -> conta.sacar(new BigDecimal("0.01")));
+
+        assertEquals(OperacaoRecusadaException.Motivo.LIMITE_DIARIO, recusa.getMotivo());
+        assertEquals(950000, conta.getSaldoCentavos());
+    }
+
+    @Test
+    void transferenciaEnviadaContaNoLimite() {
+        Conta destino = new Conta(conta.getTitular(), BigDecimal.ZERO);
+        conta.transferir(destino, new BigDecimal("450.00"));
+
+        assertEquals(Optional.of(OperacaoRecusadaException.Motivo.LIMITE_DIARIO),
+                conta.avaliarDebito(5001));
+        assertEquals(Optional.empty(), conta.avaliarDebito(5000));
+    }
+
+    @Test
+    void debitoSaiDaJanelaDepoisDeVinteEQuatroHorasNaoAntes() {
+        conta.sacar(new BigDecimal("500.00"));
+
+        relogio.avancar(Duration.ofHours(23));
+        assertEquals(Optional.of(OperacaoRecusadaException.Motivo.LIMITE_DIARIO), conta.avaliarDebito(1));
+
+        relogio.avancar(Duration.ofHours(2)); // 25 h: passou da janela em qualquer ponto da hora
+        assertEquals(Optional.empty(), conta.avaliarDebito(50000));
+        conta.sacar(new BigDecimal("500.00"));
+        assertEquals(Optional.of(OperacaoRecusadaException.Motivo.LIMITE_DIARIO), conta.avaliarDebito(1));
+    }
+
+    @Test
+    void ligarOLimiteContaOsDebitosRecentesDoExtrato() {
+        Conta outra = new Conta(conta.getTitular(), new BigDecimal("1000.00"));
+        outra.sacar(new BigDecimal("100.00"));           // fora da janela quando o limite for ligado
+        relogio.avancar(Duration.ofHours(30));
+        outra.sacar(new BigDecimal("350.00"));
+
+        outra.definirRegras(RegrasConta.PADRAO.comLimiteDiario(new BigDecimal("400.00")));
+
+        assertEquals(Optional.empty(), outra.avaliarDebito(5000));
+        assertEquals(Optional.of(OperacaoRecusadaException.Motivo.LIMITE_DIARIO), outra.avaliarDebito(5001));
+    }
+}
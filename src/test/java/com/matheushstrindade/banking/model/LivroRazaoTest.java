@@ -0,0 +1,41 @@
+package com.matheushstrindade.banking.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LivroRazaoTest {
+
+    @Test
+    void linhasPassamDosSegmentosNoHeapParaOsDiretosSemMudar() {
+        LivroRazao livro = new LivroRazao(7L, 1_000L);
+        int linhas = 5_000; // segmentos de 8 a 512 linhas no heap, os seguintes diretos
+        long saldo = 1_000L;
+        for (int i = 0; i < linhas; i++) {
+            long valor = i % 3 == 0 ? -(i % 50) : i;
+            livro.adicionar(i % 3 == 0 ? Transacao.Tipo.SAQUE : Transacao.Tipo.DEPOSITO, valor, 1_000L * i,
+                    i % 7 == 0 ? 99L : 0L);
+            saldo += valor;
+        }
+
+        List<Long> valores = new ArrayList<>();
+        livro.percorrer(0, linhas, (tipo, valorCentavos, instante, contraparte) -> {
+            int i = valores.size();
+            assertEquals(i % 3 == 0 ? Transacao.Tipo.SAQUE : Transacao.Tipo.DEPOSITO, tipo);
+            assertEquals(1_000L * i, instante);
+            assertEquals(i % 7 == 0 ? 99L : 0L, contraparte);
+            valores.add(valorCentavos);
+        });
+        assertEquals(linhas, valores.size());
+        assertEquals(saldo, livro.saldo());
+        assertTrue(livro.confere(saldo));
+        assertEquals(4_095, livro.primeiraLinhaEmOuApos(4_094_500L));
+        Transacao direta = livro.visao().get(1_022); // no primeiro segmento direto (a partir da linha 1016)
+        assertEquals(1_022L, direta.getValorCentavos());
+        assertEquals(Long.valueOf(99L), direta.getContaContraparte());
+    }
+}
@@ -0,0 +1,110 @@
+package com.matheushstrindade.banking.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransferenciasTest {
+    private Registro anterior;
+
+    @BeforeEach
+    void registroNovo() {
+        anterior = Registro.atual();
+        Registro.instalar(new Registro());
+    }
+
+    @AfterEach
+    void restaurarRegistro() {
+        Registro.instalar(anterior);
+    }
+
+    @Test
+    void transferenciaMoveOValorENadaMais() {
+        Cliente cliente = new Cliente("Ana Souza", Cpf.gerar(1), LocalDate.of(1990, 1, 1));
+        Conta origem = new Conta(cliente, new BigDecimal("100.00"));
+        Conta destino = new Conta(cliente, BigDecimal.ZERO);
+
+        origem.transferir(destino, new BigDecimal("30.25"));
+
+        assertEquals(6975, origem.getSaldoCentavos());
+        assertEquals(3025, destino.getSaldoCentavos());
+        assertEquals(Transacao.Tipo.TRANSFERENCIA, origem.getExtrato().get(1).getTipo());
+        assertEquals(destino.getId(), origem.getExtrato().get(1).getContaContraparte());
+        assertEquals(origem.getId(), destino.getExtrato().get(1).getContaContraparte());
+    }
+
+    @Test
+    void loteComUmaOrdemRecusadaNaoMexeEmNenhumaConta() {
+        Cliente cliente = new Cliente("Ana Souza", Cpf.gerar(2), LocalDate.of(1990, 1, 1));
+        Conta a = new Conta(cliente, new BigDecimal("50.00"));
+        Conta b = new Conta(cliente, new BigDecimal("10.00"));
+        Conta c = new Conta(cliente, BigDecimal.ZERO);
+
+        OperacaoRecusadaException recusa = assertThrows(OperacaoRecusadaException.class, () ->
+                Transferencias.executarLote(List.of(
+                        new Transferencias.Ordem(a, c, new BigDecimal("40.00")),
+                        new Transferencias.Ordem(b, c, new BigDecimal("10.01")))));
+
+        assertEquals(OperacaoRecusadaException.Motivo.SALDO_INSUFICIENTE, recusa.getMotivo());
+        assertEquals(5000, a.getSaldoCentavos());
+        assertEquals(1000, b.getSaldoCentavos());
+        assertEquals(0, c.getSaldoCentavos());
+        for (Conta conta : List.of(a, b, c)) {
+            assertEquals(1, conta.getQuantidadeTransacoes(), "só a abertura no extrato");
+            assertTrue(conta.saldoConfere());
+        }
+    }
+
+    @Test
+    void transferenciasCruzadasConcorrentesConservamOTotal() throws Exception {
+        Cliente cliente = new Cliente("Ana Souza", Cpf.gerar(3), LocalDate.of(1990, 1, 1));
+        Conta a = new Conta(cliente, new BigDecimal("1000.00"));
+        Conta b = new Conta(cliente, new BigDecimal("1000.00"));
+        int threads = 8;
+        int porThread = 2_000;
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                boolean ida = t % 2 == 0; // metade a → b, metade b → a: travas em ordens opostas
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < porThread; i++) {
+                        try {
+                            (ida ? a : b).transferir(ida ? b : a, new BigDecimal("0.37"));
+                        } catch (OperacaoRecusadaException e) {
+                            assertEquals(OperacaoRecusadaException.Motivo.SALDO_INSUFICIENTE, e.getMotivo());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(200_000, a.getSaldoCentavos() + b.getSaldoCentavos());
+        assertTrue(a.getSaldoCentavos() >= 0 && b.getSaldoCentavos() >= 0);
+        assertEquals(a.getQuantidadeTransacoes() - 1, b.getQuantidadeTransacoes() - 1, "cada transferência nas duas pontas");
+        assertTrue(a.saldoConfere() && b.saldoConfere());
+    }
+}
@@ -0,0 +1,245 @@
+package com.matheushstrindade.banking.persistencia;
+
+import com.matheushstrindade.banking.auditoria.Auditoria;
+import com.matheushstrindade.banking.model.ArquivoExtrato;
+import com.matheushstrindade.banking.model.Cliente;
+import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.Cpf;
+import com.matheushstrindade.banking.model.Diario;
+import com.matheushstrindade.banking.model.OperacaoRecusadaException;
+import com.matheushstrindade.banking.model.Registro;
+import com.matheushstrindade.banking.model.RegrasConta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Cada "reinício" troca o {@link Registro} e reabre o diário no mesmo diretório, como uma nova execução. */
+class DiarioEmArquivoTest {
+    private static final int LINHAS_EM_MEMORIA = 50;
+
+    @TempDir
+    Path diretorio;
+
+    private Registro anterior;
+    private DiarioEmArquivo diario;
+
+    @BeforeEach
+    void registroNovo() {
+        anterior = Registro.atual();
+        Registro.instalar(new Registro());
+    }
+
+    @AfterEach
+    void desinstalar() throws IOException {
+        if (diario != null) {
+            diario.close();
+        }
+        ArquivoExtrato.instalar(ArquivoExtrato.NENHUM);
+        Registro.instalar(anterior);
+    }
+
+    @Test
+    void reinicioReproduzODiario() throws IOException {
+        abrir(false);
+        Cliente cliente = new Cliente("Ana Souza", Cpf.gerar(30), LocalDate.of(1990, 1, 1));
+        Conta a = new Conta(cliente, new BigDecimal("100.00"));
+        Conta b = new Conta(cliente, BigDecimal.ZERO);
+        a.depositar(new BigDecimal("20.50"));
+        a.transferir(b, new BigDecimal("70.00"));
+        b.sacar(new BigDecimal("5.25"));
+        a.definirRegras(RegrasConta.PADRAO.comChequeEspecial(new BigDecimal("10.00")));
+        Map<Long, List<String>> extratos = extratos(a, b);
+
+        reiniciar(false);
+
+        Map<Long, Conta> contas = diario.getContas();
+        assertEquals(2, contas.size());
+        assertEquals(5050, contas.get(a.getId()).getSaldoCentavos());
+        assertEquals(6475, contas.get(b.getId()).getSaldoCentavos());
+        assertEquals(extratos, extratos(contas.get(a.getId()), contas.get(b.getId())));
+        assertEquals(a.getRegras(), contas.get(a.getId()).getRegras());
+        assertEquals("Ana Souza", diario.getClientes().get(0).getNome());
+        assertTrue(Registro.atual().buscarClientePorCpf(cliente.getCpf()).isPresent());
+    }
+
+    @Test
+    void snapshotRestauraSaldosRegrasEHistoricoArquivado() throws IOException {
+        abrir(true);
+        Cliente cliente = new Cliente("Ana Souza", Cpf.gerar(31), LocalDate.of(1990, 1, 1));
+        Conta a = new Conta(cliente, new BigDecimal("1000.00"));
+        Conta b = new Conta(cliente, BigDecimal.ZERO);
+        for (int i = 0; i < 960; i++) {
+            a.depositarCentavos(7);
+        }
+        for (int i = 0; i < 39; i++) {
+            a.transferir(b, new BigDecimal("0.05"));
+        }
+        a.definirRegras(RegrasConta.PADRAO.comLimiteDiario(new BigDecimal("500.00"))); // as transferências já contam
+        a.sacar(new BigDecimal("300.00"));
+        esperarArquivamento(a, 248); // segmentos de 8 a 128 linhas, mais de 50 linhas atrás do atual
+        Path snapshot = diario.snapshot();
+        a.depositar(new BigDecimal("1.00")); // cauda: só no diário
+        Map<Long, List<String>> extratos = extratos(a, b);
+        apagarDiarioAnteriorAo(snapshot); // a recuperação tem de vir do snapshot
+
+        reiniciar(true);
+
+        Conta restaurada = diario.getContas().get(a.getId());
+        assertEquals(a.getSaldoCentavos(), restaurada.getSaldoCentavos());
+        assertEquals(a.getResumo().toString(), restaurada.getResumo().toString());
+        assertEquals(1002, restaurada.getQuantidadeTransacoes());
+        assertEquals(248, restaurada.getQuantidadeTransacoesArquivadas());
+        assertEquals(0, restaurada.getSaldoAntesDoExtratoCentavos());
+        assertEquals(extratos, extratos(restaurada, diario.getContas().get(b.getId())));
+        assertTrue(restaurada.saldoConfere());
+        assertEquals(a.getRegras(), restaurada.getRegras());
+        assertEquals(Optional.empty(), restaurada.avaliarDebito(19805));
+        assertEquals(Optional.of(OperacaoRecusadaException.Motivo.LIMITE_DIARIO), restaurada.avaliarDebito(19806));
+    }
+
+    @Test
+    void snapshotCorrompidoCaiNoDiario() throws IOException {
+        abrir(false);
+        Cliente cliente = new Cliente("Ana Souza", Cpf.gerar(32), LocalDate.of(1990, 1, 1));
+        Conta conta = new Conta(cliente, new BigDecimal("100.00"));
+        conta.sacar(new BigDecimal("40.00"));
+        Path snapshot = diario.snapshot();
+        conta.depositar(new BigDecimal("15.00"));
+        Map<Long, List<String>> extratos = extratos(conta);
+        try (FileChannel canal = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 3);
+        }
+
+        reiniciar(false);
+
+        Conta restaurada = diario.getContas().get(conta.getId());
+        assertEquals(7500, restaurada.getSaldoCentavos());
+        assertEquals(extratos, extratos(restaurada));
+    }
+
+    @Test
+    void selosDaAuditoriaValemDepoisDoReinicio() throws IOException {
+        abrir(true);
+        Cliente cliente = new Cliente("Ana Souza", Cpf.gerar(33), LocalDate.of(1990, 1, 1));
+        Conta conta = new Conta(cliente, new BigDecimal("100.00"));
+        for (int i = 0; i < 300; i++) {
+            conta.depositarCentavos(3);
+        }
+        esperarArquivamento(conta, 120);
+        Path arquivoSelos = diretorio.resolve("selos.bin");
+        Auditoria auditoria = Auditoria.abrir(arquivoSelos);
+        assertTrue(auditoria.auditar(List.of(conta)).aprovada());
+        String hash = auditoria.hash(conta.getId()).orElseThrow();
+        diario.snapshot();
+        conta.sacarCentavos(50);
+
+        reiniciar(true);
+
+        Conta restaurada = diario.getContas().get(conta.getId());
+        Auditoria depois = Auditoria.abrir(arquivoSelos);
+        assertEquals(Optional.of(hash), depois.hash(conta.getId()));
+        Auditoria.Relatorio incremental = depois.auditar(List.of(restaurada));
+        assertTrue(incremental.aprovada(), incremental.divergencias()::toString);
+        assertEquals(1, incremental.lancamentos());
+        Auditoria.Relatorio completa = depois.auditarTudo(List.of(restaurada));
+        assertTrue(completa.aprovada(), completa.divergencias()::toString);
+        assertEquals(302, completa.lancamentos());
+    }
+
+    @Test
+    void semArquivoOSnapshotGuardaSoOFimDoExtrato() throws IOException {
+        abrir(false);
+        Cliente cliente = new Cliente("Ana Souza", Cpf.gerar(34), LocalDate.of(1990, 1, 1));
+        Conta conta = new Conta(cliente, BigDecimal.ZERO);
+        int depositos = 70_000; // com a abertura, segmentos de 8 a 32768 linhas e 4473 num de 65536
+        for (int i = 0; i < depositos; i++) {
+            conta.depositarCentavos(1);
+        }
+        Path snapshot = diario.snapshot();
+        apagarDiarioAnteriorAo(snapshot);
+
+        reiniciar(false);
+
+        Conta restaurada = diario.getContas().get(conta.getId());
+        assertEquals(depositos, restaurada.getSaldoCentavos());
+        assertEquals(conta.getResumo().toString(), restaurada.getResumo().toString());
+        assertEquals(70_001 - 4_088, restaurada.getQuantidadeTransacoes()); // caem os segmentos de 8 a 2048 linhas
+        assertEquals(depositos - restaurada.getQuantidadeTransacoes(), restaurada.getSaldoAntesDoExtratoCentavos());
+        assertTrue(restaurada.saldoConfere());
+        assertTrue(Files.size(snapshot) < 2L * Snapshot.LINHAS_SEM_ARQUIVO * 25);
+    }
+
+    // === AUXILIARES ===
+    private void abrir(boolean comArquivo) throws IOException {
+        if (comArquivo) {
+            ArquivoExtrato.instalar(ArquivoExtratoEmDisco.abrir(diretorio.resolve("extratos"), LINHAS_EM_MEMORIA));
+        }
+        diario = DiarioEmArquivo.abrir(diretorio);
+        Diario.instalar(diario);
+    }
+
+    private void reiniciar(boolean comArquivo) throws IOException {
+        diario.close();
+        diario = null;
+        ArquivoExtrato.instalar(ArquivoExtrato.NENHUM);
+        Registro.instalar(new Registro());
+        abrir(comArquivo);
+    }
+
+    private void apagarDiarioAnteriorAo(Path snapshot) throws IOException {
+        long primeiro = Snapshot.segmentoDoNome(snapshot);
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            for (Path arquivo : (Iterable<Path>) arquivos::iterator) {
+                String nome = arquivo.getFileName().toString();
+                if (nome.startsWith(DiarioEmArquivo.PREFIXO_SEGMENTO) && nome.endsWith(DiarioEmArquivo.SUFIXO_SEGMENTO)
+                        && Long.parseLong(nome.substring(DiarioEmArquivo.PREFIXO_SEGMENTO.length(),
+                        nome.length() - DiarioEmArquivo.SUFIXO_SEGMENTO.length())) < primeiro) {
+                    Files.delete(arquivo);
+                }
+            }
+        }
+    }
+
+    /** O arquivamento é assíncrono: espera a conta ter {@code linhas} lançamentos fora da memória. */
+    private static void esperarArquivamento(Conta conta, int linhas) {
+        long limite = System.nanoTime() + 10_000_000_000L;
+        while (conta.getQuantidadeTransacoesArquivadas() < linhas) {
+            if (System.nanoTime() > limite) {
+                throw new AssertionError("Arquivamento não terminou: " + conta.getQuantidadeTransacoesArquivadas()
+                        + " de " + linhas + " linhas");
+            }
+            LockSupport.parkNanos(1_000_000L);
+        }
+        assertEquals(linhas, conta.getQuantidadeTransacoesArquivadas());
+    }
+
+    private static Map<Long, List<String>> extratos(Conta... contas) {
+        Map<Long, List<String>> extratos = new TreeMap<>();
+        for (Conta conta : contas) {
+            List<String> linhas = new ArrayList<>();
+            conta.percorrerExtrato((tipo, valor, instante, contraparte) ->
+                    linhas.add(tipo + " " + valor + " " + instante + " " + contraparte));
+            extratos.put(conta.getId(), linhas);
+        }
+        return extratos;
+    }
+}
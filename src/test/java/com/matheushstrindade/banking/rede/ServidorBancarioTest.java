@@ -0,0 +1,99 @@
+package com.matheushstrindade.banking.rede;
+
+import com.matheushstrindade.banking.model.Cliente;
+import com.matheushstrindade.banking.model.Conta;
+import com.matheushstrindade.banking.model.Cpf;
+import com.matheushstrindade.banking.model.Registro;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServidorBancarioTest {
+    private Registro anterior;
+    private ServidorBancario servidor;
+    private Conta conta;
+
+    @BeforeEach
+    void iniciar() throws IOException {
+        anterior = Registro.atual();
+        Registro.instalar(new Registro());
+        conta = new Conta(new Cliente("Ana Souza", Cpf.gerar(50), LocalDate.of(1990, 1, 1)), new BigDecimal("100.00"));
+        servidor = ServidorBancario.iniciar(0);
+    }
+
+    @AfterEach
+    void parar() throws IOException {
+        servidor.close();
+        Registro.instalar(anterior);
+    }
+
+    @Test
+    void valoresSaoLidosEmCentavosSemExpandirExpoentes() throws IOException {
+        try (Socket socket = conectar()) {
+            BufferedReader respostas = respostas(socket);
+            enviar(socket, "DEPOSITAR " + conta.getId() + " 1e50000000\r\n"
+                    + "SACAR " + conta.getId() + " 92233720368547758,08\n"
+                    + "DEPOSITAR " + conta.getId() + " 12,5\n");
+
+            assertTrue(respostas.readLine().startsWith("ERRO Valor inválido"));
+            assertTrue(respostas.readLine().startsWith("ERRO Valor fora do intervalo"));
+            assertEquals("OK 112,50", respostas.readLine());
+        }
+        assertEquals(11250, conta.getSaldoCentavos());
+    }
+
+    @Test
+    void linhaLongaDemaisRecebeErroEEncerraAConexao() throws IOException {
+        try (Socket socket = conectar()) {
+            BufferedReader respostas = respostas(socket);
+            enviar(socket, "SALDO " + conta.getId() + "\n" + "SALDO " + "9".repeat(4096) + "\n");
+
+            assertEquals("OK 100,00", respostas.readLine());
+            assertEquals("ERRO Linha com mais de " + ProtocoloBancario.TAMANHO_MAXIMO_LINHA + " caracteres",
+                    respostas.readLine());
+            assertNull(respostas.readLine());
+        }
+    }
+
+    @Test
+    void linhaNoLimiteAindaEAceita() throws IOException {
+        String comando = "SALDO " + conta.getId();
+        String linha = comando + " ".repeat(ProtocoloBancario.TAMANHO_MAXIMO_LINHA - comando.length());
+        try (Socket socket = conectar()) {
+            BufferedReader respostas = respostas(socket);
+            enviar(socket, linha + "\r\n");
+
+            assertEquals("OK 100,00", respostas.readLine());
+        }
+    }
+
+    // === AUXILIARES ===
+    private Socket conectar() throws IOException {
+        Socket socket = new Socket("localhost", servidor.getPorta());
+        socket.setSoTimeout(10_000);
+        return socket;
+    }
+
+    private static BufferedReader respostas(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static void enviar(Socket socket, String texto) throws IOException {
+        OutputStream saida = socket.getOutputStream();
+        saida.write(texto.getBytes(StandardCharsets.UTF_8));
+        saida.flush();
+    }
+}